@@ -0,0 +1,91 @@
+package io.agora.benchmark;
+
+import io.agora.media.AccessToken;
+import io.agora.media.DynamicKey5;
+import io.agora.media.RtcTokenBuilder;
+import io.agora.media.TokenVerifier;
+import io.agora.rtm.RtmTokenBuilder;
+import io.agora.signal.SignalingToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the token paths. Run with {@code mvn -Pjmh test-compile exec:exec}; the profile adds
+ * {@code -prof gc} so every result also reports bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenBenchmark {
+
+    private static final String APP_ID = "970CA35de60c44645bbae8a215061b33";
+    private static final String APP_CERTIFICATE = "5CFd2fd1755d40ecb72977518be15d3b";
+    private static final String CHANNEL_NAME = "7d72365eb983485397e3e3f9d460bdda";
+    private static final String USER_ACCOUNT = "2082341273";
+    private static final int UID = 2082341273;
+
+    private RtcTokenBuilder rtcTokenBuilder;
+    private RtmTokenBuilder rtmTokenBuilder;
+    private TokenVerifier tokenVerifier;
+    private int expireTs;
+    private String rtcToken;
+
+    @Setup
+    public void setup() {
+        rtcTokenBuilder = new RtcTokenBuilder();
+        rtmTokenBuilder = new RtmTokenBuilder();
+        tokenVerifier = new TokenVerifier(APP_ID, APP_CERTIFICATE);
+        expireTs = (int) (System.currentTimeMillis() / 1000) + 3600;
+        rtcToken = rtcTokenBuilder.buildTokenWithUid(APP_ID, APP_CERTIFICATE, CHANNEL_NAME, UID, RtcTokenBuilder.Role.Role_Publisher, expireTs);
+    }
+
+    @Benchmark
+    public String rtcBuildTokenWithUid() {
+        return rtcTokenBuilder.buildTokenWithUid(APP_ID, APP_CERTIFICATE, CHANNEL_NAME, UID, RtcTokenBuilder.Role.Role_Publisher, expireTs);
+    }
+
+    @Benchmark
+    public String rtcBuildTokenWithUserAccount() {
+        return rtcTokenBuilder.buildTokenWithUserAccount(APP_ID, APP_CERTIFICATE, CHANNEL_NAME, USER_ACCOUNT, RtcTokenBuilder.Role.Role_Publisher, expireTs);
+    }
+
+    @Benchmark
+    public String rtmBuildToken() throws Exception {
+        return rtmTokenBuilder.buildToken(APP_ID, APP_CERTIFICATE, USER_ACCOUNT, RtmTokenBuilder.Role.Rtm_User, expireTs);
+    }
+
+    @Benchmark
+    public String dynamicKey5MediaChannelKey() throws Exception {
+        return DynamicKey5.generateMediaChannelKey(APP_ID, APP_CERTIFICATE, CHANNEL_NAME, expireTs - 3600, 1, UID, expireTs);
+    }
+
+    @Benchmark
+    public String signalingToken() throws Exception {
+        return SignalingToken.getToken(APP_ID, APP_CERTIFICATE, USER_ACCOUNT, expireTs);
+    }
+
+    @Benchmark
+    public AccessToken accessTokenFromString() {
+        AccessToken token = new AccessToken(APP_ID, APP_CERTIFICATE, CHANNEL_NAME, USER_ACCOUNT);
+        token.fromString(rtcToken);
+        return token;
+    }
+
+    @Benchmark
+    public TokenVerifier.Result verifyToken() {
+        return tokenVerifier.verify(rtcToken, CHANNEL_NAME, USER_ACCOUNT);
+    }
+}
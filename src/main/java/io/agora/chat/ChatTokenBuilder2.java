@@ -0,0 +1,49 @@
+package io.agora.chat;
+
+import io.agora.media.AccessToken2;
+import io.agora.media.SaltGenerator;
+
+/**
+ * Builds Chat user and app tokens in the AccessToken2 ("007") format.
+ */
+public class ChatTokenBuilder2 {
+    private final SaltGenerator saltGenerator;
+
+    public ChatTokenBuilder2() {
+        this(SaltGenerator.secureRandom());
+    }
+
+    public ChatTokenBuilder2(SaltGenerator saltGenerator) {
+        this.saltGenerator = saltGenerator;
+    }
+
+    /**
+     * @param expire token and privilege lifetime in seconds from now.
+     */
+    public String buildUserToken(String appId, String appCertificate, String userId, int expire) {
+        AccessToken2 accessToken = new AccessToken2(appId, appCertificate, expire, saltGenerator);
+        AccessToken2.ServiceChat serviceChat = new AccessToken2.ServiceChat(userId);
+        serviceChat.addPrivilegeChat(AccessToken2.PrivilegeChat.PRIVILEGE_CHAT_USER, expire);
+        accessToken.addService(serviceChat);
+        return build(accessToken);
+    }
+
+    /**
+     * @param expire token and privilege lifetime in seconds from now.
+     */
+    public String buildAppToken(String appId, String appCertificate, int expire) {
+        AccessToken2 accessToken = new AccessToken2(appId, appCertificate, expire, saltGenerator);
+        AccessToken2.ServiceChat serviceChat = new AccessToken2.ServiceChat();
+        serviceChat.addPrivilegeChat(AccessToken2.PrivilegeChat.PRIVILEGE_CHAT_APP, expire);
+        accessToken.addService(serviceChat);
+        return build(accessToken);
+    }
+
+    private static String build(AccessToken2 accessToken) {
+        try {
+            return accessToken.build();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -2,7 +2,6 @@ package io.agora.media;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.TreeMap;
 
 import static io.agora.media.Utils.crc32;
 
@@ -46,6 +45,16 @@ public class AccessToken {
         this.message = new PrivilegeMessage();
     }
 
+    public AccessToken(String appId, String appCertificate, String channelName, String uid, SaltGenerator saltGenerator) {
+        this.appId = appId;
+        this.appCertificate = appCertificate;
+        this.channelName = channelName;
+        this.uid = uid;
+        this.crcChannelName = 0;
+        this.crcUid = 0;
+        this.message = new PrivilegeMessage(saltGenerator.nextSalt());
+    }
+
     public String build() throws Exception {
         if (! Utils.isUUID(appId)) {
             return "";
@@ -104,7 +113,7 @@ public class AccessToken {
             messageRawContent = packContent.rawMessage;
             Utils.unpack(messageRawContent, message);
         } catch (Exception e) {
-            e.printStackTrace();
+            // malformed token; use TokenVerifier for a detailed status
             return false;
         }
         
@@ -114,24 +123,28 @@ public class AccessToken {
     public class PrivilegeMessage implements PackableEx {
         public int salt;
         public int ts;
-        public TreeMap<Short, Integer> messages;
+        public PrivilegeMap messages;
 
         public PrivilegeMessage() {
-            salt = Utils.randomInt();
+            this(Utils.randomInt());
+        }
+
+        public PrivilegeMessage(int salt) {
+            this.salt = salt;
             ts = Utils.getTimestamp() + 24 * 3600;
-            messages = new TreeMap<>();
+            messages = new PrivilegeMap();
         }
 
         @Override
         public ByteBuf marshal(ByteBuf out) {
-            return out.put(salt).put(ts).putIntMap(messages);
+            return out.put(salt).put(ts).putPrivilegeMap(messages);
         }
 
         @Override
         public void unmarshal(ByteBuf in) {
             salt = in.readInt();
             ts = in.readInt();
-            messages = in.readIntMap();
+            messages = in.readPrivilegeMap();
         }
     }
 
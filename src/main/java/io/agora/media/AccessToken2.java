@@ -0,0 +1,546 @@
+package io.agora.media;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * AccessToken2, token version "007".
+ * <p>
+ * Layout: "007" + base64(zlib(signature | appId | issueTs | expire | salt | services)), where the
+ * signature is HMAC-SHA256 over everything after it, keyed with
+ * HMAC(salt, HMAC(issueTs, appCertificate)). Services are written in ascending type order and
+ * strings are UTF-8, matching the other Agora server SDKs.
+ * <p>
+ * Encoding writes into one right-sized array. Each thread reuses its Deflater, Inflater and Mac,
+ * and caches the issueTs-derived signing key for the last certificate it saw.
+ */
+public class AccessToken2 {
+    public static final short SERVICE_TYPE_RTC = 1;
+    public static final short SERVICE_TYPE_RTM = 2;
+    public static final short SERVICE_TYPE_FPA = 4;
+    public static final short SERVICE_TYPE_CHAT = 5;
+
+    public enum PrivilegeRtc {
+        PRIVILEGE_JOIN_CHANNEL(1),
+        PRIVILEGE_PUBLISH_AUDIO_STREAM(2),
+        PRIVILEGE_PUBLISH_VIDEO_STREAM(3),
+        PRIVILEGE_PUBLISH_DATA_STREAM(4);
+
+        public final short intValue;
+
+        PrivilegeRtc(int value) {
+            intValue = (short) value;
+        }
+    }
+
+    public enum PrivilegeRtm {
+        PRIVILEGE_LOGIN(1);
+
+        public final short intValue;
+
+        PrivilegeRtm(int value) {
+            intValue = (short) value;
+        }
+    }
+
+    public enum PrivilegeChat {
+        PRIVILEGE_CHAT_USER(1),
+        PRIVILEGE_CHAT_APP(2);
+
+        public final short intValue;
+
+        PrivilegeChat(int value) {
+            intValue = (short) value;
+        }
+    }
+
+    private static final String VERSION = "007";
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final int INFO_OFFSET = 2 + SIGNATURE_LENGTH;
+    private static final int MAX_SALT = 99999999;
+    /** Upper bound for a decompressed token; real tokens are a few hundred bytes. */
+    static final int MAX_INFLATED_SIZE = 64 * 1024;
+    /** Scratch buffers grown past this size are dropped after use instead of kept per thread. */
+    private static final int MAX_RETAINED_BUFFER = 4 * 1024;
+
+    private static final ThreadLocal<Codec> CODEC = ThreadLocal.withInitial(Codec::new);
+
+    public String appCert = "";
+    public String appId = "";
+    public int expire;
+    public int issueTs;
+    public int salt;
+    public byte[] signature;
+    private Service[] services = new Service[0];
+
+    public AccessToken2() {
+    }
+
+    public AccessToken2(String appId, String appCert, int expire) {
+        this(appId, appCert, expire, SaltGenerator.secureRandom());
+    }
+
+    /**
+     * @param expire token lifetime in seconds, counted from now.
+     */
+    public AccessToken2(String appId, String appCert, int expire, SaltGenerator saltGenerator) {
+        this.appId = appId;
+        this.appCert = appCert;
+        this.expire = expire;
+        this.issueTs = Utils.getTimestamp();
+        this.salt = Math.floorMod(saltGenerator.nextSalt(), MAX_SALT) + 1;
+    }
+
+    public static String getVersion() {
+        return VERSION;
+    }
+
+    /**
+     * Adds a service, replacing any existing service of the same type.
+     */
+    public void addService(Service service) {
+        int i = 0;
+        while (i < services.length && services[i].type < service.type) {
+            i++;
+        }
+        if (i < services.length && services[i].type == service.type) {
+            services[i] = service;
+            return;
+        }
+        Service[] grown = new Service[services.length + 1];
+        System.arraycopy(services, 0, grown, 0, i);
+        grown[i] = service;
+        System.arraycopy(services, i, grown, i + 1, services.length - i);
+        services = grown;
+    }
+
+    public Service getService(short type) {
+        for (Service service : services) {
+            if (service.type == type) {
+                return service;
+            }
+        }
+        return null;
+    }
+
+    public Service[] getServices() {
+        return services.clone();
+    }
+
+    public String build() throws NoSuchAlgorithmException, InvalidKeyException {
+        if (!Utils.isUUID(appId) || !Utils.isUUID(appCert)) {
+            return "";
+        }
+
+        byte[] appIdBytes = appId.getBytes(StandardCharsets.UTF_8);
+        int infoLength = 2 + appIdBytes.length + 4 + 4 + 4 + 2;
+        for (Service service : services) {
+            infoLength += service.packedLength();
+        }
+        byte[] content = new byte[INFO_OFFSET + infoLength];
+        int offset = putShort(content, 0, SIGNATURE_LENGTH);
+        offset = putBytes(content, offset + SIGNATURE_LENGTH, appIdBytes);
+        offset = putInt(content, offset, issueTs);
+        offset = putInt(content, offset, expire);
+        offset = putInt(content, offset, salt);
+        offset = putShort(content, offset, services.length);
+        for (Service service : services) {
+            offset = service.pack(content, offset);
+        }
+
+        Codec codec = CODEC.get();
+        Mac mac = codec.signer(appCert, issueTs, salt);
+        mac.update(content, INFO_OFFSET, infoLength);
+        try {
+            mac.doFinal(content, 2);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        signature = Arrays.copyOfRange(content, 2, INFO_OFFSET);
+        return VERSION + codec.deflateToBase64(content);
+    }
+
+    /**
+     * Parses a 007 token into this instance. The signature is not verified here; see {@link TokenVerifier}.
+     *
+     * @return false if the token is not a well-formed 007 token.
+     */
+    public boolean fromString(String token) {
+        try {
+            parse(token, this);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public static AccessToken2 parse(String token) {
+        return parse(token, new AccessToken2());
+    }
+
+    static AccessToken2 parse(String token, AccessToken2 target) {
+        byte[] content = inflate(token);
+        try {
+            ByteBuf in = new ByteBuf(content);
+            target.signature = in.readBytes();
+            target.appId = new String(in.readBytes(), StandardCharsets.UTF_8);
+            target.issueTs = in.readInt();
+            target.expire = in.readInt();
+            target.salt = in.readInt();
+            short count = in.readShort();
+            Service[] services = new Service[count];
+            for (int i = 0; i < count; i++) {
+                services[i] = Service.create(in.readShort());
+                services[i].unpack(in);
+            }
+            target.services = services;
+            return target;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed AccessToken2", e);
+        }
+    }
+
+    /**
+     * Decodes the token body: signature length prefix, signature and the signed info.
+     */
+    static byte[] inflate(String token) {
+        if (token == null || !token.startsWith(VERSION)) {
+            throw new IllegalArgumentException("Not an AccessToken2");
+        }
+        byte[] compressed;
+        try {
+            compressed = Base64.getDecoder().decode(token.substring(VERSION.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed AccessToken2", e);
+        }
+        return CODEC.get().inflate(compressed);
+    }
+
+    /**
+     * Returns this thread's Mac, initialized with the signing key derived from (appCert, issueTs, salt).
+     */
+    static Mac signer(String appCert, int issueTs, int salt) throws NoSuchAlgorithmException, InvalidKeyException {
+        return CODEC.get().signer(appCert, issueTs, salt);
+    }
+
+    static int putShort(byte[] out, int offset, int v) {
+        out[offset] = (byte) v;
+        out[offset + 1] = (byte) (v >>> 8);
+        return offset + 2;
+    }
+
+    static int putInt(byte[] out, int offset, int v) {
+        out[offset] = (byte) v;
+        out[offset + 1] = (byte) (v >>> 8);
+        out[offset + 2] = (byte) (v >>> 16);
+        out[offset + 3] = (byte) (v >>> 24);
+        return offset + 4;
+    }
+
+    static int putBytes(byte[] out, int offset, byte[] v) {
+        offset = putShort(out, offset, v.length);
+        System.arraycopy(v, 0, out, offset, v.length);
+        return offset + v.length;
+    }
+
+    public static class Service {
+        protected final short type;
+        protected final PrivilegeMap privileges = new PrivilegeMap();
+
+        public Service(short type) {
+            this.type = type;
+        }
+
+        static Service create(short type) {
+            switch (type) {
+                case SERVICE_TYPE_RTC:
+                    return new ServiceRtc();
+                case SERVICE_TYPE_RTM:
+                    return new ServiceRtm();
+                case SERVICE_TYPE_FPA:
+                    return new Service(SERVICE_TYPE_FPA);
+                case SERVICE_TYPE_CHAT:
+                    return new ServiceChat();
+                default:
+                    throw new IllegalArgumentException("Unknown AccessToken2 service type " + type);
+            }
+        }
+
+        public short getServiceType() {
+            return type;
+        }
+
+        /**
+         * @param expire privilege lifetime in seconds, counted from the token's issueTs.
+         */
+        public void addPrivilege(short privilege, int expire) {
+            privileges.put(privilege, expire);
+        }
+
+        public boolean hasPrivilege(short privilege) {
+            return privileges.containsKey(privilege);
+        }
+
+        /**
+         * @return the privilege lifetime in seconds, or 0 if the privilege is not granted.
+         */
+        public int getPrivilegeExpire(short privilege) {
+            return privileges.get(privilege);
+        }
+
+        public PrivilegeMap getPrivileges() {
+            return privileges;
+        }
+
+        int packedLength() {
+            return 2 + 2 + privileges.size() * (2 + 4);
+        }
+
+        int pack(byte[] out, int offset) {
+            offset = putShort(out, offset, type);
+            offset = putShort(out, offset, privileges.size());
+            for (int i = 0; i < privileges.size(); i++) {
+                offset = putShort(out, offset, privileges.keyAt(i));
+                offset = putInt(out, offset, privileges.valueAt(i));
+            }
+            return offset;
+        }
+
+        void unpack(ByteBuf in) {
+            privileges.clear();
+            short count = in.readShort();
+            for (int i = 0; i < count; i++) {
+                privileges.put(in.readShort(), in.readInt());
+            }
+        }
+    }
+
+    public static class ServiceRtc extends Service {
+        private String channelName = "";
+        private String uid = "";
+        private byte[] channelBytes = new byte[0];
+        private byte[] uidBytes = new byte[0];
+
+        public ServiceRtc() {
+            super(SERVICE_TYPE_RTC);
+        }
+
+        public ServiceRtc(String channelName, String uid) {
+            super(SERVICE_TYPE_RTC);
+            this.channelName = channelName;
+            this.uid = uid;
+            this.channelBytes = channelName.getBytes(StandardCharsets.UTF_8);
+            this.uidBytes = uid.getBytes(StandardCharsets.UTF_8);
+        }
+
+        public void addPrivilegeRtc(PrivilegeRtc privilege, int expire) {
+            addPrivilege(privilege.intValue, expire);
+        }
+
+        public String getChannelName() {
+            return channelName;
+        }
+
+        public String getUid() {
+            return uid;
+        }
+
+        @Override
+        int packedLength() {
+            return super.packedLength() + 2 + channelBytes.length + 2 + uidBytes.length;
+        }
+
+        @Override
+        int pack(byte[] out, int offset) {
+            offset = super.pack(out, offset);
+            offset = putBytes(out, offset, channelBytes);
+            return putBytes(out, offset, uidBytes);
+        }
+
+        @Override
+        void unpack(ByteBuf in) {
+            super.unpack(in);
+            channelBytes = in.readBytes();
+            uidBytes = in.readBytes();
+            channelName = new String(channelBytes, StandardCharsets.UTF_8);
+            uid = new String(uidBytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    public static class ServiceRtm extends Service {
+        private String userId = "";
+        private byte[] userIdBytes = new byte[0];
+
+        public ServiceRtm() {
+            super(SERVICE_TYPE_RTM);
+        }
+
+        public ServiceRtm(String userId) {
+            super(SERVICE_TYPE_RTM);
+            this.userId = userId;
+            this.userIdBytes = userId.getBytes(StandardCharsets.UTF_8);
+        }
+
+        public void addPrivilegeRtm(PrivilegeRtm privilege, int expire) {
+            addPrivilege(privilege.intValue, expire);
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        @Override
+        int packedLength() {
+            return super.packedLength() + 2 + userIdBytes.length;
+        }
+
+        @Override
+        int pack(byte[] out, int offset) {
+            return putBytes(out, super.pack(out, offset), userIdBytes);
+        }
+
+        @Override
+        void unpack(ByteBuf in) {
+            super.unpack(in);
+            userIdBytes = in.readBytes();
+            userId = new String(userIdBytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    public static class ServiceChat extends Service {
+        private String userId = "";
+        private byte[] userIdBytes = new byte[0];
+
+        public ServiceChat() {
+            super(SERVICE_TYPE_CHAT);
+        }
+
+        /**
+         * @param userId the chat user uuid; empty for an app token.
+         */
+        public ServiceChat(String userId) {
+            super(SERVICE_TYPE_CHAT);
+            this.userId = userId;
+            this.userIdBytes = userId.getBytes(StandardCharsets.UTF_8);
+        }
+
+        public void addPrivilegeChat(PrivilegeChat privilege, int expire) {
+            addPrivilege(privilege.intValue, expire);
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        @Override
+        int packedLength() {
+            return super.packedLength() + 2 + userIdBytes.length;
+        }
+
+        @Override
+        int pack(byte[] out, int offset) {
+            return putBytes(out, super.pack(out, offset), userIdBytes);
+        }
+
+        @Override
+        void unpack(ByteBuf in) {
+            super.unpack(in);
+            userIdBytes = in.readBytes();
+            userId = new String(userIdBytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Per-thread compression and signing state.
+     */
+    private static final class Codec {
+        private final Deflater deflater = new Deflater();
+        private final Inflater inflater = new Inflater();
+        private final byte[] intKey = new byte[4];
+        private static final int INITIAL_BUFFER = 512;
+
+        private byte[] buffer = new byte[INITIAL_BUFFER];
+        private Mac mac;
+        private String certificate;
+        private int certificateIssueTs;
+        private byte[] issueTsKey;
+
+        Mac signer(String appCert, int issueTs, int salt) throws NoSuchAlgorithmException, InvalidKeyException {
+            if (mac == null) {
+                mac = Mac.getInstance(HmacSigner.HMAC_SHA256);
+            }
+            if (issueTsKey == null || issueTs != certificateIssueTs || !appCert.equals(certificate)) {
+                issueTsKey = hmac(issueTs, appCert.getBytes(StandardCharsets.UTF_8));
+                certificate = appCert;
+                certificateIssueTs = issueTs;
+            }
+            byte[] signingKey = hmac(salt, issueTsKey);
+            mac.init(new SecretKeySpec(signingKey, HmacSigner.HMAC_SHA256));
+            return mac;
+        }
+
+        private byte[] hmac(int key, byte[] message) throws InvalidKeyException {
+            putInt(intKey, 0, key);
+            mac.init(new SecretKeySpec(intKey, HmacSigner.HMAC_SHA256));
+            return mac.doFinal(message);
+        }
+
+        String deflateToBase64(byte[] content) {
+            deflater.reset();
+            deflater.setInput(content);
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            ByteBuffer encoded = Base64.getEncoder().encode(ByteBuffer.wrap(buffer, 0, length));
+            trimBuffer();
+            return new String(encoded.array(), 0, encoded.limit(), StandardCharsets.ISO_8859_1);
+        }
+
+        byte[] inflate(byte[] compressed) {
+            inflater.reset();
+            inflater.setInput(compressed);
+            int length = 0;
+            try {
+                while (!inflater.finished()) {
+                    if (length == buffer.length) {
+                        if (length >= MAX_INFLATED_SIZE) {
+                            throw new IllegalArgumentException("AccessToken2 exceeds " + MAX_INFLATED_SIZE + " bytes");
+                        }
+                        buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, MAX_INFLATED_SIZE));
+                    }
+                    int n = inflater.inflate(buffer, length, buffer.length - length);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IllegalArgumentException("Truncated AccessToken2");
+                    }
+                    length += n;
+                }
+                return Arrays.copyOf(buffer, length);
+            } catch (DataFormatException e) {
+                throw new IllegalArgumentException("Malformed AccessToken2", e);
+            } finally {
+                trimBuffer();
+            }
+        }
+
+        private void trimBuffer() {
+            if (buffer.length > MAX_RETAINED_BUFFER) {
+                buffer = new byte[INITIAL_BUFFER];
+            }
+        }
+    }
+}
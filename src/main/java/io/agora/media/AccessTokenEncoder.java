@@ -0,0 +1,182 @@
+package io.agora.media;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.CRC32;
+
+/**
+ * High-throughput encoder for version 006 access tokens. Produces the same output as
+ * {@link AccessToken#build()}, but lays out the pack content in a single right-sized array:
+ * the privilege message is written in place, the HMAC is streamed over
+ * appId + channelName + uid + message and written straight into the signature slot, and the
+ * result is Base64-encoded with {@link java.util.Base64}.
+ * <p>
+ * Strings are converted with the platform default charset, as {@link AccessToken} does.
+ */
+public final class AccessTokenEncoder {
+    private static final int SIGNATURE_OFFSET = 2;
+    private static final int CRC_CHANNEL_OFFSET = SIGNATURE_OFFSET + (int) Utils.HMAC_SHA256_LENGTH;
+    private static final int MESSAGE_OFFSET = CRC_CHANNEL_OFFSET + 4 + 4 + 2;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private AccessTokenEncoder() {
+    }
+
+    /**
+     * Encodes the token described by the given builder state (salt, ts and privileges of its message).
+     * The builder itself is not modified.
+     */
+    public static String encode(AccessToken token) throws NoSuchAlgorithmException, InvalidKeyException {
+        return encode(token.appId, token.appCertificate, token.channelName, token.uid,
+                token.message.salt, token.message.ts, token.message.messages);
+    }
+
+    public static String encode(String appId, String appCertificate, String channelName, String uid,
+            int salt, int ts, PrivilegeMap privileges) throws NoSuchAlgorithmException, InvalidKeyException {
+        if (!Utils.isUUID(appId) || !Utils.isUUID(appCertificate)) {
+            return "";
+        }
+
+        Scratch scratch = SCRATCH.get();
+        byte[] channelBytes = channelName.getBytes();
+        byte[] uidBytes = uid.getBytes();
+        Mac mac = HmacSigner.getMac(HmacSigner.HMAC_SHA256, scratch.bytes(appCertificate));
+        return encode(mac, appId, scratch.appIdBytes(appId), channelBytes, scratch.crc32(channelBytes),
+                uidBytes, scratch.crc32(uidBytes), salt, ts, privileges);
+    }
+
+    /**
+     * Starts a batch of tokens for one channel: appId, certificate and channel bytes, the channel CRC and
+     * an initialized {@link Mac} are prepared once and reused for every token of the batch.
+     */
+    public static Batch batch(String appId, String appCertificate, String channelName) throws NoSuchAlgorithmException, InvalidKeyException {
+        return new Batch(appId, appCertificate, channelName);
+    }
+
+    private static String encode(Mac mac, String appId, byte[] appIdBytes, byte[] channelBytes, int crcChannelName,
+            byte[] uidBytes, int crcUid, int salt, int ts, PrivilegeMap privileges) {
+        int messageLength = 4 + 4 + 2 + privileges.size() * (2 + 4);
+        byte[] content = new byte[MESSAGE_OFFSET + messageLength];
+
+        // PackContent: signature(len-prefixed) | crcChannelName | crcUid | rawMessage(len-prefixed)
+        putShort(content, 0, (int) Utils.HMAC_SHA256_LENGTH);
+        putInt(content, CRC_CHANNEL_OFFSET, crcChannelName);
+        putInt(content, CRC_CHANNEL_OFFSET + 4, crcUid);
+        putShort(content, MESSAGE_OFFSET - 2, messageLength);
+
+        // PrivilegeMessage: salt | ts | size | (privilege, expireTimestamp)*
+        int offset = MESSAGE_OFFSET;
+        offset = putInt(content, offset, salt);
+        offset = putInt(content, offset, ts);
+        offset = putShort(content, offset, privileges.size());
+        for (int i = 0; i < privileges.size(); i++) {
+            offset = putShort(content, offset, privileges.keyAt(i));
+            offset = putInt(content, offset, privileges.valueAt(i));
+        }
+
+        mac.update(appIdBytes);
+        mac.update(channelBytes);
+        mac.update(uidBytes);
+        mac.update(content, MESSAGE_OFFSET, messageLength);
+        try {
+            mac.doFinal(content, SIGNATURE_OFFSET);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return new StringBuilder(Utils.VERSION_LENGTH + Utils.APP_ID_LENGTH + (content.length + 2) / 3 * 4)
+                .append(AccessToken.getVersion())
+                .append(appId)
+                .append(Base64.getEncoder().encodeToString(content))
+                .toString();
+    }
+
+    private static int putShort(byte[] out, int offset, int v) {
+        out[offset] = (byte) v;
+        out[offset + 1] = (byte) (v >>> 8);
+        return offset + 2;
+    }
+
+    private static int putInt(byte[] out, int offset, int v) {
+        out[offset] = (byte) v;
+        out[offset + 1] = (byte) (v >>> 8);
+        out[offset + 2] = (byte) (v >>> 16);
+        out[offset + 3] = (byte) (v >>> 24);
+        return offset + 4;
+    }
+
+    /**
+     * Encodes tokens for many users of one channel. Not thread-safe: use one batch per thread.
+     */
+    public static final class Batch {
+        private final String appId;
+        private final byte[] appIdBytes;
+        private final byte[] channelBytes;
+        private final int crcChannelName;
+        private final Mac mac;
+        private final CRC32 crc32 = new CRC32();
+
+        private Batch(String appId, String appCertificate, String channelName) throws NoSuchAlgorithmException, InvalidKeyException {
+            this.appId = appId;
+            this.appIdBytes = appId.getBytes();
+            this.channelBytes = channelName.getBytes();
+            crc32.update(channelBytes);
+            this.crcChannelName = (int) crc32.getValue();
+            if (Utils.isUUID(appId) && Utils.isUUID(appCertificate)) {
+                this.mac = Mac.getInstance(HmacSigner.HMAC_SHA256);
+                this.mac.init(new SecretKeySpec(appCertificate.getBytes(), HmacSigner.HMAC_SHA256));
+            } else {
+                this.mac = null;
+            }
+        }
+
+        public String encode(String uid, int salt, int ts, PrivilegeMap privileges) {
+            if (mac == null) {
+                return "";
+            }
+            byte[] uidBytes = uid.getBytes();
+            crc32.reset();
+            crc32.update(uidBytes);
+            return AccessTokenEncoder.encode(mac, appId, appIdBytes, channelBytes, crcChannelName,
+                    uidBytes, (int) crc32.getValue(), salt, ts, privileges);
+        }
+    }
+
+    /**
+     * Per-thread state reused across tokens: the last seen appId/certificate bytes and a CRC32.
+     */
+    private static final class Scratch {
+        private final CRC32 crc32 = new CRC32();
+        private String appId;
+        private byte[] appIdBytes;
+        private String certificate;
+        private byte[] certificateBytes;
+
+        int crc32(byte[] bytes) {
+            crc32.reset();
+            crc32.update(bytes);
+            return (int) crc32.getValue();
+        }
+
+        byte[] appIdBytes(String appId) {
+            if (!appId.equals(this.appId)) {
+                this.appIdBytes = appId.getBytes();
+                this.appId = appId;
+            }
+            return appIdBytes;
+        }
+
+        byte[] bytes(String certificate) {
+            if (!certificate.equals(this.certificate)) {
+                this.certificateBytes = certificate.getBytes();
+                this.certificate = certificate;
+            }
+            return certificateBytes;
+        }
+    }
+}
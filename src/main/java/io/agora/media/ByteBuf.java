@@ -1,7 +1,9 @@
 package io.agora.media;
 
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -9,47 +11,146 @@ import java.util.TreeMap;
  * Created by Li on 10/1/2016.
  */
 public class ByteBuf {
-    ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+    static final int DEFAULT_CAPACITY = 256;
+    /** Pooled buffers that grew beyond this are dropped instead of being kept per thread. */
+    static final int MAX_POOLED_CAPACITY = 64 * 1024;
+    private static final int MAX_FIELD_LENGTH = 0xFFFF;
+
+    private static final ThreadLocal<ByteBuf> POOL = ThreadLocal.withInitial(ByteBuf::new);
+
+    ByteBuffer buffer;
+    private final boolean direct;
+    private boolean acquired;
 
     public ByteBuf() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    public ByteBuf(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * @param direct allocate an off-heap buffer; {@link #asBytes()} then always copies.
+     */
+    public ByteBuf(int initialCapacity, boolean direct) {
+        this.direct = direct;
+        this.buffer = allocate(Math.max(1, initialCapacity));
     }
 
     public ByteBuf(byte[] bytes) {
+        this.direct = false;
         this.buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
     }
 
+    /**
+     * Returns this thread's cleared write buffer, or a new one if it is already in use (nested packing).
+     * Pair every call with {@link #release()}.
+     */
+    static ByteBuf acquire() {
+        ByteBuf pooled = POOL.get();
+        if (pooled.acquired) {
+            return new ByteBuf();
+        }
+        pooled.acquired = true;
+        pooled.clear();
+        return pooled;
+    }
+
+    void release() {
+        if (acquired) {
+            acquired = false;
+            if (buffer.capacity() > MAX_POOLED_CAPACITY) {
+                POOL.remove();
+            }
+        }
+    }
+
+    public ByteBuf clear() {
+        buffer.clear();
+        return this;
+    }
+
+    /**
+     * @return the number of bytes written (or read, for a wrapped array).
+     */
+    public int size() {
+        return buffer.position();
+    }
+
+    /**
+     * Returns the bytes up to the current position. When they fill the backing heap array exactly,
+     * that array is returned without copying, so it must not be written to after {@link #clear()}.
+     */
     public byte[] asBytes() {
-        byte[] out = new byte[buffer.position()];
-        buffer.rewind();
-        buffer.get(out, 0, out.length);
+        int size = buffer.position();
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.array().length == size) {
+            return buffer.array();
+        }
+        return copyBytes();
+    }
+
+    /**
+     * Returns a copy of the bytes up to the current position.
+     */
+    public byte[] copyBytes() {
+        int size = buffer.position();
+        byte[] out = new byte[size];
+        if (buffer.hasArray()) {
+            System.arraycopy(buffer.array(), buffer.arrayOffset(), out, 0, size);
+        } else {
+            ByteBuffer view = buffer.duplicate();
+            view.flip();
+            view.get(out);
+        }
         return out;
     }
 
+    private ByteBuffer allocate(int capacity) {
+        return (direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void ensureWritable(int length) {
+        if (buffer.remaining() < length) {
+            ByteBuffer grown = allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+    }
+
     // packUint16
     public ByteBuf put(short v) {
+        ensureWritable(2);
         buffer.putShort(v);
         return this;
     }
 
     public ByteBuf put(byte[] v) {
+        if (v.length > MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException("Field too long: " + v.length + " bytes");
+        }
         put((short)v.length);
+        ensureWritable(v.length);
         buffer.put(v);
         return this;
     }
 
     // packUint32
     public ByteBuf put(int v) {
+        ensureWritable(4);
         buffer.putInt(v);
         return this;
     }
 
     public ByteBuf put(long v) {
+        ensureWritable(8);
         buffer.putLong(v);
         return this;
     }
 
     public ByteBuf put(String v) {
-        return put(v.getBytes());
+        return put(v.getBytes(StandardCharsets.UTF_8));
     }
 
     public ByteBuf put(TreeMap<Short, String> extra) {
@@ -74,6 +175,17 @@ public class ByteBuf {
         return this;
     }
 
+    public ByteBuf putPrivilegeMap(PrivilegeMap privileges) {
+        put((short) privileges.size());
+
+        for (int i = 0; i < privileges.size(); i++) {
+            put(privileges.keyAt(i));
+            put(privileges.valueAt(i));
+        }
+
+        return this;
+    }
+
     public short readShort() {
         return buffer.getShort();
     }
@@ -84,15 +196,29 @@ public class ByteBuf {
     }
 
     public byte[] readBytes() {
-        short length = readShort();
+        int length = readLength();
         byte[] bytes = new byte[length];
         buffer.get(bytes);
         return bytes;
     }
 
     public String readString() {
-        byte[] bytes = readBytes();
-        return new String(bytes);
+        if (!buffer.hasArray()) {
+            return new String(readBytes(), StandardCharsets.UTF_8);
+        }
+        int length = readLength();
+        String v = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return v;
+    }
+
+    // length prefixes are unsigned 16-bit
+    private int readLength() {
+        int length = readShort() & 0xFFFF;
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return length;
     }
 
     public TreeMap readMap() {
@@ -109,6 +235,19 @@ public class ByteBuf {
         return map;
     }
 
+    public PrivilegeMap readPrivilegeMap() {
+        short length = readShort();
+        PrivilegeMap privileges = new PrivilegeMap(length);
+
+        for (short i = 0; i < length; ++i) {
+            short k = readShort();
+            int v = readInt();
+            privileges.put(k, v);
+        }
+
+        return privileges;
+    }
+
     public TreeMap<Short, Integer> readIntMap() {
         TreeMap<Short, Integer> map = new TreeMap<>();
 
@@ -61,9 +61,13 @@ public class DynamicKey5 {
     }
 
     private static byte[] pack(Packable content) {
-        ByteBuf buffer = new ByteBuf();
-        content.marshal(buffer);
-        return buffer.asBytes();
+        ByteBuf buffer = ByteBuf.acquire();
+        try {
+            content.marshal(buffer);
+            return buffer.copyBytes();
+        } finally {
+            buffer.release();
+        }
     }
 
     public static String generatePublicSharingKey(String appID, String appCertificate, String channel, int ts, int salt, long uid, int expiredTs) throws Exception {
@@ -1,7 +1,5 @@
 package io.agora.media;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 
@@ -16,11 +14,7 @@ public class DynamicKeyUtil {
     }
 
     static byte[] encodeHMAC(byte[] key, byte[] message) throws NoSuchAlgorithmException, InvalidKeyException {
-        SecretKeySpec keySpec = new SecretKeySpec(key, "HmacSHA1");
-
-        Mac mac = Mac.getInstance("HmacSHA1");
-        mac.init(keySpec);
-        return mac.doFinal(message);
+        return HmacSigner.sign(HmacSigner.HMAC_SHA1, key, message);
     }
 
     static String bytesToHex(byte[] in) {
@@ -0,0 +1,91 @@
+package io.agora.media;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches initialized {@link Mac} instances per thread, keyed by (algorithm, key), so repeated
+ * token signing skips the JCA provider lookup and key setup. A thread keeps at most
+ * {@link #MAX_KEYS_PER_THREAD} keys, evicting the least recently used one.
+ */
+public final class HmacSigner {
+    public static final String HMAC_SHA1 = "HmacSHA1";
+    public static final String HMAC_SHA256 = "HmacSHA256";
+
+    static final int MAX_KEYS_PER_THREAD = 8;
+
+    private static final ThreadLocal<Map<MacKey, Mac>> MACS = ThreadLocal.withInitial(() ->
+            new LinkedHashMap<MacKey, Mac>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<MacKey, Mac> eldest) {
+                    return size() > MAX_KEYS_PER_THREAD;
+                }
+            });
+
+    private HmacSigner() {
+    }
+
+    public static byte[] sign(String algorithm, byte[] key, byte[] message) throws NoSuchAlgorithmException, InvalidKeyException {
+        return getMac(algorithm, key).doFinal(message);
+    }
+
+    public static byte[] sign(String algorithm, byte[] key, byte[] message, int offset, int length) throws NoSuchAlgorithmException, InvalidKeyException {
+        Mac mac = getMac(algorithm, key);
+        mac.update(message, offset, length);
+        return mac.doFinal();
+    }
+
+    /**
+     * Returns a reset {@link Mac} bound to the calling thread. The instance must not be shared with
+     * other threads or kept beyond the current signing call.
+     */
+    public static Mac getMac(String algorithm, byte[] key) throws NoSuchAlgorithmException, InvalidKeyException {
+        Map<MacKey, Mac> macs = MACS.get();
+        Mac mac = macs.get(new MacKey(algorithm, key));
+        if (mac == null) {
+            mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(key, algorithm));
+            macs.put(new MacKey(algorithm, key.clone()), mac);
+        } else {
+            // a previous caller may have failed between update() and doFinal()
+            mac.reset();
+        }
+        return mac;
+    }
+
+    private static final class MacKey {
+        private final String algorithm;
+        private final byte[] key;
+        private final int hash;
+
+        MacKey(String algorithm, byte[] key) {
+            this.algorithm = algorithm;
+            this.key = key;
+            this.hash = 31 * algorithm.hashCode() + Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MacKey)) {
+                return false;
+            }
+            MacKey other = (MacKey) o;
+            return algorithm.equals(other.algorithm) && Arrays.equals(key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package io.agora.media;
+
+import java.util.Arrays;
+
+/**
+ * Sorted short-to-int map for token privileges (privilege id to expire timestamp/seconds).
+ * Keys are kept in ascending order in parallel primitive arrays, which is the order the token wire
+ * format expects, so iterating by index serializes exactly like the former {@code TreeMap<Short, Integer>}.
+ * Sized for the handful of privileges a token carries; lookups are linear scans.
+ */
+public final class PrivilegeMap {
+    private short[] keys;
+    private int[] values;
+    private int size;
+
+    public PrivilegeMap() {
+        this(4);
+    }
+
+    public PrivilegeMap(int initialCapacity) {
+        keys = new short[Math.max(1, initialCapacity)];
+        values = new int[keys.length];
+    }
+
+    public void put(short key, int value) {
+        int i = 0;
+        while (i < size && keys[i] < key) {
+            i++;
+        }
+        if (i < size && keys[i] == key) {
+            values[i] = value;
+            return;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(values, i, values, i + 1, size - i);
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    public void putAll(PrivilegeMap other) {
+        for (int i = 0; i < other.size; i++) {
+            put(other.keys[i], other.values[i]);
+        }
+    }
+
+    public boolean containsKey(short key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * @return the value for the key, or 0 if absent.
+     */
+    public int get(short key) {
+        int i = indexOf(key);
+        return i < 0 ? 0 : values[i];
+    }
+
+    public boolean remove(short key) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return false;
+        }
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(values, i + 1, values, i, size - i - 1);
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the index-th smallest key.
+     */
+    public short keyAt(int index) {
+        checkIndex(index);
+        return keys[index];
+    }
+
+    public int valueAt(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    private int indexOf(short key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PrivilegeMap)) {
+            return false;
+        }
+        PrivilegeMap other = (PrivilegeMap) o;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i] || values[i] != other.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + keys[i];
+            hash = 31 * hash + values[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(keys[i]).append('=').append(values[i]);
+        }
+        return builder.append('}').toString();
+    }
+}
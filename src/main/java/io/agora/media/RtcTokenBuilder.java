@@ -1,5 +1,14 @@
 package io.agora.media;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
 public class RtcTokenBuilder {
 	public enum Role {
         /**
@@ -28,6 +37,22 @@ public class RtcTokenBuilder {
         }
     }
 
+    static final int BATCH_CHUNK_SIZE = 64;
+
+    private final SaltGenerator saltGenerator;
+
+    public RtcTokenBuilder() {
+        this(SaltGenerator.secureRandom());
+    }
+
+    public RtcTokenBuilder(SaltGenerator saltGenerator) {
+        this.saltGenerator = saltGenerator;
+    }
+
+    public SaltGenerator getSaltGenerator() {
+        return saltGenerator;
+    }
+
     /*
      * Builds an RTC token using an int uid.
      *
@@ -90,18 +115,80 @@ public class RtcTokenBuilder {
     		String channelName, String account, Role role, int privilegeTs) {
     	
     	// Assign appropriate access privileges to each role.
-    	AccessToken builder = new AccessToken(appId, appCertificate, channelName, account);
-    	builder.addPrivilege(AccessToken.Privileges.kJoinChannel, privilegeTs);
-    	if (role == Role.Role_Publisher || role == Role.Role_Subscriber || role == Role.Role_Admin) {
-    		builder.addPrivilege(AccessToken.Privileges.kPublishAudioStream, privilegeTs);
-    		builder.addPrivilege(AccessToken.Privileges.kPublishVideoStream, privilegeTs);
-    		builder.addPrivilege(AccessToken.Privileges.kPublishDataStream, privilegeTs);
-    	}
+    	AccessToken builder = new AccessToken(appId, appCertificate, channelName, account, saltGenerator);
+    	builder.message.messages.putAll(privileges(role, privilegeTs));
     	
     	try {
-			return builder.build();
+			return AccessTokenEncoder.encode(builder);
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
     }
+
+    /*
+     * Builds RTC tokens for many user accounts of the same channel and role. The app ID, certificate,
+     * channel bytes and the initialized Mac are prepared once per batch instead of once per token.
+     *
+     * @return tokens keyed by account, in the iteration order of accounts.
+     */
+    public Map<String, String> buildTokensWithUserAccounts(String appId, String appCertificate,
+            String channelName, Collection<String> accounts, Role role, int privilegeTs) {
+        return buildTokensWithUserAccounts(appId, appCertificate, channelName, accounts, role, privilegeTs, null);
+    }
+
+    /*
+     * Same as above, but spreads batches of BATCH_CHUNK_SIZE accounts over the given executor and waits
+     * for all of them. A null executor builds all tokens on the calling thread.
+     */
+    public Map<String, String> buildTokensWithUserAccounts(String appId, String appCertificate,
+            String channelName, Collection<String> accounts, Role role, int privilegeTs, Executor executor) {
+        PrivilegeMap privileges = privileges(role, privilegeTs);
+        List<String> accountList = new ArrayList<>(accounts);
+        if (executor == null || accountList.size() <= BATCH_CHUNK_SIZE) {
+            return buildTokens(appId, appCertificate, channelName, accountList, privileges);
+        }
+
+        List<CompletableFuture<Map<String, String>>> futures = new ArrayList<>();
+        for (int from = 0; from < accountList.size(); from += BATCH_CHUNK_SIZE) {
+            List<String> chunk = accountList.subList(from, Math.min(from + BATCH_CHUNK_SIZE, accountList.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> buildTokens(appId, appCertificate, channelName, chunk, privileges), executor));
+        }
+        Map<String, String> tokens = new LinkedHashMap<>(accountList.size() * 4 / 3 + 1);
+        try {
+            for (CompletableFuture<Map<String, String>> future : futures) {
+                tokens.putAll(future.join());
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        return tokens;
+    }
+
+    private Map<String, String> buildTokens(String appId, String appCertificate, String channelName,
+            List<String> accounts, PrivilegeMap privileges) {
+        AccessTokenEncoder.Batch batch;
+        try {
+            batch = AccessTokenEncoder.batch(appId, appCertificate, channelName);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        int ts = Utils.getTimestamp() + 24 * 3600;
+        Map<String, String> tokens = new LinkedHashMap<>(accounts.size() * 4 / 3 + 1);
+        for (String account : accounts) {
+            tokens.put(account, batch.encode(account, saltGenerator.nextSalt(), ts, privileges));
+        }
+        return tokens;
+    }
+
+    // Assign appropriate access privileges to each role.
+    private static PrivilegeMap privileges(Role role, int privilegeTs) {
+        PrivilegeMap privileges = new PrivilegeMap();
+        privileges.put(AccessToken.Privileges.kJoinChannel.intValue, privilegeTs);
+        if (role == Role.Role_Publisher || role == Role.Role_Subscriber || role == Role.Role_Admin) {
+            privileges.put(AccessToken.Privileges.kPublishAudioStream.intValue, privilegeTs);
+            privileges.put(AccessToken.Privileges.kPublishVideoStream.intValue, privilegeTs);
+            privileges.put(AccessToken.Privileges.kPublishDataStream.intValue, privilegeTs);
+        }
+        return privileges;
+    }
 }
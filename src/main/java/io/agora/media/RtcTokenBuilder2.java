@@ -0,0 +1,69 @@
+package io.agora.media;
+
+/**
+ * Builds RTC tokens in the AccessToken2 ("007") format.
+ */
+public class RtcTokenBuilder2 {
+    public enum Role {
+        /**
+         * A broadcaster (host) in a live-broadcast profile, or any user in a communication profile.
+         */
+        ROLE_PUBLISHER(1),
+        /**
+         * An audience member in a live-broadcast profile.
+         */
+        ROLE_SUBSCRIBER(2);
+
+        public final int initValue;
+
+        Role(int initValue) {
+            this.initValue = initValue;
+        }
+    }
+
+    private final SaltGenerator saltGenerator;
+
+    public RtcTokenBuilder2() {
+        this(SaltGenerator.secureRandom());
+    }
+
+    public RtcTokenBuilder2(SaltGenerator saltGenerator) {
+        this.saltGenerator = saltGenerator;
+    }
+
+    /**
+     * Builds an RTC token using an int uid; 0 means any user.
+     *
+     * @param tokenExpire token lifetime in seconds from now.
+     * @param privilegeExpire lifetime of all privileges in seconds from now.
+     */
+    public String buildTokenWithUid(String appId, String appCertificate, String channelName, int uid,
+            Role role, int tokenExpire, int privilegeExpire) {
+        return buildTokenWithUserAccount(appId, appCertificate, channelName,
+                uid == 0 ? "" : String.valueOf(uid & 0xFFFFFFFFL), role, tokenExpire, privilegeExpire);
+    }
+
+    /**
+     * Builds an RTC token using a string user account.
+     *
+     * @param tokenExpire token lifetime in seconds from now.
+     * @param privilegeExpire lifetime of all privileges in seconds from now.
+     */
+    public String buildTokenWithUserAccount(String appId, String appCertificate, String channelName, String account,
+            Role role, int tokenExpire, int privilegeExpire) {
+        AccessToken2 accessToken = new AccessToken2(appId, appCertificate, tokenExpire, saltGenerator);
+        AccessToken2.ServiceRtc serviceRtc = new AccessToken2.ServiceRtc(channelName, account);
+        serviceRtc.addPrivilegeRtc(AccessToken2.PrivilegeRtc.PRIVILEGE_JOIN_CHANNEL, privilegeExpire);
+        if (role == Role.ROLE_PUBLISHER) {
+            serviceRtc.addPrivilegeRtc(AccessToken2.PrivilegeRtc.PRIVILEGE_PUBLISH_AUDIO_STREAM, privilegeExpire);
+            serviceRtc.addPrivilegeRtc(AccessToken2.PrivilegeRtc.PRIVILEGE_PUBLISH_VIDEO_STREAM, privilegeExpire);
+            serviceRtc.addPrivilegeRtc(AccessToken2.PrivilegeRtc.PRIVILEGE_PUBLISH_DATA_STREAM, privilegeExpire);
+        }
+        accessToken.addService(serviceRtc);
+        try {
+            return accessToken.build();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
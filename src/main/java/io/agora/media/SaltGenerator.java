@@ -0,0 +1,69 @@
+package io.agora.media;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+
+/**
+ * Source of the random salt embedded in every {@link AccessToken.PrivilegeMessage}.
+ * Implementations must be thread-safe; token builders share a single instance.
+ */
+public interface SaltGenerator {
+
+    int nextSalt();
+
+    /**
+     * Default generator: one {@link SecureRandom} per thread, seeded once, so token minting does not
+     * construct a new SecureRandom (and hit the entropy source) per token.
+     */
+    static SaltGenerator secureRandom() {
+        return SecureRandomSaltGenerator.INSTANCE;
+    }
+
+    /**
+     * Non-cryptographic generator: per-thread {@link SplittableRandom} instances split from a
+     * SecureRandom-seeded root. Only for environments that accept predictable salts.
+     */
+    static SaltGenerator splittableRandom() {
+        return new SplittableRandomSaltGenerator();
+    }
+
+    enum Type {
+        SECURE_RANDOM,
+        SPLITTABLE_RANDOM;
+
+        public SaltGenerator create() {
+            return this == SPLITTABLE_RANDOM ? splittableRandom() : secureRandom();
+        }
+    }
+
+    final class SecureRandomSaltGenerator implements SaltGenerator {
+        static final SecureRandomSaltGenerator INSTANCE = new SecureRandomSaltGenerator();
+
+        private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+        private SecureRandomSaltGenerator() {
+        }
+
+        @Override
+        public int nextSalt() {
+            return RANDOM.get().nextInt();
+        }
+    }
+
+    final class SplittableRandomSaltGenerator implements SaltGenerator {
+        private final SplittableRandom root = new SplittableRandom(new SecureRandom().nextLong());
+        private final ThreadLocal<SplittableRandom> random = ThreadLocal.withInitial(this::split);
+
+        private SplittableRandomSaltGenerator() {
+        }
+
+        private synchronized SplittableRandom split() {
+            return root.split();
+        }
+
+        @Override
+        public int nextSalt() {
+            return random.get().nextInt();
+        }
+    }
+}
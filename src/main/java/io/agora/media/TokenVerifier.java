@@ -0,0 +1,422 @@
+package io.agora.media;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.CRC32;
+
+/**
+ * Server-side verification of 006 ({@link AccessToken}) and 007 ({@link AccessToken2}) tokens for
+ * one app. The token body is decoded once, and fields are read straight from the decoded bytes.
+ * The HMAC is recomputed on a per-thread Mac and compared in constant time. Nothing is thrown
+ * for bad input; the {@link Result#getStatus() status} says why a token was rejected.
+ * <p>
+ * A 006 token only carries CRCs of the channel name and uid, so both must be supplied to verify it.
+ * For 007 tokens they are optional and, when given, must match the RTC service of the token.
+ * <p>
+ * Instances are thread-safe.
+ */
+public class TokenVerifier {
+
+    public enum Status {
+        VALID,
+        MALFORMED,
+        UNSUPPORTED_VERSION,
+        APP_ID_MISMATCH,
+        /** A 006 token was verified without channel name and uid. */
+        CHANNEL_REQUIRED,
+        CHANNEL_MISMATCH,
+        INVALID_SIGNATURE,
+        EXPIRED
+    }
+
+    private static final int V006_HEADER_LENGTH = Utils.VERSION_LENGTH + Utils.APP_ID_LENGTH;
+    private static final int SIGNATURE_LENGTH = (int) Utils.HMAC_SHA256_LENGTH;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final String appId;
+    private final String appCertificate;
+    private final byte[] appIdBytes;
+    private final byte[] appCertificateBytes;
+
+    public TokenVerifier(String appId, String appCertificate) {
+        this.appId = appId;
+        this.appCertificate = appCertificate;
+        this.appIdBytes = appId.getBytes();
+        this.appCertificateBytes = appCertificate.getBytes();
+    }
+
+    /**
+     * Verifies a 007 token. 006 tokens yield {@link Status#CHANNEL_REQUIRED}.
+     */
+    public Result verify(String token) {
+        return verify(token, null, null);
+    }
+
+    public Result verify(String token, String channelName, String uid) {
+        if (token == null || token.length() <= Utils.VERSION_LENGTH) {
+            return new Result(Status.MALFORMED);
+        }
+        try {
+            if (token.startsWith(AccessToken.getVersion())) {
+                return verify006(token, channelName, uid);
+            }
+            if (token.startsWith(AccessToken2.getVersion())) {
+                return verify007(token, channelName, uid);
+            }
+            return new Result(Status.UNSUPPORTED_VERSION);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return new Result(Status.MALFORMED);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Result verify006(String token, String channelName, String uid) throws GeneralSecurityException {
+        if (token.length() <= V006_HEADER_LENGTH) {
+            return new Result(Status.MALFORMED);
+        }
+        if (!token.regionMatches(Utils.VERSION_LENGTH, appId, 0, Utils.APP_ID_LENGTH)) {
+            return new Result(Status.APP_ID_MISMATCH);
+        }
+        Scratch scratch = SCRATCH.get();
+        byte[] content = scratch.base64Decode(token, V006_HEADER_LENGTH);
+
+        // PackContent: signature | crcChannelName | crcUid | rawMessage
+        Reader in = new Reader(content);
+        int signatureOffset = in.skipBytes(SIGNATURE_LENGTH);
+        int crcChannelName = in.readInt();
+        int crcUid = in.readInt();
+        int messageLength = in.readShort();
+        int messageOffset = in.position;
+
+        // PrivilegeMessage: salt | ts | privileges
+        Result result = new Result(Status.VALID);
+        result.version = AccessToken.getVersion();
+        result.appId = appId;
+        result.salt = in.readInt();
+        result.expireTimestamp = in.readInt();
+        result.serviceType = AccessToken2.SERVICE_TYPE_RTC;
+        readPrivileges(in, result, 0);
+        if (in.position != messageOffset + messageLength) {
+            return new Result(Status.MALFORMED);
+        }
+
+        if (channelName == null || uid == null) {
+            return new Result(Status.CHANNEL_REQUIRED);
+        }
+        byte[] channelBytes = channelName.getBytes();
+        byte[] uidBytes = uid.getBytes();
+        if (scratch.crc32(channelBytes) != crcChannelName || scratch.crc32(uidBytes) != crcUid) {
+            return new Result(Status.CHANNEL_MISMATCH);
+        }
+        result.channelName = channelName;
+        result.uid = uid;
+
+        Mac mac = HmacSigner.getMac(HmacSigner.HMAC_SHA256, appCertificateBytes);
+        mac.update(appIdBytes);
+        mac.update(channelBytes);
+        mac.update(uidBytes);
+        mac.update(content, messageOffset, messageLength);
+        if (!scratch.signatureMatches(mac, content, signatureOffset)) {
+            return new Result(Status.INVALID_SIGNATURE);
+        }
+        return checkExpiry(result);
+    }
+
+    private Result verify007(String token, String channelName, String uid) throws GeneralSecurityException {
+        byte[] content = AccessToken2.inflate(token);
+
+        Reader in = new Reader(content);
+        int signatureOffset = in.skipBytes(SIGNATURE_LENGTH);
+        int infoOffset = in.position;
+        int appIdLength = in.readShort();
+        if (appIdLength != appIdBytes.length || !regionEquals(content, in.position, appIdBytes)) {
+            return new Result(Status.APP_ID_MISMATCH);
+        }
+        in.position += appIdLength;
+
+        Result result = new Result(Status.VALID);
+        result.version = AccessToken2.getVersion();
+        result.appId = appId;
+        result.issueTs = in.readInt();
+        int expire = in.readInt();
+        result.expireTimestamp = result.issueTs + expire;
+        result.salt = in.readInt();
+        int services = in.readShort();
+        for (int i = 0; i < services; i++) {
+            short type = (short) in.readShort();
+            boolean primary = result.serviceType == 0 || type == AccessToken2.SERVICE_TYPE_RTC;
+            if (primary) {
+                result.serviceType = type;
+                readPrivileges(in, result, result.issueTs);
+            } else {
+                skipPrivileges(in);
+            }
+            switch (type) {
+                case AccessToken2.SERVICE_TYPE_RTC:
+                    result.channelName = in.readString();
+                    result.uid = in.readString();
+                    break;
+                case AccessToken2.SERVICE_TYPE_RTM:
+                case AccessToken2.SERVICE_TYPE_CHAT:
+                    String userId = in.readString();
+                    if (primary) {
+                        result.uid = userId;
+                    }
+                    break;
+                case AccessToken2.SERVICE_TYPE_FPA:
+                    break;
+                default:
+                    return new Result(Status.MALFORMED);
+            }
+        }
+        if (in.position != content.length) {
+            return new Result(Status.MALFORMED);
+        }
+
+        if (channelName != null && !channelName.equals(result.channelName)
+                || uid != null && !uid.equals(result.uid)) {
+            return new Result(Status.CHANNEL_MISMATCH);
+        }
+
+        Mac mac = AccessToken2.signer(appCertificate, result.issueTs, result.salt);
+        mac.update(content, infoOffset, content.length - infoOffset);
+        if (!SCRATCH.get().signatureMatches(mac, content, signatureOffset)) {
+            return new Result(Status.INVALID_SIGNATURE);
+        }
+        return checkExpiry(result);
+    }
+
+    private Result checkExpiry(Result result) {
+        if (Integer.toUnsignedLong(result.expireTimestamp) < currentSeconds()) {
+            result.status = Status.EXPIRED;
+        }
+        return result;
+    }
+
+    protected long currentSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    /**
+     * Reads a privilege map; values relative to a non-zero base are converted to absolute timestamps.
+     */
+    private static void readPrivileges(Reader in, Result result, int base) {
+        int count = in.readShort();
+        result.privileges = new PrivilegeMap(count);
+        for (int i = 0; i < count; i++) {
+            short privilege = (short) in.readShort();
+            int expire = in.readInt();
+            result.privileges.put(privilege, base == 0 || expire == 0 ? expire : base + expire);
+        }
+    }
+
+    private static void skipPrivileges(Reader in) {
+        in.position += in.readShort() * (2 + 4);
+    }
+
+    private static boolean regionEquals(byte[] content, int offset, byte[] expected) {
+        if (offset + expected.length > content.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (content[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Outcome of a verification. Token fields are filled once the token could be decoded, even if it
+     * was later rejected for its signature or expiry.
+     */
+    public static final class Result {
+        private Status status;
+        private String version;
+        private String appId;
+        private short serviceType;
+        private String channelName;
+        private String uid;
+        private int issueTs;
+        private int expireTimestamp;
+        private int salt;
+        private PrivilegeMap privileges = new PrivilegeMap(1);
+
+        Result(Status status) {
+            this.status = status;
+        }
+
+        public boolean isValid() {
+            return status == Status.VALID;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getAppId() {
+            return appId;
+        }
+
+        /**
+         * @return the service the privileges and uid were read from: RTC when present, else the first service.
+         */
+        public short getServiceType() {
+            return serviceType;
+        }
+
+        public String getChannelName() {
+            return channelName;
+        }
+
+        public String getUid() {
+            return uid;
+        }
+
+        /**
+         * @return issue time of a 007 token in seconds since the epoch; 0 for 006 tokens.
+         */
+        public int getIssueTs() {
+            return issueTs;
+        }
+
+        public int getExpireTimestamp() {
+            return expireTimestamp;
+        }
+
+        public int getSalt() {
+            return salt;
+        }
+
+        public int getPrivilegeCount() {
+            return privileges.size();
+        }
+
+        public short getPrivilege(int index) {
+            return privileges.keyAt(index);
+        }
+
+        /**
+         * @return privileges mapped to their absolute expiry in seconds since the epoch.
+         */
+        public PrivilegeMap getPrivileges() {
+            return privileges;
+        }
+
+        /**
+         * @return absolute expiry of the privilege in seconds since the epoch, or 0 if it is not granted.
+         */
+        public int getPrivilegeExpireTimestamp(short privilege) {
+            return privileges.get(privilege);
+        }
+
+        @Override
+        public String toString() {
+            return "Result{status=" + status + ", version=" + version + ", serviceType=" + serviceType
+                    + ", channelName=" + channelName + ", uid=" + uid + ", expireTimestamp=" + expireTimestamp
+                    + ", privileges=" + privileges + '}';
+        }
+    }
+
+    /**
+     * Little-endian cursor over decoded token bytes.
+     */
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int readShort() {
+            int v = (data[position] & 0xFF) | (data[position + 1] & 0xFF) << 8;
+            position += 2;
+            return v;
+        }
+
+        int readInt() {
+            int v = (data[position] & 0xFF) | (data[position + 1] & 0xFF) << 8
+                    | (data[position + 2] & 0xFF) << 16 | (data[position + 3] & 0xFF) << 24;
+            position += 4;
+            return v;
+        }
+
+        /**
+         * Skips a length-prefixed field that must have the given length and returns its offset.
+         */
+        int skipBytes(int expectedLength) {
+            if (readShort() != expectedLength || position + expectedLength > data.length) {
+                throw new IllegalArgumentException("Unexpected field length");
+            }
+            int offset = position;
+            position += expectedLength;
+            return offset;
+        }
+
+        String readString() {
+            int length = readShort();
+            if (position + length > data.length) {
+                throw new IllegalArgumentException("Unexpected field length");
+            }
+            String v = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return v;
+        }
+    }
+
+    /**
+     * Per-thread buffers for Base64 input, the recomputed signature and CRC32.
+     */
+    private static final class Scratch {
+        private final CRC32 crc32 = new CRC32();
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private byte[] ascii = new byte[256];
+
+        byte[] base64Decode(String token, int from) {
+            int length = token.length() - from;
+            if (ascii.length < length) {
+                ascii = new byte[Math.max(length, ascii.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = token.charAt(from + i);
+                // a (byte) cast would fold e.g. U+0141 onto 'A' and let a tampered token decode
+                if (c > 0x7F) {
+                    throw new IllegalArgumentException("Non-ASCII character in token");
+                }
+                ascii[i] = (byte) c;
+            }
+            ByteBuffer decoded = Base64.getDecoder().decode(ByteBuffer.wrap(ascii, 0, length));
+            return decoded.array().length == decoded.limit() ? decoded.array() : Arrays.copyOf(decoded.array(), decoded.limit());
+        }
+
+        int crc32(byte[] bytes) {
+            crc32.reset();
+            crc32.update(bytes);
+            return (int) crc32.getValue();
+        }
+
+        /**
+         * Finishes the Mac into the scratch buffer and compares it with the token signature in constant time.
+         */
+        boolean signatureMatches(Mac mac, byte[] content, int offset) throws ShortBufferException {
+            mac.doFinal(signature, 0);
+            int diff = 0;
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                diff |= signature[i] ^ content[offset + i];
+            }
+            return diff == 0;
+        }
+    }
+}
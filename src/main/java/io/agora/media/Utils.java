@@ -2,11 +2,8 @@ package io.agora.media;
 
 import org.apache.commons.codec.binary.Base64;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.Date;
 import java.util.zip.CRC32;
 
@@ -16,16 +13,17 @@ public class Utils {
     public static final int APP_ID_LENGTH = 32;
 
     public static byte[] hmacSign(String keyString, byte[] msg) throws InvalidKeyException, NoSuchAlgorithmException {
-        SecretKeySpec keySpec = new SecretKeySpec(keyString.getBytes(), "HmacSHA256");
-        Mac mac = Mac.getInstance("HmacSHA256");
-        mac.init(keySpec);
-        return mac.doFinal(msg);
+        return HmacSigner.sign(HmacSigner.HMAC_SHA256, keyString.getBytes(), msg);
     }
 
     public static byte[] pack(PackableEx packableEx) {
-        ByteBuf buffer = new ByteBuf();
-        packableEx.marshal(buffer);
-        return buffer.asBytes();
+        ByteBuf buffer = ByteBuf.acquire();
+        try {
+            packableEx.marshal(buffer);
+            return buffer.copyBytes();
+        } finally {
+            buffer.release();
+        }
     }
 
     public static void unpack(byte[] data, PackableEx packableEx) {
@@ -59,7 +57,7 @@ public class Utils {
     }
 
     public static int randomInt() {
-        return new SecureRandom().nextInt();
+        return SaltGenerator.secureRandom().nextSalt();
     }
 
     public static boolean isUUID(String uuid) {
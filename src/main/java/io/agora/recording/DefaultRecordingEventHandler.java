@@ -4,14 +4,19 @@ import io.agora.recording.common.Common;
 import io.agora.recording.common.Common.*;
 import io.agora.recording.common.RecordingConfig;
 import io.agora.recording.common.RecordingResult;
+import io.agora.recording.output.FrameStream;
+import io.agora.recording.output.RecordingFrameWriter;
+import io.agora.recording.output.StreamTarget;
+import io.agora.recording.processor.FrameDispatcher;
+import io.agora.recording.processor.FrameFormat;
+import io.agora.recording.processor.MediaType;
+import io.agora.recording.processor.RecordingFrame;
 import io.agora.spring.boot.AgoraProperties;
 import io.agora.spring.boot.AgoraRecordingProperties;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
 
 class RecordingCleanTimer extends TimerTask {
@@ -27,12 +32,25 @@ class RecordingCleanTimer extends TimerTask {
 	}
 }
 
+/**
+ * 单路音频或视频流的状态，读写均在该对象的锁内进行，不同用户、音频与视频之间互不阻塞
+ */
 @Data
 class UserInfo {
 	public long uid;
-	public long last_receive_time;
-	public FileOutputStream channel;
-	public String fileName;
+	public volatile long last_receive_time;
+	public long last_keep_time;
+	public FrameStream channel;
+	public StreamTarget target;
+	public boolean closed;
+}
+
+/**
+ * 单路音频或视频流最近一次分发给帧处理器的时间，与是否写文件无关
+ */
+class DispatchInfo {
+	public long uid;
+	public volatile long last_dispatch_time;
 }
 
 @Data
@@ -52,6 +70,10 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 
 	private AgoraProperties agoraProperties;
 	private AgoraRecordingProperties recordingProperties;
+	private final RecordingFrameWriter frameWriter;
+	private final boolean ownsFrameWriter;
+	private final boolean writeFiles;
+	private final FrameDispatcher frameDispatcher;
 
 	private int width = 0;
 	private int height = 0;
@@ -69,8 +91,10 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 	private HashSet<Long> subscribedVideoUids = new HashSet<Long>();
 	private HashSet<String> subscribedVideoUserAccount = new HashSet<String>();
 
-	HashMap<String, UserInfo> audioChannels = new HashMap<String, UserInfo>();
-	HashMap<String, UserInfo> videoChannels = new HashMap<String, UserInfo>();
+	final StripedLongMap<UserInfo> audioChannels = new StripedLongMap<UserInfo>();
+	final StripedLongMap<UserInfo> videoChannels = new StripedLongMap<UserInfo>();
+	final StripedLongMap<DispatchInfo> audioDispatches = new StripedLongMap<DispatchInfo>();
+	final StripedLongMap<DispatchInfo> videoDispatches = new StripedLongMap<DispatchInfo>();
 	Timer cleanTimer = null;
 	private int layoutMode = 0;
 	private long maxResolutionUid = -1;
@@ -81,8 +105,6 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 	public static final int VERTICALPRESENTATION_LAYOUT = 2;
 	private String userAccount = "";
 	private long keepMediaTime = 0;
-	private long lastKeepAudioTime = 0;
-	private long lastKeepVideoTime = 0;
 	private long firstReceiveAudioTime = 0;
 	private long firstReceiveAudioElapsed = 0;
 	private long firstReceiveVideoTime = 0;
@@ -97,12 +119,31 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 
 	public DefaultRecordingEventHandler(String channelId, long anchorUid, long recordingUid, AgoraProperties agoraProperties,
 			AgoraRecordingProperties recordingProperties, RecordingSDK recording) {
+		this(channelId, anchorUid, recordingUid, agoraProperties, recordingProperties, recording, null);
+	}
+
+	public DefaultRecordingEventHandler(String channelId, long anchorUid, long recordingUid, AgoraProperties agoraProperties,
+			AgoraRecordingProperties recordingProperties, RecordingSDK recording, RecordingFrameWriter frameWriter) {
+		this(channelId, anchorUid, recordingUid, agoraProperties, recordingProperties, recording, frameWriter, null);
+	}
+
+	/**
+	 * @param frameWriter 共享的帧写入器，为 null 时创建本频道专用的写入器并在 leaveChannel 时关闭
+	 * @param frameDispatcher 共享的帧分发器，为 null 时帧只写入文件
+	 */
+	public DefaultRecordingEventHandler(String channelId, long anchorUid, long recordingUid, AgoraProperties agoraProperties,
+			AgoraRecordingProperties recordingProperties, RecordingSDK recording, RecordingFrameWriter frameWriter,
+			FrameDispatcher frameDispatcher) {
 		this.channelId = channelId;
 		this.anchorUid = anchorUid;
 		this.recordingUid = recordingUid;
 		this.agoraProperties = agoraProperties;
 		this.recordingProperties = recordingProperties;
 		this.recordingSDKInstance = recording;
+		this.ownsFrameWriter = frameWriter == null;
+		this.frameWriter = ownsFrameWriter ? new RecordingFrameWriter(recordingProperties.getWriter(), recordingProperties.getRotation()) : frameWriter;
+		this.writeFiles = recordingProperties.getWriter().isEnabled();
+		this.frameDispatcher = frameDispatcher;
 		recordingSDKInstance.registerOberserver(this);
 	}
 
@@ -259,36 +300,11 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 	}
 
 	protected void clean() {
-		synchronized (this) {
-			long now = System.currentTimeMillis();
-
-			Iterator<Map.Entry<String, UserInfo>> audio_it = audioChannels.entrySet().iterator();
-			while (audio_it.hasNext()) {
-				Map.Entry<String, UserInfo> entry = audio_it.next();
-				UserInfo info = entry.getValue();
-				if (now - info.last_receive_time > 3000) {
-					try {
-						info.channel.close();
-					} catch (IOException e) {
-						e.printStackTrace();
-					}
-					audio_it.remove();
-				}
-			}
-			Iterator<Map.Entry<String, UserInfo>> video_it = videoChannels.entrySet().iterator();
-			while (video_it.hasNext()) {
-				Map.Entry<String, UserInfo> entry = video_it.next();
-				UserInfo info = entry.getValue();
-				if (now - info.last_receive_time > 3000) {
-					try {
-						info.channel.close();
-					} catch (IOException e) {
-						e.printStackTrace();
-					}
-					video_it.remove();
-				}
-			}
-		}
+		long now = System.currentTimeMillis();
+		audioChannels.removeIf(info -> now - info.last_receive_time > 3000 && closeStream(info));
+		videoChannels.removeIf(info -> now - info.last_receive_time > 3000 && closeStream(info));
+		audioDispatches.removeIf(info -> now - info.last_dispatch_time > 3000 && dispatchClosed(info, MediaType.AUDIO));
+		videoDispatches.removeIf(info -> now - info.last_dispatch_time > 3000 && dispatchClosed(info, MediaType.VIDEO));
 		cleanTimer.schedule(new RecordingCleanTimer(this), 10000);
 	}
 
@@ -368,52 +384,46 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 		 log.info("OnRemoteAudioStreamState changed, state " + state + ", reason :" + reason);
 	}
 
-	private void checkUser(long uid, boolean isAudio, int frameType) {
-		String path = storageDir + Long.toString(uid);
-		String key = Long.toString(uid);
-		synchronized (this) {
-			if (isAudio && !audioChannels.containsKey(key)) {
-				if (frameType == 0 || frameType == 1) {
-					String audioPath = "";
-					if (frameType == 0) {
-						audioPath = path + ".pcm";
-					} else if (frameType == 1) {
-						audioPath = path + ".aac";
-					}
-					try {
-						UserInfo info = new UserInfo();
-						info.fileName = audioPath;
-						info.channel = new FileOutputStream(audioPath, true);
-						info.last_receive_time = System.currentTimeMillis();
-						audioChannels.put(key, info);
-					} catch (FileNotFoundException e) {
-						log.info("Can't find file : " + audioPath);
-					}
-				}
+	/**
+	 * 获取或创建用户的音频/视频流，只锁定该 uid 所在的分段
+	 * @return 用户流状态，帧类型不写文件时返回 null
+	 */
+	private UserInfo checkUser(long uid, boolean isAudio, int frameType) {
+		StripedLongMap<UserInfo> channels = isAudio ? audioChannels : videoChannels;
+		UserInfo info = channels.get(uid);
+		if (info != null) {
+			return info;
+		}
+		String extension = null;
+		if (isAudio) {
+			if (frameType == 0) {
+				extension = ".pcm";
+			} else if (frameType == 1) {
+				extension = ".aac";
 			}
-
-			if (!isAudio && !videoChannels.containsKey(key)) {
-				if (frameType == 0 || frameType == 1 || frameType == 3) {
-					String videoPath = "";
-					if (frameType == 0) {
-						videoPath = path + ".yuv";
-					} else if (frameType == 1) {
-						videoPath = path + ".h264";
-					} else if (frameType == 3) {
-						videoPath = path + ".h265";
-					}
-					try {
-						UserInfo info = new UserInfo();
-						info.fileName = videoPath;
-						info.channel = new FileOutputStream(videoPath, true);
-						info.last_receive_time = System.currentTimeMillis();
-						videoChannels.put(key, info);
-					} catch (FileNotFoundException e) {
-						log.info("Can't find file : " + videoPath);
-					}
-				}
+		} else {
+			if (frameType == 0) {
+				extension = ".yuv";
+			} else if (frameType == 1) {
+				extension = ".h264";
+			} else if (frameType == 3) {
+				extension = ".h265";
 			}
 		}
+		if (extension == null) {
+			return null;
+		}
+		StreamTarget target = new StreamTarget(storageDir, channelId, uid, isAudio ? StreamTarget.AUDIO : StreamTarget.VIDEO,
+				extension, frameType == 0);
+		return channels.computeIfAbsent(uid, key -> {
+			UserInfo created = new UserInfo();
+			created.uid = key;
+			created.target = target;
+			created.channel = openStream(created, true);
+			created.last_receive_time = System.currentTimeMillis();
+			created.last_keep_time = created.last_receive_time;
+			return created;
+		});
 	}
 
 	/**
@@ -522,17 +532,26 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 		log.info("java demo audioFrameReceived,uid:"+uid+",type:"+ frame.type);
 		byte[] buf = null;
 		long size = 0;
-		checkUser(uid, true, frame.type.ordinal());
+		UserInfo info = writeFiles ? checkUser(uid, true, frame.type.ordinal()) : null;
 		if (frame.type == AUDIO_FRAME_TYPE.AUDIO_FRAME_RAW_PCM) {// pcm
 			buf = frame.pcm.pcmBuf;
 			size = frame.pcm.pcmBufSize;
+			if (isDispatching(buf)) {
+				dispatch(newFrame(uid, FrameFormat.PCM, buf, size, frame.pcm.frame_ms)
+						.sampleRate((int) frame.pcm.sample_rates).channels((int) frame.pcm.channels));
+			}
 		} else if (frame.type == AUDIO_FRAME_TYPE.AUDIO_FRAME_AAC) {// aac
 			buf = frame.aac.aacBuf;
 			size = frame.aac.aacBufSize;
+			if (isDispatching(buf)) {
+				dispatch(newFrame(uid, FrameFormat.AAC, buf, size, frame.aac.frame_ms).channels(frame.aac.channels));
+			}
 		} else {
 			return;
 		}
-		WriteBytesToFileClassic(uid, buf, size, true);
+		if (writeFiles) {
+			WriteBytesToFileClassic(info, buf, size);
+		}
 	}
 
 	/**
@@ -555,7 +574,7 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 	{
 		byte[] buf = null;
 		long size = 0;
-		checkUser(uid, false, type);
+		UserInfo info = writeFiles ? checkUser(uid, false, type) : null;
 		// log.info("java demovideoFrameReceived,uid:"+uid+",type:"+type);
 
 		if (type == 0) {// yuv
@@ -563,26 +582,34 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 			size = frame.yuv.bufSize;
 			if (buf == null) {
 				log.info("java demo videoFrameReceived null");
+			} else if (isDispatching(buf)) {
+				dispatch(newFrame(uid, FrameFormat.YUV, buf, size, frame.yuv.frame_ms)
+						.width(frame.yuv.width).height(frame.yuv.height).rotation(rotation));
 			}
 		} else if (type == 1) {// h264
 			buf = frame.h264.buf;
 			size = frame.h264.bufSize;
+			if (isDispatching(buf)) {
+				dispatch(newFrame(uid, FrameFormat.H264, buf, size, frame.h264.frame_ms).rotation(rotation));
+			}
 		} else if (type == 2) {// jpg
-			String path = storageDir + Long.toString(uid) + "_" + System.currentTimeMillis() + ".jpg";
 			buf = frame.jpg.buf;
 			size = frame.jpg.bufSize;
-			try {
-				FileOutputStream channel = new FileOutputStream(path, true);
-				channel.write(buf, 0, (int) size);
-				channel.close();
-			} catch (Exception e) {
-				log.info("Error write to " + path);
+			if (isDispatching(buf)) {
+				dispatch(newFrame(uid, FrameFormat.JPG, buf, size, frame.jpg.frame_ms).rotation(rotation));
+			}
+			if (writeFiles) {
+				String path = storageDir + Long.toString(uid) + "_" + System.currentTimeMillis() + ".jpg";
+				frameWriter.writeFile(Paths.get(path), buf, (int) size);
+				log.info("java demovideoFrameReceived,uid:" + uid + ",type:" + type + ",path:" + path);
 			}
-			log.info("java demovideoFrameReceived,uid:" + uid + ",type:" + type + ",path:" + path);
 			return;
 		} else if (type == 3) { // h265
 			buf = frame.h265.buf;
 			size = frame.h265.bufSize;
+			if (isDispatching(buf)) {
+				dispatch(newFrame(uid, FrameFormat.H265, buf, size, frame.h265.frame_ms).rotation(rotation));
+			}
 		} else if (type == 4) { // jpg
 			log.info("java demovideoFrameReceived,uid:" + uid + ",type:" + type + ",jpg_file:"
 					+ frame.jpg_file.file_name);
@@ -590,7 +617,52 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 		} else {
 			return;
 		}
-		WriteBytesToFileClassic(uid, buf, size, false);
+		if (writeFiles) {
+			WriteBytesToFileClassic(info, buf, size);
+		}
+	}
+
+	private boolean isDispatching(byte[] buf) {
+		return buf != null && frameDispatcher != null && frameDispatcher.hasProcessors();
+	}
+
+	/**
+	 * SDK 会复用帧缓冲区，分发前复制一份交给处理器
+	 */
+	private RecordingFrame.RecordingFrameBuilder newFrame(long uid, FrameFormat format, byte[] buf, long size, long frameMs) {
+		return RecordingFrame.builder()
+				.channelId(channelId)
+				.uid(uid)
+				.format(format)
+				.data(Arrays.copyOf(buf, (int) size))
+				.frameMs(frameMs)
+				.receivedAt(System.currentTimeMillis());
+	}
+
+	/**
+	 * 分发的同时记录该路流的最近分发时间，clean 据此通知处理器流已结束
+	 */
+	private void dispatch(RecordingFrame.RecordingFrameBuilder builder) {
+		RecordingFrame frame = builder.build();
+		StripedLongMap<DispatchInfo> dispatches = frame.isAudio() ? audioDispatches : videoDispatches;
+		DispatchInfo info = dispatches.get(frame.getUid());
+		if (info == null) {
+			info = dispatches.computeIfAbsent(frame.getUid(), key -> {
+				DispatchInfo created = new DispatchInfo();
+				created.uid = key;
+				return created;
+			});
+		}
+		info.last_dispatch_time = frame.getReceivedAt();
+		frameDispatcher.dispatch(frame);
+	}
+
+	/**
+	 * @return 始终为 true，便于在 removeIf 中使用
+	 */
+	private boolean dispatchClosed(DispatchInfo info, MediaType mediaType) {
+		frameDispatcher.streamClosed(channelId, info.uid, mediaType);
+		return true;
 	}
 
 	/**
@@ -999,40 +1071,35 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 	}
 
 
-	private void WriteBytesToFileClassic(long uid, byte[] byteBuffer, long size, boolean isAudio) {
+	private void WriteBytesToFileClassic(UserInfo info, byte[] byteBuffer, long size) {
 		if (byteBuffer == null) {
 			log.info("WriteBytesToFileClassic but byte buffer is null!");
 			return;
 		}
-		synchronized (this) {
-			try {
-				UserInfo info = isAudio ? audioChannels.get(Long.toString(uid)) : videoChannels.get(Long.toString(uid));
-				if (info != null) {
-					long curTs = System.currentTimeMillis();
-					if (isAudio) {
-						if (keepMediaTime > 0 && (curTs - lastKeepAudioTime) / 1000 >= keepMediaTime) {
-							// System.out.printf("rewrite audio file:%s\n", info.fileName);
-							info.channel.close();
-							info.channel = new FileOutputStream(info.fileName, false);
-							lastKeepAudioTime = curTs;
-						}
-					} else {
-						if (keepMediaTime > 0 && (curTs - lastKeepVideoTime) / 1000 >= keepMediaTime) {
-							// System.out.printf("rewrite video file:%s\n", info.fileName);
-							info.channel.close();
-							info.channel = new FileOutputStream(info.fileName, false);
-							lastKeepVideoTime = curTs;
-						}
-					}
-					info.channel.write(byteBuffer, 0, (int) size);
-					info.channel.flush();
-					info.last_receive_time = System.currentTimeMillis();
-				} else {
-					log.info("Channel is null");
-				}
-			} catch (IOException e) {
-				e.printStackTrace();
+		if (info == null) {
+			log.info("Channel is null");
+			return;
+		}
+		// 只锁定当前这一路流，且锁内只做入队，磁盘写入由 frameWriter 的写入线程完成
+		synchronized (info) {
+			if (info.closed) {
+				return;
+			}
+			long curTs = System.currentTimeMillis();
+			if (info.channel.isClosed()) {
+				// 写入失败后写入线程已关闭该流，以追加方式重新打开，避免后续帧被静默丢弃
+				log.warn("Recording stream {} was closed by the writer, reopening it", info.channel.getName());
+				info.channel = openStream(info, true);
 			}
+			if (keepMediaTime > 0 && (curTs - info.last_keep_time) / 1000 >= keepMediaTime) {
+				// System.out.printf("rewrite file:%s\n", info.target);
+				// 旧流异步写完剩余帧后，frameWriter 才会截断并写入新流，两者不会交错
+				info.channel.close();
+				info.channel = openStream(info, false);
+				info.last_keep_time = curTs;
+			}
+			info.channel.offer(byteBuffer, (int) size);
+			info.last_receive_time = curTs;
 		}
 	}
 
@@ -1144,6 +1211,7 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 
 	public RecordingResult leaveChannel() {
 		boolean leaveState = recordingSDKInstance.leaveChannel();
+		closeStreams();
 		return RecordingResult.builder()
 				.channelId(this.channelId)
 				.leaveState(leaveState)
@@ -1159,4 +1227,43 @@ public class DefaultRecordingEventHandler implements RecordingEventHandler {
 				.build();
 	}
 
+	/**
+	 * 文件名与滚动由 agora.recording.rotation 决定，PCM 与 YUV 等原始帧按 rawOutputMode 写入
+	 */
+	private FrameStream openStream(UserInfo info, boolean append) {
+		return frameWriter.openStream(info.target, append);
+	}
+
+	/**
+	 * @return 本频道使用的帧写入器，可通过 addSegmentListener 接收分段关闭通知
+	 */
+	public RecordingFrameWriter getFrameWriter() {
+		return frameWriter;
+	}
+
+	/**
+	 * 在流的锁内关闭，此后到达该流的帧被忽略，下一帧由 checkUser 重新创建流
+	 * @return 始终为 true，便于在 removeIf 中使用
+	 */
+	private boolean closeStream(UserInfo info) {
+		synchronized (info) {
+			info.closed = true;
+			info.channel.close();
+		}
+		return true;
+	}
+
+	private void closeStreams() {
+		audioChannels.removeIf(this::closeStream);
+		videoChannels.removeIf(this::closeStream);
+		if (frameDispatcher != null) {
+			audioDispatches.removeIf(info -> true);
+			videoDispatches.removeIf(info -> true);
+			frameDispatcher.channelClosed(channelId);
+		}
+		if (ownsFrameWriter) {
+			frameWriter.shutdown();
+		}
+	}
+
 }
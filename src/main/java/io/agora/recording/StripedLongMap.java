@@ -0,0 +1,133 @@
+package io.agora.recording;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * 以 uid 为键的并发映射：按键分段加锁，不同分段的读写互不阻塞；键以 long 保存，逐帧查找不装箱也不创建字符串。
+ * 每个分段只保存少量用户（频道内最多 17 路流），分段内顺序查找
+ */
+final class StripedLongMap<V> {
+
+	private static final int STRIPES = 16;
+
+	private final Stripe<V>[] stripes;
+
+	@SuppressWarnings("unchecked")
+	StripedLongMap() {
+		stripes = new Stripe[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new Stripe<>();
+		}
+	}
+
+	V get(long key) {
+		return stripe(key).get(key);
+	}
+
+	/**
+	 * 键不存在时在分段锁内创建值；mapping 返回 null 时不保存
+	 */
+	V computeIfAbsent(long key, LongFunction<? extends V> mapping) {
+		return stripe(key).computeIfAbsent(key, mapping);
+	}
+
+	V remove(long key) {
+		return stripe(key).remove(key);
+	}
+
+	/**
+	 * 逐个分段删除满足条件的值，filter 在分段锁内执行
+	 */
+	void removeIf(Predicate<? super V> filter) {
+		for (Stripe<V> stripe : stripes) {
+			stripe.removeIf(filter);
+		}
+	}
+
+	int size() {
+		int size = 0;
+		for (Stripe<V> stripe : stripes) {
+			size += stripe.size();
+		}
+		return size;
+	}
+
+	private Stripe<V> stripe(long key) {
+		int hash = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+		return stripes[hash >>> 28];
+	}
+
+	@SuppressWarnings("unchecked")
+	private static final class Stripe<V> {
+
+		private long[] keys = new long[4];
+		private Object[] values = new Object[4];
+		private int size;
+
+		synchronized V get(long key) {
+			int index = indexOf(key);
+			return index < 0 ? null : (V) values[index];
+		}
+
+		synchronized V computeIfAbsent(long key, LongFunction<? extends V> mapping) {
+			int index = indexOf(key);
+			if (index >= 0) {
+				return (V) values[index];
+			}
+			V value = mapping.apply(key);
+			if (value != null) {
+				if (size == keys.length) {
+					keys = Arrays.copyOf(keys, size * 2);
+					values = Arrays.copyOf(values, size * 2);
+				}
+				keys[size] = key;
+				values[size] = value;
+				size++;
+			}
+			return value;
+		}
+
+		synchronized V remove(long key) {
+			int index = indexOf(key);
+			if (index < 0) {
+				return null;
+			}
+			V value = (V) values[index];
+			removeAt(index);
+			return value;
+		}
+
+		synchronized void removeIf(Predicate<? super V> filter) {
+			for (int i = size - 1; i >= 0; i--) {
+				if (filter.test((V) values[i])) {
+					removeAt(i);
+				}
+			}
+		}
+
+		synchronized int size() {
+			return size;
+		}
+
+		private int indexOf(long key) {
+			for (int i = 0; i < size; i++) {
+				if (keys[i] == key) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		// 以最后一个元素填补空位，顺序无关
+		private void removeAt(int index) {
+			size--;
+			keys[index] = keys[size];
+			values[index] = values[size];
+			values[size] = null;
+		}
+
+	}
+
+}
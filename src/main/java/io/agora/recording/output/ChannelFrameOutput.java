@@ -0,0 +1,73 @@
+package io.agora.recording.output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 基于 FileChannel 的缓冲输出：小帧先合并到直接内存缓冲区，缓冲区满或 flush 时一次写入；
+ * 不小于缓冲区的大帧（如 YUV）直接写入，不再复制；bufferSize 为 0 时不分配缓冲区，每帧直接写入
+ */
+public class ChannelFrameOutput implements FrameOutput {
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private long size;
+
+	public ChannelFrameOutput(Path file, boolean append, int bufferSize) throws IOException {
+		this.channel = append
+				? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+				: FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		this.buffer = bufferSize > 0 ? ByteBuffer.allocateDirect(bufferSize) : null;
+	}
+
+	@Override
+	public void write(byte[] src, int offset, int length) throws IOException {
+		if (buffer == null) {
+			writeFully(ByteBuffer.wrap(src, offset, length));
+			size += length;
+			return;
+		}
+		if (length > buffer.remaining()) {
+			flush();
+		}
+		if (length >= buffer.capacity()) {
+			writeFully(ByteBuffer.wrap(src, offset, length));
+		} else {
+			buffer.put(src, offset, length);
+		}
+		size += length;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (buffer != null && buffer.position() > 0) {
+			buffer.flip();
+			writeFully(buffer);
+			buffer.clear();
+		}
+	}
+
+	private void writeFully(ByteBuffer src) throws IOException {
+		while (src.hasRemaining()) {
+			channel.write(src);
+		}
+	}
+
+	@Override
+	public long size() {
+		return size;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+
+}
@@ -0,0 +1,31 @@
+package io.agora.recording.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 录制帧的落盘目标，只在写入线程中使用，无需线程安全
+ */
+public interface FrameOutput extends Closeable {
+
+	/**
+	 * 写入一帧数据，实现可以先缓冲，在 {@link #flush()} 时再提交到文件
+	 * @param src 帧数据
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @throws IOException 写入失败
+	 */
+	void write(byte[] src, int offset, int length) throws IOException;
+
+	/**
+	 * 将缓冲的数据提交到文件（交给操作系统，不强制刷盘）
+	 * @throws IOException 写入失败
+	 */
+	void flush() throws IOException;
+
+	/**
+	 * @return 已写入的字节数
+	 */
+	long size();
+
+}
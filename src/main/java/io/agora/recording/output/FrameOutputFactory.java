@@ -0,0 +1,13 @@
+package io.agora.recording.output;
+
+import java.io.IOException;
+
+/**
+ * 延迟创建 {@link FrameOutput}：文件在写入线程上打开，不占用 SDK 回调线程
+ */
+@FunctionalInterface
+public interface FrameOutputFactory {
+
+	FrameOutput open() throws IOException;
+
+}
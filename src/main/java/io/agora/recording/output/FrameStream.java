@@ -0,0 +1,255 @@
+package io.agora.recording.output;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 单路音频或视频流的写入队列：SDK 回调线程只负责入队，写入线程池中同一时刻最多一个线程排空该队列，
+ * 因此帧顺序不变且 {@link FrameOutput} 无需加锁。队列同时按帧数与字节数限制。
+ * 同名的前一路流尚未写完并关闭文件时，本流不会打开输出，帧先在队列中等待，避免两路流交错写入同一文件
+ */
+@Slf4j
+public class FrameStream {
+
+	private final RecordingFrameWriter writer;
+	private final String name;
+	private final FrameOutputFactory outputFactory;
+	private final BlockingQueue<byte[]> frames;
+	private final int maxQueuedBytes;
+	private final Semaphore queuedBytes;
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	private final CompletableFuture<Void> termination = new CompletableFuture<>();
+
+	private volatile boolean closed;
+	private volatile boolean flushRequested;
+	private volatile boolean dirty;
+
+	// 以下字段只在写入线程中访问
+	private FrameStream predecessor;
+	private FrameOutput output;
+	private boolean terminated;
+	private long lastFlushNanos = System.nanoTime();
+
+	FrameStream(RecordingFrameWriter writer, String name, FrameOutputFactory outputFactory, int queueCapacity, int maxQueuedBytes,
+			FrameStream predecessor) {
+		this.writer = writer;
+		this.name = name;
+		this.outputFactory = outputFactory;
+		this.frames = new ArrayBlockingQueue<>(queueCapacity);
+		this.maxQueuedBytes = Math.max(1, maxQueuedBytes);
+		this.queuedBytes = new Semaphore(this.maxQueuedBytes);
+		if (predecessor != null && !predecessor.termination.isDone()) {
+			this.predecessor = predecessor;
+			predecessor.termination.whenComplete((result, ex) -> schedule());
+		}
+	}
+
+	/**
+	 * 复制帧数据并入队，队列已满时按 {@link OverflowPolicy} 处理
+	 * @param buf 帧数据，调用返回后可被 SDK 复用
+	 * @param size 帧长度
+	 * @return 是否入队成功，false 表示该帧被丢弃
+	 */
+	public boolean offer(byte[] buf, int size) {
+		if (closed) {
+			writer.onDropped(1);
+			return false;
+		}
+		byte[] frame = Arrays.copyOf(buf, size);
+		boolean accepted;
+		switch (writer.getOverflowPolicy()) {
+			case DROP_OLDEST:
+				while (!tryEnqueue(frame)) {
+					byte[] oldest = frames.poll();
+					if (oldest != null) {
+						queuedBytes.release(permits(oldest));
+						writer.onDropped(1);
+					}
+				}
+				accepted = true;
+				break;
+			case BLOCK:
+				try {
+					accepted = enqueue(frame, writer.getBlockTimeoutNanos());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					accepted = false;
+				}
+				break;
+			default:
+				accepted = tryEnqueue(frame);
+				break;
+		}
+		if (!accepted) {
+			writer.onDropped(1);
+		}
+		schedule();
+		return accepted;
+	}
+
+	/**
+	 * 超过字节上限的单帧只占用全部额度，队列为空时仍可入队
+	 */
+	private int permits(byte[] frame) {
+		return Math.min(frame.length, maxQueuedBytes);
+	}
+
+	private boolean tryEnqueue(byte[] frame) {
+		if (!queuedBytes.tryAcquire(permits(frame))) {
+			return false;
+		}
+		if (!frames.offer(frame)) {
+			queuedBytes.release(permits(frame));
+			return false;
+		}
+		return true;
+	}
+
+	private boolean enqueue(byte[] frame, long timeoutNanos) throws InterruptedException {
+		long deadline = System.nanoTime() + timeoutNanos;
+		if (!queuedBytes.tryAcquire(permits(frame), timeoutNanos, TimeUnit.NANOSECONDS)) {
+			return false;
+		}
+		if (!frames.offer(frame, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+			queuedBytes.release(permits(frame));
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 关闭该流：已入队的帧写完后关闭文件，此后到达的帧被丢弃
+	 */
+	public void close() {
+		closed = true;
+		schedule();
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return 已入队的帧全部写完且文件关闭后完成
+	 */
+	public CompletableFuture<Void> getTermination() {
+		return termination;
+	}
+
+	/**
+	 * @return 等待写入的帧数
+	 */
+	public int getQueueDepth() {
+		return frames.size();
+	}
+
+	/**
+	 * @return 等待写入的字节数
+	 */
+	public long getQueuedBytes() {
+		return maxQueuedBytes - queuedBytes.availablePermits();
+	}
+
+	void requestFlush() {
+		if (dirty) {
+			flushRequested = true;
+			schedule();
+		}
+	}
+
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true) && !writer.execute(this::drain)) {
+			scheduled.set(false);
+		}
+	}
+
+	private void drain() {
+		for (;;) {
+			try {
+				drainOnce();
+			} catch (IOException | RuntimeException e) {
+				log.error("Recording stream {} write failure, closing it : {}", name, e.getMessage());
+				closed = true;
+				terminate();
+			}
+			scheduled.set(false);
+			// 在释放调度标记之后检查，前一路流此后关闭时其回调一定能重新调度本流
+			boolean pending = !awaitingPredecessor() && (!frames.isEmpty() || flushRequested || (closed && !terminated));
+			if (!pending || !scheduled.compareAndSet(false, true)) {
+				return;
+			}
+		}
+	}
+
+	private boolean awaitingPredecessor() {
+		if (predecessor == null) {
+			return false;
+		}
+		if (!predecessor.termination.isDone()) {
+			return true;
+		}
+		predecessor = null;
+		return false;
+	}
+
+	private void drainOnce() throws IOException {
+		if (awaitingPredecessor()) {
+			return;
+		}
+		byte[] frame;
+		while ((frame = frames.poll()) != null) {
+			queuedBytes.release(permits(frame));
+			if (terminated) {
+				writer.onDropped(1);
+				continue;
+			}
+			if (output == null) {
+				output = outputFactory.open();
+			}
+			output.write(frame, 0, frame.length);
+			dirty = true;
+			writer.onWritten(frame.length);
+		}
+		long now = System.nanoTime();
+		if (output != null && dirty && (flushRequested || closed || now - lastFlushNanos >= writer.getFlushIntervalNanos())) {
+			output.flush();
+			dirty = false;
+			lastFlushNanos = now;
+		}
+		flushRequested = false;
+		if (closed) {
+			terminate();
+		}
+	}
+
+	private void terminate() {
+		if (terminated) {
+			return;
+		}
+		terminated = true;
+		dirty = false;
+		try {
+			if (output != null) {
+				output.close();
+			}
+		} catch (IOException e) {
+			log.error("Recording stream {} close failure : {}", name, e.getMessage());
+		} finally {
+			writer.onClosed(this);
+			termination.complete(null);
+		}
+	}
+
+}
@@ -0,0 +1,147 @@
+package io.agora.recording.output;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntFunction;
+
+/**
+ * 内存映射输出：文件按 mapChunkSize 逐块扩展并映射，帧数据直接复制进页缓存，不经过 write 系统调用；
+ * 分段写满 segmentSize 后截断到实际长度并滚动到下一个分段。滚动只发生在帧边界，单帧不会被拆到两个文件。
+ * 已存在的分段文件不会被截断：追加时从最后一个已存在的分段继续，滚动时跳过已存在的序号
+ */
+public class MappedFrameOutput implements FrameOutput {
+
+	private final IntFunction<Path> segmentPath;
+	private final long segmentSize;
+	private final int mapChunkSize;
+
+	private FileChannel channel;
+	private MappedByteBuffer region;
+	private int sequence;
+	private long segmentPosition;
+	private long size;
+
+	/**
+	 * @param segmentPath 第 N 个分段的文件路径，N 从 0 开始
+	 * @param append 是否在已有内容之后追加，追加时从最后一个已存在的分段继续，已有长度计入分段大小
+	 * @param segmentSize 分段大小
+	 * @param mapChunkSize 每次扩展并映射的大小
+	 * @throws IOException 打开文件失败
+	 */
+	public MappedFrameOutput(IntFunction<Path> segmentPath, boolean append, long segmentSize, int mapChunkSize) throws IOException {
+		this.segmentPath = segmentPath;
+		this.segmentSize = segmentSize;
+		this.mapChunkSize = mapChunkSize;
+		if (append) {
+			Path path = segmentPath.apply(sequence);
+			Path next;
+			while (!(next = segmentPath.apply(sequence + 1)).equals(path) && Files.exists(next)) {
+				sequence++;
+				path = next;
+			}
+		}
+		openSegment(append);
+	}
+
+	/**
+	 * 分段文件名：第 0 段为原文件名，之后在扩展名前追加序号，如 1001.yuv、1001_1.yuv、1001_2.yuv
+	 * @param file 原文件路径
+	 * @return 分段路径
+	 */
+	public static IntFunction<Path> sequenced(Path file) {
+		String name = file.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		String base = dot < 0 ? name : name.substring(0, dot);
+		String extension = dot < 0 ? "" : name.substring(dot);
+		return sequence -> sequence == 0 ? file : file.resolveSibling(base + "_" + sequence + extension);
+	}
+
+	@Override
+	public void write(byte[] src, int offset, int length) throws IOException {
+		if (segmentPosition > 0 && segmentPosition + length > segmentSize) {
+			closeSegment();
+			nextSegment();
+		}
+		while (length > 0) {
+			if (region == null || !region.hasRemaining()) {
+				mapNextRegion(length);
+			}
+			int n = Math.min(length, region.remaining());
+			region.put(src, offset, n);
+			offset += n;
+			length -= n;
+			segmentPosition += n;
+			size += n;
+		}
+	}
+
+	/**
+	 * 映射区域写入后即对其他进程可见，由操作系统回写，这里不做 msync
+	 */
+	@Override
+	public void flush() {
+	}
+
+	@Override
+	public long size() {
+		return size;
+	}
+
+	@Override
+	public void close() throws IOException {
+		closeSegment();
+	}
+
+	/**
+	 * 滚动到下一个不存在的分段；分段路径不随序号变化时只能追加到该文件
+	 */
+	private void nextSegment() throws IOException {
+		Path path = segmentPath.apply(sequence);
+		Path next;
+		while (!(next = segmentPath.apply(sequence + 1)).equals(path)) {
+			sequence++;
+			if (!Files.exists(next)) {
+				openSegment(false);
+				return;
+			}
+			path = next;
+		}
+		openSegment(true);
+	}
+
+	private void openSegment(boolean append) throws IOException {
+		Path path = segmentPath.apply(sequence);
+		channel = append
+				? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+				: FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		segmentPosition = append ? channel.size() : 0;
+		region = null;
+	}
+
+	private void mapNextRegion(int pending) throws IOException {
+		// 映射超出文件末尾的区域会将文件扩展到该长度，相当于按块预分配
+		long length = Math.max(mapChunkSize, pending);
+		if (segmentPosition < segmentSize) {
+			length = Math.max(Math.min(length, segmentSize - segmentPosition), pending);
+		}
+		region = channel.map(FileChannel.MapMode.READ_WRITE, segmentPosition, Math.min(length, Integer.MAX_VALUE));
+	}
+
+	private void closeSegment() throws IOException {
+		if (channel == null) {
+			return;
+		}
+		region = null;
+		try {
+			channel.truncate(segmentPosition);
+		} finally {
+			channel.close();
+			channel = null;
+		}
+	}
+
+}
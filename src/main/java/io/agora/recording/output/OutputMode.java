@@ -0,0 +1,17 @@
+package io.agora.recording.output;
+
+/**
+ * 原始帧（YUV、PCM）的落盘方式
+ */
+public enum OutputMode {
+
+	/**
+	 * 经直接内存缓冲区合并后写入 FileChannel
+	 */
+	CHANNEL,
+	/**
+	 * 按块预分配文件并通过 MappedByteBuffer 写入，文件达到分段大小后滚动到下一个分段
+	 */
+	MAPPED
+
+}
@@ -0,0 +1,21 @@
+package io.agora.recording.output;
+
+/**
+ * 单路流写入队列已满时的处理策略
+ */
+public enum OverflowPolicy {
+
+	/**
+	 * 丢弃新到达的帧，不阻塞 SDK 回调线程
+	 */
+	DROP_NEWEST,
+	/**
+	 * 丢弃队列中最旧的帧，保留最新数据
+	 */
+	DROP_OLDEST,
+	/**
+	 * 阻塞 SDK 回调线程直至队列有空位，超过等待时间后丢弃新帧
+	 */
+	BLOCK
+
+}
@@ -0,0 +1,288 @@
+package io.agora.recording.output;
+
+import io.agora.spring.boot.AgoraRecordingProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地录制的异步帧写入器：每路流一个按帧数与字节数限制的队列，由共享的写入线程池批量写入 {@link FrameOutput}，
+ * 按 flushInterval 定期提交缓冲而非逐帧 flush，磁盘变慢时只影响对应的队列。
+ * 同名（同一文件）的新流在前一路流写完并关闭文件后才开始写入
+ */
+@Slf4j
+public class RecordingFrameWriter {
+
+	private final int queueCapacity;
+	private final int maxQueuedBytes;
+	private final int bufferSize;
+	private final long flushIntervalNanos;
+	private final long blockTimeoutNanos;
+	private final OverflowPolicy overflowPolicy;
+	private final OutputMode rawOutputMode;
+	private final long segmentSize;
+	private final int mapChunkSize;
+	private final SegmentRotation rotation;
+	private final List<SegmentListener> segmentListeners = new CopyOnWriteArrayList<>();
+
+	private final ThreadPoolExecutor executor;
+	private final ScheduledExecutorService flusher;
+	private final AtomicBoolean flusherStarted = new AtomicBoolean();
+	private final Set<FrameStream> streams = ConcurrentHashMap.newKeySet();
+	private final Map<String, FrameStream> latestStreams = new ConcurrentHashMap<>();
+
+	private final LongAdder writtenFrames = new LongAdder();
+	private final LongAdder writtenBytes = new LongAdder();
+	private final LongAdder droppedFrames = new LongAdder();
+
+	public RecordingFrameWriter(AgoraRecordingProperties.Writer properties) {
+		this(properties, new AgoraRecordingProperties.Rotation());
+	}
+
+	public RecordingFrameWriter(AgoraRecordingProperties.Writer properties, AgoraRecordingProperties.Rotation rotation) {
+		this.rotation = SegmentRotation.of(rotation);
+		this.queueCapacity = properties.getQueueCapacity();
+		this.maxQueuedBytes = (int) Math.min(Integer.MAX_VALUE, properties.getMaxQueuedBytes().toBytes());
+		this.bufferSize = (int) properties.getBufferSize().toBytes();
+		this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+		this.blockTimeoutNanos = properties.getBlockTimeout().toNanos();
+		this.overflowPolicy = properties.getOverflowPolicy();
+		this.rawOutputMode = properties.getRawOutputMode();
+		this.segmentSize = properties.getSegmentSize().toBytes();
+		this.mapChunkSize = (int) properties.getMapChunkSize().toBytes();
+		// 每路流同一时刻最多一个排空任务，任务数不超过流的数量
+		this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), threadFactory("agora-recording-writer-"));
+		this.executor.allowCoreThreadTimeOut(true);
+		this.flusher = Executors.newSingleThreadScheduledExecutor(threadFactory("agora-recording-flusher-"));
+	}
+
+	/**
+	 * 注册分段关闭回调，对之后关闭的所有分段生效
+	 * @param listener 回调
+	 */
+	public void addSegmentListener(SegmentListener listener) {
+		segmentListeners.add(listener);
+	}
+
+	/**
+	 * 打开一路录制流：文件名由滚动策略的模板生成，按大小或时长独立滚动，每个分段关闭后通知 {@link SegmentListener}；
+	 * 原始帧在 MAPPED 模式下写入内存映射文件，分段大小不超过 segmentSize
+	 * @param target 流的归属
+	 * @param append 未启用滚动时是否从最后一个已存在的分段继续追加，false 时重写第一个分段并删除其后遗留的分段；
+	 *               启用滚动时始终写入新文件。其余分段均不会覆盖已存在的文件
+	 * @return 写入流
+	 */
+	public FrameStream openStream(StreamTarget target, boolean append) {
+		boolean mapped = target.isRaw() && rawOutputMode == OutputMode.MAPPED;
+		long rotationSize = rotation.getMaxSizeBytes();
+		long maxSize = !mapped ? rotationSize : rotationSize > 0 ? Math.min(rotationSize, segmentSize) : segmentSize;
+		RotatingFrameOutput.SegmentNaming naming = rotation.isEnabled()
+				? (timestamp, sequence) -> rotation.resolve(target, timestamp, sequence)
+				: (timestamp, sequence) -> MappedFrameOutput.sequenced(rotation.resolve(target, timestamp, 0)).apply(sequence);
+		RotatingFrameOutput.SegmentOpener opener = mapped
+				? (path, appendToPath) -> new MappedFrameOutput(sequence -> path, appendToPath, Long.MAX_VALUE, mapChunkSize)
+				: (path, appendToPath) -> new ChannelFrameOutput(path, appendToPath, bufferSize);
+		String name = rotation.resolve(target, 0, 0).toString();
+		return openStream(name, () -> new RotatingFrameOutput(target, naming, opener, maxSize, rotation.getMaxDurationMillis(),
+				append && !rotation.isEnabled(), !append && !rotation.isEnabled(), this::onSegmentClosed));
+	}
+
+	private void onSegmentClosed(RecordingSegment segment) {
+		for (SegmentListener listener : segmentListeners) {
+			listener.onSegmentClosed(segment);
+		}
+	}
+
+	/**
+	 * 打开一路写入 FileChannel 的流，文件在写入线程上首次写入时才打开
+	 * @param file 文件路径
+	 * @param append 是否追加写入，false 时截断已有文件
+	 * @return 写入流
+	 */
+	public FrameStream openStream(Path file, boolean append) {
+		return openStream(file.toString(), () -> new ChannelFrameOutput(file, append, bufferSize));
+	}
+
+	/**
+	 * 异步写入一个完整的小文件（如 JPG 截图）：不分配缓冲区，帧数据直接写入后关闭
+	 * @param file 文件路径，已存在时覆盖
+	 * @param buf 文件内容，调用返回后可被复用
+	 * @param size 内容长度
+	 * @return 是否入队成功
+	 */
+	public boolean writeFile(Path file, byte[] buf, int size) {
+		FrameStream stream = openStream(file.toString(), () -> new ChannelFrameOutput(file, false, 0));
+		boolean accepted = stream.offer(buf, size);
+		stream.close();
+		return accepted;
+	}
+
+	/**
+	 * 打开一路原始帧（YUV、PCM）流，按 rawOutputMode 选择 FileChannel 或内存映射分段输出
+	 * @param file 文件路径，内存映射模式下为第一个分段的路径
+	 * @param append 是否追加写入，false 时截断已有文件
+	 * @return 写入流
+	 */
+	public FrameStream openRawStream(Path file, boolean append) {
+		if (rawOutputMode != OutputMode.MAPPED) {
+			return openStream(file, append);
+		}
+		return openStream(file.toString(), () -> new MappedFrameOutput(MappedFrameOutput.sequenced(file), append, segmentSize, mapChunkSize));
+	}
+
+	/**
+	 * 打开一路写入自定义 {@link FrameOutput} 的流
+	 * @param name 流名称，用于日志
+	 * @param outputFactory 输出创建方式
+	 * @return 写入流
+	 */
+	public FrameStream openStream(String name, FrameOutputFactory outputFactory) {
+		FrameStream stream = latestStreams.compute(name,
+				(key, previous) -> new FrameStream(this, key, outputFactory, queueCapacity, maxQueuedBytes, previous));
+		streams.add(stream);
+		if (flusherStarted.compareAndSet(false, true)) {
+			long period = Math.max(flushIntervalNanos, TimeUnit.MILLISECONDS.toNanos(10));
+			flusher.scheduleWithFixedDelay(this::requestFlush, period, period, TimeUnit.NANOSECONDS);
+		}
+		return stream;
+	}
+
+	private void requestFlush() {
+		for (FrameStream stream : streams) {
+			stream.requestFlush();
+		}
+	}
+
+	/**
+	 * 关闭所有流并等待已入队的帧写完
+	 */
+	public void shutdown() {
+		List<CompletableFuture<Void>> terminations = new ArrayList<>();
+		for (FrameStream stream : streams) {
+			stream.close();
+			terminations.add(stream.getTermination());
+		}
+		// 等待同名流依次写完后再关闭线程池，否则排在后面的流无法再提交写入任务
+		try {
+			CompletableFuture.allOf(terminations.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+		} catch (TimeoutException e) {
+			log.warn("Recording frame writer did not finish within 10 seconds, {} frames pending", getQueueDepth());
+		} catch (ExecutionException e) {
+			log.error("Recording frame writer shutdown failure : {}", e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		flusher.shutdownNow();
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+				log.warn("Recording frame writer did not finish within 10 seconds, {} frames pending", getQueueDepth());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	boolean execute(Runnable task) {
+		try {
+			executor.execute(task);
+			return true;
+		} catch (RejectedExecutionException e) {
+			return false;
+		}
+	}
+
+	void onWritten(int bytes) {
+		writtenFrames.increment();
+		writtenBytes.add(bytes);
+	}
+
+	void onDropped(int frames) {
+		droppedFrames.add(frames);
+	}
+
+	void onClosed(FrameStream stream) {
+		streams.remove(stream);
+		latestStreams.remove(stream.getName(), stream);
+	}
+
+	OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	long getBlockTimeoutNanos() {
+		return blockTimeoutNanos;
+	}
+
+	long getFlushIntervalNanos() {
+		return flushIntervalNanos;
+	}
+
+	/**
+	 * @return 所有流中等待写入的帧数
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+		for (FrameStream stream : streams) {
+			depth += stream.getQueueDepth();
+		}
+		return depth;
+	}
+
+	/**
+	 * @return 所有流中等待写入的字节数
+	 */
+	public long getQueuedBytes() {
+		long bytes = 0;
+		for (FrameStream stream : streams) {
+			bytes += stream.getQueuedBytes();
+		}
+		return bytes;
+	}
+
+	public int getOpenStreams() {
+		return streams.size();
+	}
+
+	public long getWrittenFrames() {
+		return writtenFrames.sum();
+	}
+
+	public long getWrittenBytes() {
+		return writtenBytes.sum();
+	}
+
+	public long getDroppedFrames() {
+		return droppedFrames.sum();
+	}
+
+	private static ThreadFactory threadFactory(String prefix) {
+		AtomicInteger sequence = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+}
@@ -0,0 +1,59 @@
+package io.agora.recording.output;
+
+import java.nio.file.Path;
+
+/**
+ * 已关闭的录制分段，文件内容不会再变化，可以安全上传或移动
+ */
+public class RecordingSegment {
+
+	private final StreamTarget target;
+	private final Path path;
+	private final int sequence;
+	private final long size;
+	private final long startTime;
+	private final long endTime;
+
+	public RecordingSegment(StreamTarget target, Path path, int sequence, long size, long startTime, long endTime) {
+		this.target = target;
+		this.path = path;
+		this.sequence = sequence;
+		this.size = size;
+		this.startTime = startTime;
+		this.endTime = endTime;
+	}
+
+	public StreamTarget getTarget() {
+		return target;
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	public int getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * @return 本次写入该分段的字节数
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	public long getStartTime() {
+		return startTime;
+	}
+
+	public long getEndTime() {
+		return endTime;
+	}
+
+	@Override
+	public String toString() {
+		return "RecordingSegment{path=" + path + ", sequence=" + sequence + ", size=" + size
+				+ ", startTime=" + startTime + ", endTime=" + endTime + "}";
+	}
+
+}
@@ -0,0 +1,166 @@
+package io.agora.recording.output;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 分段滚动输出：在帧边界按大小或时长关闭当前分段并打开下一个，每个分段关闭后通知 {@link SegmentListener}。
+ * 每路流独立计时与计数，互不影响。除显式要求重写第一个分段外，已存在的分段文件不会被截断：
+ * 追加时从最后一个已存在的分段继续且已有长度计入大小上限，打开新分段时跳过已存在的文件名，文件名不随序号变化时改为追加。
+ * 重写第一个分段时同时删除其后遗留的分段，之后的滚动从第二个分段依次重写
+ */
+@Slf4j
+public class RotatingFrameOutput implements FrameOutput {
+
+	/**
+	 * 分段文件名
+	 */
+	@FunctionalInterface
+	public interface SegmentNaming {
+
+		Path resolve(long timestamp, int sequence);
+
+	}
+
+	/**
+	 * 打开单个分段的输出
+	 */
+	@FunctionalInterface
+	public interface SegmentOpener {
+
+		FrameOutput open(Path path, boolean append) throws IOException;
+
+	}
+
+	private final StreamTarget target;
+	private final SegmentNaming naming;
+	private final SegmentOpener opener;
+	private final long maxSizeBytes;
+	private final long maxDurationMillis;
+	private final SegmentListener listener;
+
+	private boolean append;
+	private boolean truncateFirst;
+	private FrameOutput current;
+	private Path currentPath;
+	private int sequence;
+	private long startTime;
+	/** 当前分段打开前已有的长度 */
+	private long segmentBase;
+	private long size;
+
+	/**
+	 * @param maxSizeBytes 分段最大字节数，0 表示不按大小滚动
+	 * @param maxDurationMillis 分段最大时长，0 表示不按时长滚动
+	 * @param append 是否从最后一个已存在的分段继续追加
+	 * @param truncateFirst 不追加时是否截断重写第一个分段，否则从第一个不存在的分段开始
+	 */
+	public RotatingFrameOutput(StreamTarget target, SegmentNaming naming, SegmentOpener opener, long maxSizeBytes,
+			long maxDurationMillis, boolean append, boolean truncateFirst, SegmentListener listener) {
+		this.target = target;
+		this.naming = naming;
+		this.opener = opener;
+		this.maxSizeBytes = maxSizeBytes;
+		this.maxDurationMillis = maxDurationMillis;
+		this.append = append;
+		this.truncateFirst = !append && truncateFirst;
+		this.listener = listener;
+	}
+
+	@Override
+	public void write(byte[] src, int offset, int length) throws IOException {
+		long now = System.currentTimeMillis();
+		if (current == null) {
+			openSegment(now);
+		}
+		if (shouldRoll(length, now)) {
+			closeSegment(now);
+			sequence++;
+			openSegment(now);
+		}
+		current.write(src, offset, length);
+		size += length;
+	}
+
+	private boolean shouldRoll(int length, long now) {
+		long segmentSize = segmentBase + current.size();
+		if (segmentSize == 0) {
+			return false;
+		}
+		return (maxSizeBytes > 0 && segmentSize + length > maxSizeBytes)
+				|| (maxDurationMillis > 0 && now - startTime >= maxDurationMillis);
+	}
+
+	private void openSegment(long now) throws IOException {
+		Path path = naming.resolve(now, sequence);
+		Path next;
+		if (append) {
+			while (!(next = naming.resolve(now, sequence + 1)).equals(path) && Files.exists(next)) {
+				sequence++;
+				path = next;
+			}
+		} else if (!truncateFirst) {
+			while (Files.exists(path) && !(next = naming.resolve(now, sequence + 1)).equals(path)) {
+				sequence++;
+				path = next;
+			}
+		}
+		if (truncateFirst) {
+			// 上一轮留下的后续分段会被滚动跳过，新内容将写到它们之后，因此随第一个分段一起丢弃
+			deleteLaterSegments(now, path);
+		}
+		boolean exists = !truncateFirst && Files.exists(path);
+		current = opener.open(path, exists);
+		currentPath = path;
+		segmentBase = exists ? Files.size(path) : 0;
+		startTime = now;
+		append = false;
+		truncateFirst = false;
+	}
+
+	private void deleteLaterSegments(long now, Path path) throws IOException {
+		Path next;
+		for (int later = sequence + 1; !(next = naming.resolve(now, later)).equals(path) && Files.deleteIfExists(next); later++) {
+			path = next;
+		}
+	}
+
+	private void closeSegment(long now) throws IOException {
+		FrameOutput closing = current;
+		current = null;
+		closing.close();
+		if (closing.size() == 0) {
+			// 追加打开后未写入即滚动，该分段此前已通知过
+			return;
+		}
+		RecordingSegment segment = new RecordingSegment(target, currentPath, sequence, closing.size(), startTime, now);
+		try {
+			listener.onSegmentClosed(segment);
+		} catch (RuntimeException e) {
+			log.error("Recording segment listener failure, segment : {}", segment, e);
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (current != null) {
+			current.flush();
+		}
+	}
+
+	@Override
+	public long size() {
+		return size;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (current != null) {
+			closeSegment(System.currentTimeMillis());
+		}
+	}
+
+}
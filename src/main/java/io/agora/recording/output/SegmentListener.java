@@ -0,0 +1,11 @@
+package io.agora.recording.output;
+
+/**
+ * 录制分段关闭回调：在写入线程上调用，耗时操作（如上传）应交给其他线程执行，避免阻塞同一线程上的其他流
+ */
+@FunctionalInterface
+public interface SegmentListener {
+
+	void onSegmentClosed(RecordingSegment segment);
+
+}
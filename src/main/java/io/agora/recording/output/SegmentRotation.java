@@ -0,0 +1,65 @@
+package io.agora.recording.output;
+
+import io.agora.spring.boot.AgoraRecordingProperties;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * 分段滚动策略：按时长和/或大小滚动，文件名由模板生成。
+ * 模板占位符：{channel}、{uid}、{type}（audio/video）、{timestamp}（分段开始毫秒数）、{sequence}（分段序号，从 0 开始）
+ */
+public class SegmentRotation {
+
+	public static final String DEFAULT_PATTERN = "{uid}";
+
+	private final long maxDurationMillis;
+	private final long maxSizeBytes;
+	private final String fileNamePattern;
+
+	public SegmentRotation(Duration maxDuration, long maxSizeBytes, String fileNamePattern) {
+		this.maxDurationMillis = Objects.isNull(maxDuration) ? 0 : maxDuration.toMillis();
+		this.maxSizeBytes = Math.max(0, maxSizeBytes);
+		String pattern = Objects.isNull(fileNamePattern) || fileNamePattern.isEmpty() ? DEFAULT_PATTERN : fileNamePattern;
+		// 启用滚动但模板无法区分分段时追加序号，避免分段互相覆盖
+		if (isEnabled() && !pattern.contains("{sequence}") && !pattern.contains("{timestamp}")) {
+			pattern = pattern + "_{sequence}";
+		}
+		this.fileNamePattern = pattern;
+	}
+
+	public static SegmentRotation of(AgoraRecordingProperties.Rotation properties) {
+		return new SegmentRotation(properties.getMaxDuration(),
+				Objects.isNull(properties.getMaxSize()) ? 0 : properties.getMaxSize().toBytes(),
+				properties.getFileNamePattern());
+	}
+
+	public boolean isEnabled() {
+		return maxDurationMillis > 0 || maxSizeBytes > 0;
+	}
+
+	public long getMaxDurationMillis() {
+		return maxDurationMillis;
+	}
+
+	public long getMaxSizeBytes() {
+		return maxSizeBytes;
+	}
+
+	public String getFileNamePattern() {
+		return fileNamePattern;
+	}
+
+	public Path resolve(StreamTarget target, long timestamp, int sequence) {
+		String name = fileNamePattern
+				.replace("{channel}", String.valueOf(target.getChannelId()))
+				.replace("{uid}", Long.toString(target.getUid()))
+				.replace("{type}", target.getMediaType())
+				.replace("{timestamp}", Long.toString(timestamp))
+				.replace("{sequence}", Integer.toString(sequence));
+		return Paths.get(target.getDirectory() + name + target.getExtension());
+	}
+
+}
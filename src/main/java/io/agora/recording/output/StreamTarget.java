@@ -0,0 +1,59 @@
+package io.agora.recording.output;
+
+/**
+ * 一路录制流的文件归属：目录、频道、用户、媒体类型与扩展名，用于生成分段文件名
+ */
+public class StreamTarget {
+
+	public static final String AUDIO = "audio";
+	public static final String VIDEO = "video";
+
+	private final String directory;
+	private final String channelId;
+	private final long uid;
+	private final String mediaType;
+	private final String extension;
+	private final boolean raw;
+
+	/**
+	 * @param directory 文件目录，直接作为文件名前缀拼接，与录制 SDK 返回的路径格式一致
+	 * @param channelId 频道名
+	 * @param uid 用户 UID
+	 * @param mediaType {@link #AUDIO} 或 {@link #VIDEO}
+	 * @param extension 扩展名，如 .pcm、.h264
+	 * @param raw 是否为 PCM、YUV 等原始帧
+	 */
+	public StreamTarget(String directory, String channelId, long uid, String mediaType, String extension, boolean raw) {
+		this.directory = directory;
+		this.channelId = channelId;
+		this.uid = uid;
+		this.mediaType = mediaType;
+		this.extension = extension;
+		this.raw = raw;
+	}
+
+	public String getDirectory() {
+		return directory;
+	}
+
+	public String getChannelId() {
+		return channelId;
+	}
+
+	public long getUid() {
+		return uid;
+	}
+
+	public String getMediaType() {
+		return mediaType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public boolean isRaw() {
+		return raw;
+	}
+
+}
@@ -0,0 +1,57 @@
+package io.agora.recording.processor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 将帧依次交给多个处理器
+ */
+@Slf4j
+class CompositeFrameProcessor implements FrameProcessor {
+
+	private final FrameProcessor[] processors;
+
+	CompositeFrameProcessor(List<? extends FrameProcessor> processors) {
+		this.processors = new ArrayList<>(processors).toArray(new FrameProcessor[0]);
+	}
+
+	@Override
+	public void process(RecordingFrame frame) {
+		for (FrameProcessor processor : processors) {
+			try {
+				processor.process(frame);
+			} catch (RuntimeException e) {
+				log.error("Frame processor {} failure, uid : {}, format : {}", processor, frame.getUid(), frame.getFormat(), e);
+			}
+		}
+	}
+
+	@Override
+	public void onStreamClosed(String channelId, long uid, MediaType mediaType) {
+		for (FrameProcessor processor : processors) {
+			try {
+				processor.onStreamClosed(channelId, uid, mediaType);
+			} catch (RuntimeException e) {
+				log.error("Frame processor {} failure on stream closed, channel : {}, uid : {}, media : {}", processor, channelId, uid, mediaType, e);
+			}
+		}
+	}
+
+	@Override
+	public void onChannelClosed(String channelId) {
+		for (FrameProcessor processor : processors) {
+			try {
+				processor.onChannelClosed(channelId);
+			} catch (RuntimeException e) {
+				log.error("Frame processor {} failure on channel closed, channel : {}", processor, channelId, e);
+			}
+		}
+	}
+
+	boolean isEmpty() {
+		return processors.length == 0;
+	}
+
+}
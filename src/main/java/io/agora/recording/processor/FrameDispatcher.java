@@ -0,0 +1,153 @@
+package io.agora.recording.processor;
+
+import io.agora.spring.boot.AgoraRecordingProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 将录制帧交给 {@link FrameProcessor}：按 uid 分配到固定的单线程通道，同一用户的帧保持顺序，不同用户并行处理；
+ * 每个通道的队列有界，队列已满时丢弃新帧并计数，SDK 回调线程不会因处理器变慢而阻塞
+ */
+@Slf4j
+public class FrameDispatcher {
+
+	private final CompositeFrameProcessor processor;
+	private final ThreadPoolExecutor[] lanes;
+	private final LongAdder dispatchedFrames = new LongAdder();
+	private final LongAdder droppedFrames = new LongAdder();
+
+	public FrameDispatcher(AgoraRecordingProperties.Processor properties, List<? extends FrameProcessor> processors) {
+		this.processor = new CompositeFrameProcessor(processors);
+		int threads = Math.max(1, properties.getThreads());
+		this.lanes = new ThreadPoolExecutor[threads];
+		for (int i = 0; i < threads; i++) {
+			String name = "agora-frame-processor-" + (i + 1);
+			// 线程在首个任务到达时才创建，空闲后回收
+			lanes[i] = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+					runnable -> {
+						Thread thread = new Thread(runnable, name);
+						thread.setDaemon(true);
+						return thread;
+					});
+			lanes[i].allowCoreThreadTimeOut(true);
+		}
+	}
+
+	/**
+	 * @return 是否注册了处理器；没有处理器时调用方无需复制帧数据
+	 */
+	public boolean hasProcessors() {
+		return !processor.isEmpty();
+	}
+
+	/**
+	 * 异步处理一帧，立即返回
+	 * @param frame 帧，data 必须是调用方不再修改的独立数组
+	 * @return 是否入队成功，false 表示队列已满或已关闭，该帧被丢弃
+	 */
+	public boolean dispatch(RecordingFrame frame) {
+		if (processor.isEmpty()) {
+			return false;
+		}
+		try {
+			lane(frame.getUid()).execute(() -> processor.process(frame));
+			dispatchedFrames.increment();
+			return true;
+		} catch (RejectedExecutionException e) {
+			droppedFrames.increment();
+			return false;
+		}
+	}
+
+	/**
+	 * 通知处理器用户的音频或视频流已结束，在该用户的通道上排在已入队的帧之后执行
+	 * @param channelId 频道名
+	 * @param uid 用户 UID
+	 * @param mediaType 结束的媒体流
+	 */
+	public void streamClosed(String channelId, long uid, MediaType mediaType) {
+		if (processor.isEmpty()) {
+			return;
+		}
+		execute(lane(uid), () -> processor.onStreamClosed(channelId, uid, mediaType));
+	}
+
+	/**
+	 * 通知处理器频道已结束，在所有通道的已入队帧处理完后执行一次
+	 * @param channelId 频道名
+	 */
+	public void channelClosed(String channelId) {
+		if (processor.isEmpty()) {
+			return;
+		}
+		AtomicInteger remaining = new AtomicInteger(lanes.length);
+		Runnable task = () -> {
+			if (remaining.decrementAndGet() == 0) {
+				processor.onChannelClosed(channelId);
+			}
+		};
+		for (ThreadPoolExecutor lane : lanes) {
+			execute(lane, task);
+		}
+	}
+
+	private ThreadPoolExecutor lane(long uid) {
+		return lanes[(int) ((uid ^ (uid >>> 32)) & Integer.MAX_VALUE) % lanes.length];
+	}
+
+	/**
+	 * 结束通知不能丢：队列已满或已关闭时在调用线程上直接执行
+	 */
+	private void execute(ThreadPoolExecutor lane, Runnable task) {
+		try {
+			lane.execute(task);
+		} catch (RejectedExecutionException e) {
+			task.run();
+		}
+	}
+
+	/**
+	 * 停止接收新帧，并等待已入队的帧处理完
+	 */
+	public void shutdown() {
+		for (ThreadPoolExecutor lane : lanes) {
+			lane.shutdown();
+		}
+		try {
+			for (ThreadPoolExecutor lane : lanes) {
+				if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+					log.warn("Frame processors did not finish within 10 seconds, {} frames pending", lane.getQueue().size());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return 等待处理的帧数
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+		for (ThreadPoolExecutor lane : lanes) {
+			depth += lane.getQueue().size();
+		}
+		return depth;
+	}
+
+	public long getDispatchedFrames() {
+		return dispatchedFrames.sum();
+	}
+
+	public long getDroppedFrames() {
+		return droppedFrames.sum();
+	}
+
+}
@@ -0,0 +1,38 @@
+package io.agora.recording.processor;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.function.Predicate;
+
+/**
+ * 常用的帧过滤条件，配合 {@link FrameProcessor#filter(Predicate)} 使用
+ */
+public final class FrameFilters {
+
+	private FrameFilters() {
+	}
+
+	public static Predicate<RecordingFrame> uid(long... uids) {
+		long[] sorted = uids.clone();
+		Arrays.sort(sorted);
+		return frame -> Arrays.binarySearch(sorted, frame.getUid()) >= 0;
+	}
+
+	public static Predicate<RecordingFrame> format(FrameFormat first, FrameFormat... rest) {
+		EnumSet<FrameFormat> formats = EnumSet.of(first, rest);
+		return frame -> formats.contains(frame.getFormat());
+	}
+
+	public static Predicate<RecordingFrame> audio() {
+		return RecordingFrame::isAudio;
+	}
+
+	public static Predicate<RecordingFrame> video() {
+		return RecordingFrame::isVideo;
+	}
+
+	public static Predicate<RecordingFrame> channel(String channelId) {
+		return frame -> channelId.equals(frame.getChannelId());
+	}
+
+}
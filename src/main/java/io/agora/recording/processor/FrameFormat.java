@@ -0,0 +1,33 @@
+package io.agora.recording.processor;
+
+/**
+ * 录制 SDK 回调的帧格式
+ */
+public enum FrameFormat {
+
+	PCM(true),
+	AAC(true),
+	YUV(false),
+	H264(false),
+	H265(false),
+	JPG(false);
+
+	private final boolean audio;
+
+	FrameFormat(boolean audio) {
+		this.audio = audio;
+	}
+
+	public boolean isAudio() {
+		return audio;
+	}
+
+	public boolean isVideo() {
+		return !audio;
+	}
+
+	public MediaType getMediaType() {
+		return audio ? MediaType.AUDIO : MediaType.VIDEO;
+	}
+
+}
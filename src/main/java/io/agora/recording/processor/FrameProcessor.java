@@ -0,0 +1,85 @@
+package io.agora.recording.processor;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * 录制帧处理器 SPI：声明为 Spring Bean 即可接收本地录制的音视频帧，如语音识别、内容审核、截图等。
+ * 由 {@link FrameDispatcher} 在有界线程池上调用，不占用 SDK 回调线程；同一用户的帧按到达顺序依次处理
+ */
+@FunctionalInterface
+public interface FrameProcessor {
+
+	void process(RecordingFrame frame);
+
+	/**
+	 * 用户的音频或视频流结束（一段时间没有收到该类帧）时调用，可在此释放该用户该路流的状态；
+	 * 在该用户的帧所在的线程上、已入队的帧之后调用
+	 * @param channelId 频道名
+	 * @param uid 用户 UID
+	 * @param mediaType 结束的是音频流还是视频流
+	 */
+	default void onStreamClosed(String channelId, long uid, MediaType mediaType) {
+	}
+
+	/**
+	 * 录制端离开频道时调用，可在此释放该频道的全部状态
+	 * @param channelId 频道名
+	 */
+	default void onChannelClosed(String channelId) {
+	}
+
+	/**
+	 * @param predicate 过滤条件，见 {@link FrameFilters}
+	 * @return 只处理满足条件的帧的处理器
+	 */
+	default FrameProcessor filter(Predicate<? super RecordingFrame> predicate) {
+		FrameProcessor next = this;
+		return new FrameProcessor() {
+
+			@Override
+			public void process(RecordingFrame frame) {
+				if (predicate.test(frame)) {
+					next.process(frame);
+				}
+			}
+
+			@Override
+			public void onStreamClosed(String channelId, long uid, MediaType mediaType) {
+				next.onStreamClosed(channelId, uid, mediaType);
+			}
+
+			@Override
+			public void onChannelClosed(String channelId) {
+				next.onChannelClosed(channelId);
+			}
+
+		};
+	}
+
+	/**
+	 * @param n 采样间隔
+	 * @return 每个用户的每种格式每 n 帧只处理第一帧的处理器
+	 */
+	default FrameProcessor sampleEvery(int n) {
+		return new SamplingFrameProcessor(this, n);
+	}
+
+	/**
+	 * @param next 下一个处理器
+	 * @return 依次调用当前处理器与 next 的处理器
+	 */
+	default FrameProcessor andThen(FrameProcessor next) {
+		return fanOut(this, next);
+	}
+
+	/**
+	 * 将同一帧分发给多个处理器，单个处理器抛出的异常不影响其他处理器
+	 * @param processors 处理器
+	 * @return 组合后的处理器
+	 */
+	static FrameProcessor fanOut(FrameProcessor... processors) {
+		return new CompositeFrameProcessor(Arrays.asList(processors));
+	}
+
+}
@@ -0,0 +1,11 @@
+package io.agora.recording.processor;
+
+/**
+ * 帧所属的媒体流
+ */
+public enum MediaType {
+
+	AUDIO,
+	VIDEO
+
+}
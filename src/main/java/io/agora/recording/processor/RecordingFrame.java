@@ -0,0 +1,66 @@
+package io.agora.recording.processor;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 交给 {@link FrameProcessor} 的一帧数据。data 是从 SDK 缓冲区复制出的独立数组，处理器可以保留引用，但不应修改
+ */
+@Getter
+@Builder
+public class RecordingFrame {
+
+	/**
+	 * 频道名
+	 */
+	private final String channelId;
+	/**
+	 * 发送该帧的用户 UID
+	 */
+	private final long uid;
+	/**
+	 * 帧格式
+	 */
+	private final FrameFormat format;
+	/**
+	 * 帧数据
+	 */
+	private final byte[] data;
+	/**
+	 * SDK 提供的帧时间戳（毫秒）
+	 */
+	private final long frameMs;
+	/**
+	 * 收到该帧的本地时间（毫秒）
+	 */
+	private final long receivedAt;
+	/**
+	 * YUV 帧的宽度，其他格式为 0
+	 */
+	private final int width;
+	/**
+	 * YUV 帧的高度，其他格式为 0
+	 */
+	private final int height;
+	/**
+	 * 视频旋转角度：0、90、180、270
+	 */
+	private final int rotation;
+	/**
+	 * PCM 帧的采样率，其他格式为 0
+	 */
+	private final int sampleRate;
+	/**
+	 * 音频声道数，未知时为 0
+	 */
+	private final int channels;
+
+	public boolean isAudio() {
+		return format.isAudio();
+	}
+
+	public boolean isVideo() {
+		return format.isVideo();
+	}
+
+}
@@ -0,0 +1,65 @@
+package io.agora.recording.processor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 按用户和帧格式分别计数，每 n 帧交给下游处理一帧；音频或视频流结束、频道结束时丢弃对应的计数
+ */
+class SamplingFrameProcessor implements FrameProcessor {
+
+	private static final int FORMATS = FrameFormat.values().length;
+
+	private final FrameProcessor next;
+	private final int n;
+	private final Map<String, ChannelCounters> counters = new ConcurrentHashMap<>();
+
+	SamplingFrameProcessor(FrameProcessor next, int n) {
+		if (n < 1) {
+			throw new IllegalArgumentException("Sampling interval must be positive: " + n);
+		}
+		this.next = next;
+		this.n = n;
+	}
+
+	@Override
+	public void process(RecordingFrame frame) {
+		AtomicLongArray counter = counters.computeIfAbsent(frame.getChannelId(), k -> new ChannelCounters())
+				.users(frame.getFormat().getMediaType())
+				.computeIfAbsent(frame.getUid(), k -> new AtomicLongArray(FORMATS));
+		if (counter.getAndIncrement(frame.getFormat().ordinal()) % n == 0) {
+			next.process(frame);
+		}
+	}
+
+	@Override
+	public void onStreamClosed(String channelId, long uid, MediaType mediaType) {
+		ChannelCounters channel = counters.get(channelId);
+		if (channel != null) {
+			channel.users(mediaType).remove(uid);
+		}
+		next.onStreamClosed(channelId, uid, mediaType);
+	}
+
+	@Override
+	public void onChannelClosed(String channelId) {
+		counters.remove(channelId);
+		next.onChannelClosed(channelId);
+	}
+
+	/**
+	 * 一个频道内按 uid 保存的计数，音频与视频分开，按 {@link FrameFormat#ordinal()} 索引
+	 */
+	private static class ChannelCounters {
+
+		private final Map<Long, AtomicLongArray> audio = new ConcurrentHashMap<>();
+		private final Map<Long, AtomicLongArray> video = new ConcurrentHashMap<>();
+
+		Map<Long, AtomicLongArray> users(MediaType mediaType) {
+			return MediaType.AUDIO.equals(mediaType) ? audio : video;
+		}
+
+	}
+
+}
@@ -1,6 +1,7 @@
 package io.agora.rtm;
 
 import io.agora.media.AccessToken;
+import io.agora.media.SaltGenerator;
 
 public class RtmTokenBuilder {
     public enum Role {
@@ -14,9 +15,19 @@ public class RtmTokenBuilder {
 
     public AccessToken mTokenCreator;
 
+    private final SaltGenerator saltGenerator;
+
+    public RtmTokenBuilder() {
+        this(SaltGenerator.secureRandom());
+    }
+
+    public RtmTokenBuilder(SaltGenerator saltGenerator) {
+        this.saltGenerator = saltGenerator;
+    }
+
     public String buildToken(String appId, String appCertificate,
             String uid, Role role, int privilegeTs) throws Exception {
-        mTokenCreator = new AccessToken(appId, appCertificate, uid, "");
+        mTokenCreator = new AccessToken(appId, appCertificate, uid, "", saltGenerator);
         mTokenCreator.addPrivilege(AccessToken.Privileges.kRtmLogin, privilegeTs);
         return mTokenCreator.build();
     }
@@ -0,0 +1,34 @@
+package io.agora.rtm;
+
+import io.agora.media.AccessToken2;
+import io.agora.media.SaltGenerator;
+
+/**
+ * Builds RTM tokens in the AccessToken2 ("007") format.
+ */
+public class RtmTokenBuilder2 {
+    private final SaltGenerator saltGenerator;
+
+    public RtmTokenBuilder2() {
+        this(SaltGenerator.secureRandom());
+    }
+
+    public RtmTokenBuilder2(SaltGenerator saltGenerator) {
+        this.saltGenerator = saltGenerator;
+    }
+
+    /**
+     * @param expire token and login privilege lifetime in seconds from now.
+     */
+    public String buildToken(String appId, String appCertificate, String userId, int expire) {
+        AccessToken2 accessToken = new AccessToken2(appId, appCertificate, expire, saltGenerator);
+        AccessToken2.ServiceRtm serviceRtm = new AccessToken2.ServiceRtm(userId);
+        serviceRtm.addPrivilegeRtm(AccessToken2.PrivilegeRtm.PRIVILEGE_LOGIN, expire);
+        accessToken.addService(serviceRtm);
+        try {
+            return accessToken.build();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
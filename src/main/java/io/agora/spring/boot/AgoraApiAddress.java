@@ -15,86 +15,86 @@ public enum AgoraApiAddress {
 	 * 获取云端录制资源ID
 	 * URL: https://api.agora.io/v1/apps/&lt;yourappid&gt;/cloud_recording/acquire
 	 */
-	ACQUIRE_RESOURCE_ID("获取云端录制资源ID", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/acquire"),
+	ACQUIRE_RESOURCE_ID(AgoraApiGroup.CLOUD_RECORDING, "获取云端录制资源ID", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/acquire"),
 	/**
 	 * 开始云端录制
 	 * URL: https://api.agora.io/v1/apps/&lt;yourappid&gt;/cloud_recording/resourceid/&lt;resourceid&gt;/mode/&lt;mode&gt;/start
 	 */
-	START_CLOUD_RECORDING("开始云端录制", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/resourceid/{1}/mode/{2}/start"),
+	START_CLOUD_RECORDING(AgoraApiGroup.CLOUD_RECORDING, "开始云端录制", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/resourceid/{1}/mode/{2}/start"),
 	/**
 	 * 更新云端录制
 	 * URL: https://api.agora.io/v1/apps/&lt;appid&gt;/cloud_recording/resourceid/&lt;resourceid&gt;/sid/&lt;sid&gt;/mode/&lt;mode&gt;/updateLayout
 	 */
-	UPDATE_CLOUD_RECORDING("更新云端录制", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/resourceid/{1}/sid/{2}/mode/{3}/updateLayout"),
+	UPDATE_CLOUD_RECORDING(AgoraApiGroup.CLOUD_RECORDING, "更新云端录制", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/resourceid/{1}/sid/{2}/mode/{3}/updateLayout"),
 	/**
 	 * 更新合流布局
 	 * URL: https://api.agora.io/v1/apps/&lt;appid&gt;/cloud_recording/resourceid/&lt;resourceid&gt;/sid/&lt;sid&gt;/mode/&lt;mode&gt;/update
 	 */
-	UPDATE_CLOUD_RECORDING_LAYOUT("更新合流布局", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/resourceid/{1}/sid/{2}/mode/{3}/update"),
+	UPDATE_CLOUD_RECORDING_LAYOUT(AgoraApiGroup.CLOUD_RECORDING, "更新合流布局", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/resourceid/{1}/sid/{2}/mode/{3}/update"),
 	/**
 	 * 查询云端录制状态
 	 * URL: https://api.agora.io/v1/apps/&lt;yourappid&gt;/cloud_recording/resourceid/&lt;resourceid&gt;/sid/&lt;sid&gt;/mode/&lt;mode&gt;/query
 	 */
-	QUERY_CLOUD_RECORDING("查询云端录制状态", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/resourceid/{1}/sid/{2}/mode/{3}/query"),
+	QUERY_CLOUD_RECORDING(AgoraApiGroup.CLOUD_RECORDING, "查询云端录制状态", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/resourceid/{1}/sid/{2}/mode/{3}/query"),
 	/**
 	 * 停止云端录制
 	 * URL:  https://api.agora.io/v1/apps/&lt;yourappid&gt;/cloud_recording/resourceid/&lt;resourceid&gt;/sid/&lt;sid&gt;/mode/&lt;mode&gt;/stop
 	 */
-	STOP_CLOUD_RECORDING("停止云端录制", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/resourceid/{1}/sid/{2}/mode/{3}/stop"),
+	STOP_CLOUD_RECORDING(AgoraApiGroup.CLOUD_RECORDING, "停止云端录制", RequestMethod.POST,"https://api.agora.io/v1/apps/{0}/cloud_recording/resourceid/{1}/sid/{2}/mode/{3}/stop"),
 
 	// ---------------- 项目管理 ------------------
 
 	/**
 	 * 创建项目
 	 */
-	PROJECT_POST("创建项目", RequestMethod.POST,"https://api.agora.io/v1/project"),
+	PROJECT_POST(AgoraApiGroup.PROJECT, "创建项目", RequestMethod.POST,"https://api.agora.io/v1/project"),
 	/**
 	 * 获取指定项目
 	 */
-	PROJECT_GET("获取指定项目", RequestMethod.POST,"https://api.agora.io/v1/project"),
+	PROJECT_GET(AgoraApiGroup.PROJECT, "获取指定项目", RequestMethod.POST,"https://api.agora.io/v1/project"),
 	/**
 	 * 获取所有项目
 	 */
-	PROJECTS_GET("获取所有项目", RequestMethod.POST,"https://api.agora.io/v1/projects"),
+	PROJECTS_GET(AgoraApiGroup.PROJECT, "获取所有项目", RequestMethod.POST,"https://api.agora.io/v1/projects"),
 	/**
 	 * 禁用或启用项目
 	 */
-	PROJECT_STATUS_POST("禁用或启用项目", RequestMethod.POST,"https://api.agora.io/v1/projects_status"),
+	PROJECT_STATUS_POST(AgoraApiGroup.PROJECT, "禁用或启用项目", RequestMethod.POST,"https://api.agora.io/v1/projects_status"),
 	/**
 	 *获取指定项目的用量数据
 	 */
-	PROJECT_USAGE_GET("获取指定项目的用量数据", RequestMethod.POST,"https://api.agora.io/v3/usage"),
+	PROJECT_USAGE_GET(AgoraApiGroup.PROJECT, "获取指定项目的用量数据", RequestMethod.POST,"https://api.agora.io/v3/usage"),
 	/**
 	 * 设置录制服务器 IP
 	 */
-	RECORDING_CONFIG_POST("设置录制服务器 IP", RequestMethod.POST,"https://api.agora.io/v1/recording_config"),
+	RECORDING_CONFIG_POST(AgoraApiGroup.PROJECT, "设置录制服务器 IP", RequestMethod.POST,"https://api.agora.io/v1/recording_config"),
 	/**
 	 * 启用或禁用主要 App 证书
 	 */
-	SIGNKEY_POST("启用或禁用主要 App 证书", RequestMethod.POST,"https://api.agora.io/v1/signkey"),
+	SIGNKEY_POST(AgoraApiGroup.PROJECT, "启用或禁用主要 App 证书", RequestMethod.POST,"https://api.agora.io/v1/signkey"),
 	/**
 	 *重置主要 App 证书
 	 */
-	SIGNKEY_RESET_POST("重置主要 App 证书", RequestMethod.POST,"https://api.agora.io/v1/reset_signkey"),
+	SIGNKEY_RESET_POST(AgoraApiGroup.PROJECT, "重置主要 App 证书", RequestMethod.POST,"https://api.agora.io/v1/reset_signkey"),
 
 	// ---------------- 封禁用户权限 ------------------
 
 	/**
 	 * 创建封禁用户权限规则
 	 */
-	KICKING_RULE_POST("创建封禁用户权限规则", RequestMethod.POST,"https://api.agora.io/v1/kicking-rule"),
+	KICKING_RULE_POST(AgoraApiGroup.KICKING_RULE, "创建封禁用户权限规则", RequestMethod.POST,"https://api.agora.io/v1/kicking-rule"),
 	/**
 	 * 获取封禁用户权限规则列表
 	 */
-	KICKING_RULE_GET("获取封禁用户权限规则列表", RequestMethod.POST,"https://api.agora.io/v1/kicking-rule"),
+	KICKING_RULE_GET(AgoraApiGroup.KICKING_RULE, "获取封禁用户权限规则列表", RequestMethod.POST,"https://api.agora.io/v1/kicking-rule"),
 	/**
 	 * 更新封禁用户权限规则的生效时间
 	 */
-	KICKING_RULE_PUT("更新封禁用户权限规则的生效时间", RequestMethod.POST,"https://api.agora.io/v1/kicking-rule"),
+	KICKING_RULE_PUT(AgoraApiGroup.KICKING_RULE, "更新封禁用户权限规则的生效时间", RequestMethod.POST,"https://api.agora.io/v1/kicking-rule"),
 	/**
 	 * 删除封禁用户权限规则
 	 */
-	KICKING_RULE_DELETE("删除封禁用户权限规则", RequestMethod.POST,"https://api.agora.io/v1/kicking-rule"),
+	KICKING_RULE_DELETE(AgoraApiGroup.KICKING_RULE, "删除封禁用户权限规则", RequestMethod.POST,"https://api.agora.io/v1/kicking-rule"),
 
 	// ---------------- 查询在线频道信息 ------------------
 
@@ -102,31 +102,37 @@ public enum AgoraApiAddress {
 	 * 查询用户状态
 	 * URL:  https://api.agora.io/v1/channel/user/property/{appid}/{uid}/{channelName}
 	 */
-	CHANNEL_USER_STATE("查询用户状态", RequestMethod.GET,"https://api.agora.io/dev/v1/channel/user/property/{0}/{1}/{2}"),
+	CHANNEL_USER_STATE(AgoraApiGroup.CHANNEL, "查询用户状态", RequestMethod.GET,"https://api.agora.io/dev/v1/channel/user/property/{0}/{1}/{2}"),
 	/**
 	 * 获取用户列表
 	 * URL:  https://api.agora.io/v1/channel/user/{appid}/{channelName}
 	 */
-	CHANNEL_USER_LIST("获取用户列表", RequestMethod.GET,"https://api.agora.io/dev/v1/channel/user/{0}/{1}"),
+	CHANNEL_USER_LIST(AgoraApiGroup.CHANNEL, "获取用户列表", RequestMethod.GET,"https://api.agora.io/dev/v1/channel/user/{0}/{1}"),
 	/**
 	 * 分页查询项目的频道列表
 	 * URL:  https://api.agora.io/v1/channel/{appid}
 	 */
-	CHANNEL_LIST("分页查询项目的频道列表", RequestMethod.GET,"https://api.agora.io/dev/v1/channel/{0}"),
+	CHANNEL_LIST(AgoraApiGroup.CHANNEL, "分页查询项目的频道列表", RequestMethod.GET,"https://api.agora.io/dev/v1/channel/{0}"),
 
 	 ;
 
+	private AgoraApiGroup group;
 	private String opt;
 
 	private RequestMethod method;
 	private String url;
 
-    AgoraApiAddress(String opt, RequestMethod method,String url) {
+    AgoraApiAddress(AgoraApiGroup group, String opt, RequestMethod method,String url) {
+		this.group = group;
 		this.opt = opt;
 		this.method = method;
 		this.url = url;
 	}
 
+	public AgoraApiGroup getGroup() {
+		return group;
+	}
+
 	public String getOpt() {
 		return opt;
 	}
@@ -139,6 +145,14 @@ public enum AgoraApiAddress {
 		return url;
 	}
 
+	/**
+	 * 是否为幂等的查询类接口：GET 请求与查询云端录制状态，默认允许重试
+	 * @return 是否幂等
+	 */
+	public boolean isIdempotent() {
+		return RequestMethod.GET.equals(method) || QUERY_CLOUD_RECORDING.equals(this);
+	}
+
 	public String getUrl(Object ...args) {
 		return MessageFormat.format(url, args);
 	}
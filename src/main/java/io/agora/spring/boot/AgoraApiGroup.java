@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+/**
+ * 声网 RESTful 接口分组：同组接口共享限流、熔断等策略，与声网按 App ID 对各类接口分别计算 QPS 的方式一致
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public enum AgoraApiGroup {
+
+	/**
+	 * 云端录制
+	 */
+	CLOUD_RECORDING,
+	/**
+	 * 查询在线频道信息
+	 */
+	CHANNEL,
+	/**
+	 * 项目管理
+	 */
+	PROJECT,
+	/**
+	 * 封禁用户权限
+	 */
+	KICKING_RULE
+
+}
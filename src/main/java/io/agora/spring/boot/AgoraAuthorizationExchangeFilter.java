@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * 声网 RESTful 认证过滤器：WebClient 版本的 {@link AgoraAuthorizationInterceptor}
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraAuthorizationExchangeFilter implements ExchangeFilterFunction {
+
+	private final AgoraCredentialsHolder credentialsHolder;
+
+	public AgoraAuthorizationExchangeFilter(AgoraCredentialsHolder credentialsHolder) {
+		this.credentialsHolder = credentialsHolder;
+	}
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		// 调用方已显式指定认证信息时不做覆盖
+		if (request.headers().containsKey(AgoraAuthorizationInterceptor.AUTHORIZATION)) {
+			return next.exchange(request);
+		}
+		return next.exchange(ClientRequest.from(request)
+				.header(AgoraAuthorizationInterceptor.AUTHORIZATION, credentialsHolder.getAuthorizationHeader())
+				.build());
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * 声网 RESTful 认证拦截器：为每个请求附加预先计算好的 Basic Authorization 请求头
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraAuthorizationInterceptor implements Interceptor {
+
+	public static final String AUTHORIZATION = "Authorization";
+
+	private final AgoraCredentialsHolder credentialsHolder;
+
+	public AgoraAuthorizationInterceptor(AgoraCredentialsHolder credentialsHolder) {
+		this.credentialsHolder = credentialsHolder;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		// 调用方已显式指定认证信息时不做覆盖
+		if (Objects.nonNull(request.header(AUTHORIZATION))) {
+			return chain.proceed(request);
+		}
+		return chain.proceed(request.newBuilder().header(AUTHORIZATION, credentialsHolder.getAuthorizationHeader()).build());
+	}
+
+	public AgoraCredentialsHolder getCredentialsHolder() {
+		return credentialsHolder;
+	}
+
+}
@@ -5,8 +5,14 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import io.agora.media.RtcTokenBuilder;
+import io.agora.media.SaltGenerator;
+import io.agora.media.TokenVerifier;
 import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,33 +21,133 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties({ AgoraProperties.class})
 public class AgoraAutoConfiguration {
 
+	public static final String AGORA_OKHTTP3_CLIENT = "agoraOkHttp3Client";
+
+	@Bean
+	@ConditionalOnMissingBean
+	public AgoraCredentialsHolder agoraCredentialsHolder(AgoraProperties poolProperties) {
+		return new AgoraCredentialsHolder(poolProperties);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public AgoraAuthorizationInterceptor agoraAuthorizationInterceptor(AgoraCredentialsHolder agoraCredentialsHolder) {
+		return new AgoraAuthorizationInterceptor(agoraCredentialsHolder);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public AgoraRetryInterceptor agoraRetryInterceptor(AgoraProperties poolProperties) {
+		return new AgoraRetryInterceptor(poolProperties.getRetry());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public AgoraCircuitBreakerInterceptor agoraCircuitBreakerInterceptor(AgoraProperties poolProperties) {
+		return new AgoraCircuitBreakerInterceptor(poolProperties.getCircuitBreaker());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public AgoraRateLimitInterceptor agoraRateLimitInterceptor(AgoraProperties poolProperties) {
+		return new AgoraRateLimitInterceptor(poolProperties.getRateLimit());
+	}
+
+	/**
+	 * 声网专用 OkHttpClient：不参与按类型注入，避免与应用自身的 OkHttpClient Bean 冲突；
+	 * 如需替换，声明同名 Bean 即可
+	 */
+	@Bean(name = AGORA_OKHTTP3_CLIENT, autowireCandidate = false)
+	@ConditionalOnMissingBean(name = AGORA_OKHTTP3_CLIENT)
+	public OkHttpClient agoraOkHttp3Client(AgoraProperties poolProperties,
+										   ObjectProvider<AgoraOkHttp3ClientCustomizer> customizerProvider,
+										   AgoraRetryInterceptor agoraRetryInterceptor,
+										   AgoraCircuitBreakerInterceptor agoraCircuitBreakerInterceptor,
+										   AgoraRateLimitInterceptor agoraRateLimitInterceptor) {
+		OkHttpClient.Builder builder = AgoraOkHttp3Template.newClientBuilder(poolProperties.getHttp());
+		customizerProvider.orderedStream().forEach(customizer -> customizer.customize(builder));
+		// 重试位于定制拦截器（如指标）之内，熔断与限流位于重试之内，每次尝试均计入熔断统计、消耗令牌并由认证拦截器附加请求头
+		builder.addInterceptor(agoraRetryInterceptor);
+		builder.addInterceptor(agoraCircuitBreakerInterceptor);
+		builder.addInterceptor(agoraRateLimitInterceptor);
+		return builder.build();
+	}
+
 	@Bean
-	public AgoraOkHttp3Template agoraOkHttp3Template(ObjectProvider<OkHttpClient> okhttp3ClientProvider,
+	@ConditionalOnMissingBean
+	public AgoraJsonCodec agoraJsonCodec(ObjectProvider<ObjectMapper> objectMapperProvider,
+										 AgoraProperties poolProperties) {
+		if (AgoraJsonCodec.Engine.FASTJSON2.equals(poolProperties.getJsonEngine())) {
+			return new AgoraFastjson2Codec();
+		}
+		return new AgoraJacksonCodec(objectMapperProvider.getIfAvailable(AgoraAutoConfiguration::defaultObjectMapper));
+	}
+
+	@Bean
+	public AgoraOkHttp3Template agoraOkHttp3Template(BeanFactory beanFactory,
 													 ObjectProvider<ObjectMapper> objectMapperProvider,
-													 AgoraProperties poolProperties) {
+													 AgoraProperties poolProperties,
+													 AgoraAuthorizationInterceptor agoraAuthorizationInterceptor,
+													 AgoraRetryInterceptor agoraRetryInterceptor,
+													 AgoraRateLimitInterceptor agoraRateLimitInterceptor,
+													 AgoraJsonCodec agoraJsonCodec) {
 
-		OkHttpClient okhttp3Client = okhttp3ClientProvider.getIfAvailable(() -> new OkHttpClient.Builder().build());
+		OkHttpClient okhttp3Client = beanFactory.getBean(AGORA_OKHTTP3_CLIENT, OkHttpClient.class);
 
-		ObjectMapper objectMapper = objectMapperProvider.getIfAvailable(() -> {
-			ObjectMapper objectMapperDef = new ObjectMapper();
-			objectMapperDef.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-			objectMapperDef.enable(MapperFeature.USE_GETTERS_AS_SETTERS);
-			objectMapperDef.enable(MapperFeature.ALLOW_FINAL_FIELDS_AS_MUTATORS);
-			objectMapperDef.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
-			objectMapperDef.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
-			return objectMapperDef;
-		});
+		ObjectMapper objectMapper = objectMapperProvider.getIfAvailable(AgoraAutoConfiguration::defaultObjectMapper);
+
+		return new AgoraOkHttp3Template(okhttp3Client, objectMapper, poolProperties, agoraAuthorizationInterceptor, agoraJsonCodec,
+				agoraRetryInterceptor, agoraRateLimitInterceptor);
+	}
 
-		return new AgoraOkHttp3Template(okhttp3Client, objectMapper, poolProperties);
+	@Bean
+	@ConditionalOnMissingBean
+	public SaltGenerator agoraSaltGenerator(AgoraProperties poolProperties) {
+		return poolProperties.getToken().getSalt().create();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public RtcTokenBuilder agoraRtcTokenBuilder(SaltGenerator agoraSaltGenerator) {
+		return new RtcTokenBuilder(agoraSaltGenerator);
+	}
+
+	/**
+	 * 校验本应用签发的 006/007 Token，需配置 agora.app-id 与 agora.app-certificate
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = AgoraProperties.PREFIX, name = { "app-id", "app-certificate" })
+	public TokenVerifier agoraTokenVerifier(AgoraProperties poolProperties) {
+		return new TokenVerifier(poolProperties.getAppId(), poolProperties.getAppCertificate());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = AgoraProperties.PREFIX + ".token.cache", name = "enabled", havingValue = "true")
+	public AgoraTokenCache agoraTokenCache(AgoraProperties poolProperties) {
+		return new AgoraTokenCache(poolProperties.getToken().getCache());
 	}
 
 	@Bean
 	public AgoraTemplate agoraTemplate(ObjectProvider<AgoraUserIdProvider> agoraUserIdProvider,
 									   AgoraOkHttp3Template agoraOkHttp3Template,
-									   AgoraProperties poolProperties) {
+									   AgoraProperties poolProperties,
+									   RtcTokenBuilder agoraRtcTokenBuilder,
+									   ObjectProvider<AgoraTokenCache> agoraTokenCache) {
 		return new AgoraTemplate(agoraUserIdProvider.getIfAvailable(() -> {
 			return new AgoraUserIdProvider() {};
-		}), agoraOkHttp3Template, poolProperties );
+		}), agoraOkHttp3Template, poolProperties, agoraRtcTokenBuilder, agoraTokenCache.getIfAvailable());
+	}
+
+	static ObjectMapper defaultObjectMapper() {
+		ObjectMapper objectMapperDef = new ObjectMapper();
+		objectMapperDef.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+		objectMapperDef.enable(MapperFeature.USE_GETTERS_AS_SETTERS);
+		objectMapperDef.enable(MapperFeature.ALLOW_FINAL_FIELDS_AS_MUTATORS);
+		objectMapperDef.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+		objectMapperDef.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		return objectMapperDef;
 	}
 
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个接口分组的熔断器：基于最近 sliding-window-size 次调用的失败率在 CLOSED/OPEN/HALF_OPEN 间切换。
+ * <ul>
+ * <li>CLOSED：正常放行，窗口内调用数达到 minimum-number-of-calls 且失败率达到阈值时打开</li>
+ * <li>OPEN：直接拒绝，持续 wait-duration-in-open-state 后转为 HALF_OPEN</li>
+ * <li>HALF_OPEN：仅放行 permitted-calls-in-half-open-state 个探测请求，全部成功则关闭，任一失败则重新打开</li>
+ * </ul>
+ * 每次状态切换递增代数，{@link #acquirePermission()} 返回的许可携带当前代数；
+ * 调用结果回报时代数已变化（如 CLOSED 期间放行的慢请求在 HALF_OPEN 后才返回）则忽略，不计为探测结果
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+@Slf4j
+public class AgoraCircuitBreaker {
+
+	private final AgoraApiGroup group;
+	private final AgoraProperties.CircuitBreaker config;
+	/** 环形窗口，true 表示失败 */
+	private final boolean[] window;
+	private int windowIndex;
+	private int bufferedCalls;
+	private int failedCalls;
+	private State state = State.CLOSED;
+	private long openedAtNanos;
+	private int halfOpenPermits;
+	private int halfOpenSuccesses;
+	/** 累计拒绝次数，作为 Micrometer 计数器导出，reset 时不清零 */
+	private long notPermittedCalls;
+	private long generation;
+
+	public AgoraCircuitBreaker(AgoraApiGroup group, AgoraProperties.CircuitBreaker config) {
+		this.group = group;
+		this.config = config;
+		this.window = new boolean[Math.max(1, config.getSlidingWindowSize())];
+	}
+
+	/**
+	 * 获取调用许可，熔断器打开或半开探测名额用尽时抛出 {@link AgoraCircuitOpenException}
+	 * @return 调用许可，回报结果或归还许可时原样传回
+	 * @throws AgoraCircuitOpenException 熔断器拒绝调用
+	 */
+	public synchronized long acquirePermission() throws AgoraCircuitOpenException {
+		if (state == State.OPEN) {
+			long remainingNanos = openedAtNanos + config.getWaitDurationInOpenState().toNanos() - System.nanoTime();
+			if (remainingNanos > 0) {
+				notPermittedCalls++;
+				throw new AgoraCircuitOpenException(group, "retry after " + TimeUnit.NANOSECONDS.toMillis(remainingNanos) + "ms");
+			}
+			this.transitionTo(State.HALF_OPEN);
+		}
+		if (state == State.HALF_OPEN) {
+			if (halfOpenPermits <= 0) {
+				notPermittedCalls++;
+				throw new AgoraCircuitOpenException(group, "half-open probe in progress");
+			}
+			halfOpenPermits--;
+		}
+		return generation;
+	}
+
+	/**
+	 * 归还未实际发出请求的调用许可（如被本地限流拒绝），不计入成功或失败
+	 */
+	public synchronized void releasePermission(long permission) {
+		if (permission == generation && state == State.HALF_OPEN) {
+			halfOpenPermits++;
+		}
+	}
+
+	public synchronized void onSuccess(long permission) {
+		if (permission != generation) {
+			return;
+		}
+		if (state == State.HALF_OPEN) {
+			if (++halfOpenSuccesses >= config.getPermittedCallsInHalfOpenState()) {
+				this.transitionTo(State.CLOSED);
+			}
+		} else if (state == State.CLOSED) {
+			this.record(false);
+		}
+	}
+
+	public synchronized void onFailure(long permission) {
+		if (permission != generation) {
+			return;
+		}
+		if (state == State.HALF_OPEN) {
+			this.transitionTo(State.OPEN);
+		} else if (state == State.CLOSED) {
+			this.record(true);
+			if (bufferedCalls >= config.getMinimumNumberOfCalls() && this.getFailureRate() >= config.getFailureRateThreshold()) {
+				this.transitionTo(State.OPEN);
+			}
+		}
+	}
+
+	/**
+	 * 强制关闭熔断器并清空统计窗口，累计拒绝次数保持不变
+	 */
+	public synchronized void reset() {
+		this.transitionTo(State.CLOSED);
+	}
+
+	private void record(boolean failure) {
+		if (bufferedCalls == window.length) {
+			if (window[windowIndex]) {
+				failedCalls--;
+			}
+		} else {
+			bufferedCalls++;
+		}
+		window[windowIndex] = failure;
+		if (failure) {
+			failedCalls++;
+		}
+		windowIndex = (windowIndex + 1) % window.length;
+	}
+
+	private void transitionTo(State newState) {
+		if (state != newState) {
+			if (newState == State.OPEN) {
+				log.warn("Agora {} circuit breaker {} -> OPEN, failure rate : {}%", group, state, this.getFailureRate());
+			} else {
+				log.debug("Agora {} circuit breaker {} -> {}", group, state, newState);
+			}
+		}
+		state = newState;
+		generation++;
+		switch (newState) {
+			case OPEN:
+				openedAtNanos = System.nanoTime();
+				break;
+			case HALF_OPEN:
+				halfOpenPermits = Math.max(1, config.getPermittedCallsInHalfOpenState());
+				halfOpenSuccesses = 0;
+				break;
+			default:
+				windowIndex = 0;
+				bufferedCalls = 0;
+				failedCalls = 0;
+				break;
+		}
+	}
+
+	public AgoraApiGroup getGroup() {
+		return group;
+	}
+
+	public synchronized State getState() {
+		// 打开时间已过但尚无请求触发时，对外展示为半开
+		if (state == State.OPEN && System.nanoTime() - openedAtNanos >= config.getWaitDurationInOpenState().toNanos()) {
+			return State.HALF_OPEN;
+		}
+		return state;
+	}
+
+	/**
+	 * @return 统计窗口内的失败率（百分比），窗口为空时返回 0
+	 */
+	public synchronized float getFailureRate() {
+		return bufferedCalls == 0 ? 0f : failedCalls * 100f / bufferedCalls;
+	}
+
+	public synchronized int getBufferedCalls() {
+		return bufferedCalls;
+	}
+
+	public synchronized int getFailedCalls() {
+		return failedCalls;
+	}
+
+	public synchronized long getNotPermittedCalls() {
+		return notPermittedCalls;
+	}
+
+	public enum State {
+
+		/**
+		 * 关闭：正常放行
+		 */
+		CLOSED,
+		/**
+		 * 打开：快速失败
+		 */
+		OPEN,
+		/**
+		 * 半开：放行少量探测请求
+		 */
+		HALF_OPEN
+
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 声网接口分组熔断器状态端点：GET /actuator/agoracircuitbreakers[/{group}] 查看状态，
+ * DELETE /actuator/agoracircuitbreakers/{group} 强制关闭并清空统计
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+@Endpoint(id = "agoracircuitbreakers")
+public class AgoraCircuitBreakerEndpoint {
+
+	private final AgoraCircuitBreakerInterceptor circuitBreakerInterceptor;
+
+	public AgoraCircuitBreakerEndpoint(AgoraCircuitBreakerInterceptor circuitBreakerInterceptor) {
+		this.circuitBreakerInterceptor = circuitBreakerInterceptor;
+	}
+
+	@ReadOperation
+	public Map<AgoraApiGroup, Map<String, Object>> circuitBreakers() {
+		Map<AgoraApiGroup, Map<String, Object>> descriptors = new LinkedHashMap<>();
+		circuitBreakerInterceptor.getCircuitBreakers().forEach((group, circuitBreaker) -> descriptors.put(group, this.describe(circuitBreaker)));
+		return descriptors;
+	}
+
+	@ReadOperation
+	public Map<String, Object> circuitBreaker(@Selector AgoraApiGroup group) {
+		return this.describe(circuitBreakerInterceptor.getCircuitBreaker(group));
+	}
+
+	@DeleteOperation
+	public Map<String, Object> reset(@Selector AgoraApiGroup group) {
+		AgoraCircuitBreaker circuitBreaker = circuitBreakerInterceptor.getCircuitBreaker(group);
+		circuitBreaker.reset();
+		return this.describe(circuitBreaker);
+	}
+
+	private Map<String, Object> describe(AgoraCircuitBreaker circuitBreaker) {
+		Map<String, Object> descriptor = new LinkedHashMap<>();
+		descriptor.put("state", circuitBreaker.getState());
+		descriptor.put("failureRate", circuitBreaker.getFailureRate());
+		descriptor.put("bufferedCalls", circuitBreaker.getBufferedCalls());
+		descriptor.put("failedCalls", circuitBreaker.getFailedCalls());
+		descriptor.put("notPermittedCalls", circuitBreaker.getNotPermittedCalls());
+		return descriptor;
+	}
+
+}
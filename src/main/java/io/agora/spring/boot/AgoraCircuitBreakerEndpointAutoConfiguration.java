@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 声网熔断器 Actuator 端点：引入 spring-boot-actuator-autoconfigure 且端点已暴露时注册
+ */
+@Configuration
+@ConditionalOnClass(Endpoint.class)
+@AutoConfigureAfter(AgoraAutoConfiguration.class)
+public class AgoraCircuitBreakerEndpointAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnBean(AgoraCircuitBreakerInterceptor.class)
+	@ConditionalOnAvailableEndpoint(endpoint = AgoraCircuitBreakerEndpoint.class)
+	public AgoraCircuitBreakerEndpoint agoraCircuitBreakerEndpoint(AgoraCircuitBreakerInterceptor agoraCircuitBreakerInterceptor) {
+		return new AgoraCircuitBreakerEndpoint(agoraCircuitBreakerInterceptor);
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 声网 RESTful 请求熔断拦截器：按 {@link AgoraApiGroup} 维护 {@link AgoraCircuitBreaker}，
+ * 网络异常与 failure-status 中的响应计为失败；熔断器打开时立即抛出 {@link AgoraCircuitOpenException}，不再等待读超时。
+ * 位于重试拦截器之内、限流拦截器之外，每次尝试均计入统计，被拒绝的请求不消耗限流令牌；未携带 tag 的请求直接放行
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraCircuitBreakerInterceptor implements Interceptor {
+
+	private final AgoraProperties.CircuitBreaker config;
+	private final Map<AgoraApiGroup, AgoraCircuitBreaker> circuitBreakers = new EnumMap<>(AgoraApiGroup.class);
+
+	public AgoraCircuitBreakerInterceptor(AgoraProperties.CircuitBreaker config) {
+		this.config = config;
+		for (AgoraApiGroup group : AgoraApiGroup.values()) {
+			circuitBreakers.put(group, new AgoraCircuitBreaker(group, config));
+		}
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		AgoraApiAddress address = request.tag(AgoraApiAddress.class);
+		if (!config.isEnabled() || Objects.isNull(address)) {
+			return chain.proceed(request);
+		}
+		AgoraCircuitBreaker circuitBreaker = circuitBreakers.get(address.getGroup());
+		long permission = circuitBreaker.acquirePermission();
+		Response response;
+		try {
+			response = chain.proceed(request);
+		} catch (AgoraRateLimitedException e) {
+			circuitBreaker.releasePermission(permission);
+			throw e;
+		} catch (IOException e) {
+			if (Objects.nonNull(chain.call()) && chain.call().isCanceled()) {
+				circuitBreaker.releasePermission(permission);
+			} else {
+				circuitBreaker.onFailure(permission);
+			}
+			throw e;
+		} catch (RuntimeException e) {
+			circuitBreaker.onFailure(permission);
+			throw e;
+		}
+		if (config.getFailureStatus().contains(response.code())) {
+			circuitBreaker.onFailure(permission);
+		} else {
+			circuitBreaker.onSuccess(permission);
+		}
+		return response;
+	}
+
+	public AgoraCircuitBreaker getCircuitBreaker(AgoraApiGroup group) {
+		return circuitBreakers.get(group);
+	}
+
+	public Map<AgoraApiGroup, AgoraCircuitBreaker> getCircuitBreakers() {
+		return Collections.unmodifiableMap(circuitBreakers);
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 声网接口分组熔断器指标：每个分组每种状态一个 Gauge（当前状态为 1，其余为 0），以及失败率与拒绝次数
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraCircuitBreakerMetricsBinder implements MeterBinder {
+
+	private final AgoraCircuitBreakerInterceptor circuitBreakerInterceptor;
+
+	public AgoraCircuitBreakerMetricsBinder(AgoraCircuitBreakerInterceptor circuitBreakerInterceptor) {
+		this.circuitBreakerInterceptor = circuitBreakerInterceptor;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (AgoraCircuitBreaker circuitBreaker : circuitBreakerInterceptor.getCircuitBreakers().values()) {
+			String group = circuitBreaker.getGroup().name();
+			for (AgoraCircuitBreaker.State state : AgoraCircuitBreaker.State.values()) {
+				Gauge.builder("agora.circuit.breaker.state", circuitBreaker, cb -> cb.getState() == state ? 1 : 0)
+						.tag("group", group)
+						.tag("state", state.name())
+						.description("Current state of the Agora circuit breaker")
+						.register(registry);
+			}
+			Gauge.builder("agora.circuit.breaker.failure.rate", circuitBreaker, AgoraCircuitBreaker::getFailureRate)
+					.tag("group", group)
+					.description("Failure rate in percent over the Agora circuit breaker sliding window")
+					.register(registry);
+			FunctionCounter.builder("agora.circuit.breaker.not.permitted", circuitBreaker, AgoraCircuitBreaker::getNotPermittedCalls)
+					.tag("group", group)
+					.description("Agora calls rejected by an open circuit breaker")
+					.register(registry);
+		}
+	}
+
+}
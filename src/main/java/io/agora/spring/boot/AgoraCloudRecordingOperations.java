@@ -53,16 +53,8 @@ public class AgoraCloudRecordingOperations extends AgoraOperations {
 	 */
 	public AcquireResourceResponse acquireId(String userId, String uid) throws IOException {
 
-		HashMap<String, Object> hashMap = new HashMap<>();
-		hashMap.put("resourceExpiredHour", 24);
-		hashMap.put("scene", 0);
-
 		String cnameString = getChannelByUserId(userId);
-		Map<String, Object> requestBody = new ImmutableMap.Builder<String, Object>()
-				.put("cname", cnameString)
-				.put("uid", uid)
-				.put("clientRequest", hashMap)
-				.build();
+		Map<String, Object> requestBody = acquireRequestBody(cnameString, uid, null, 24, 0);
 
         String reqUrl = AgoraApiAddress.ACQUIRE_RESOURCE_ID.getUrl(getAgoraProperties().getAppId());
         AcquireResourceResponse resp = super.post(AgoraApiAddress.ACQUIRE_RESOURCE_ID, reqUrl, requestBody, AcquireResourceResponse.class);
@@ -89,17 +81,8 @@ public class AgoraCloudRecordingOperations extends AgoraOperations {
 	 */
 	public AcquireResourceResponse acquireId(String userId, String uid, String region, int expiredHour, int scene) throws IOException {
 
-		HashMap<String, Object> hashMap = new HashMap<>();
-		hashMap.put("region", region);
-		hashMap.put("resourceExpiredHour", expiredHour);
-		hashMap.put("scene", scene);
-
 		String cnameString = getChannelByUserId(userId);
-		Map<String, Object> requestBody = new ImmutableMap.Builder<String, Object>()
-				.put("cname", cnameString)
-				.put("uid", uid)
-				.put("clientRequest", hashMap)
-				.build();
+		Map<String, Object> requestBody = acquireRequestBody(cnameString, uid, region, expiredHour, scene);
 
         String reqUrl = AgoraApiAddress.ACQUIRE_RESOURCE_ID.getUrl(getAgoraProperties().getAppId());
         AcquireResourceResponse resp = super.post(AgoraApiAddress.ACQUIRE_RESOURCE_ID, reqUrl, requestBody, AcquireResourceResponse.class);
@@ -261,42 +244,8 @@ public class AgoraCloudRecordingOperations extends AgoraOperations {
 			RecordingStorageConfig storageConfig,
 			RecordingExtensionServiceConfig extensionServiceConfig) throws IOException {
 
-		HashMap<String, Object> hashMap = new HashMap<>();
-		if(StringUtils.hasText(token)){
-			hashMap.put("token", token);
-		}
-
-		// 2、应用设置
-		if(Objects.isNull(appsCollection)) {
-			appsCollection = new RecordingAppsCollectionConfig();
-		}
-		hashMap.put("appsCollection", appsCollection);
-		// 3、媒体流订阅、转码、输出音视频属性的设置
-		if(Objects.isNull(recordingConfig)) {
-			recordingConfig = DEFAULT_RECORDING_CONFIG;
-		}
-		hashMap.put("recordingConfig", recordingConfig);
-		// 4、录制文件的设置
-		if(Objects.isNull(recordingFileConfig)) {
-			recordingFileConfig = DEFAULT_RECORDING_FILE_CONFIG;
-		}
-		hashMap.put("recordingFileConfig", recordingFileConfig);
-		// 5、截图周期、截图文件的设置
-		if(Objects.nonNull(snapshotConfig)) {
-			hashMap.put("snapshotConfig", snapshotConfig);
-		}
-		// 6、第三方云存储的设置
-		hashMap.put("storageConfig", storageConfig);
-		// 7、扩展服务的设置，目前包括阿里云视频点播服务和页面录制的设置
-		if(Objects.nonNull(extensionServiceConfig)) {
-			hashMap.put("extensionServiceConfig", extensionServiceConfig);
-		}
-
-		Map<String, Object> requestBody = new ImmutableMap.Builder<String, Object>()
-				.put("cname", channelName)
-				.put("uid", uid)
-				.put("clientRequest", hashMap)
-				.build();
+		Map<String, Object> requestBody = startRequestBody(channelName, uid, token, appsCollection, recordingConfig,
+				recordingFileConfig, snapshotConfig, storageConfig, extensionServiceConfig);
 
         String reqUrl = AgoraApiAddress.START_CLOUD_RECORDING.getUrl(getAgoraProperties().getAppId(), resourceId, mode.getName());
         CloudRecordingStartResponse resp = super.post(AgoraApiAddress.START_CLOUD_RECORDING, reqUrl, requestBody, CloudRecordingStartResponse.class);
@@ -369,25 +318,7 @@ public class AgoraCloudRecordingOperations extends AgoraOperations {
 			RecordingUpdateWebConfig webRecordingConfig,
 		    RecordingUpdateRtmpPublishConfig rtmpPublishConfig) throws IOException {
 
-		HashMap<String, Object> hashMap = new HashMap<>();
-		// 1、用于更新订阅名单。仅适用于单流录制模式 individual和合流录制模式 mix
-		if(Objects.nonNull(streamSubscribe)) {
-			hashMap.put("streamSubscribe", streamSubscribe);
-		}
-		// 2、用于更新页面录制参数。仅适用于页面录制模式 web
-		if(Objects.nonNull(webRecordingConfig)) {
-			hashMap.put("webRecordingConfig", webRecordingConfig );
-		}
-		// 3、用于更新页面录制并推流到 CDN 的参数。仅适用于页面录制模式 web
-		if(Objects.nonNull(webRecordingConfig)) {
-			hashMap.put("webRecordingConfig", webRecordingConfig);
-		}
-
-		Map<String, Object> requestBody = new ImmutableMap.Builder<String, Object>()
-				.put("cname", channelName)
-				.put("uid", uid)
-				.put("clientRequest", hashMap)
-				.build();
+		Map<String, Object> requestBody = updateRequestBody(channelName, uid, streamSubscribe, webRecordingConfig, rtmpPublishConfig);
 
         String reqUrl = AgoraApiAddress.UPDATE_CLOUD_RECORDING.getUrl(getAgoraProperties().getAppId(), resourceId, sid, mode.getName());
         CloudRecordingUpdateResponse resp = super.post(AgoraApiAddress.UPDATE_CLOUD_RECORDING, reqUrl, requestBody, CloudRecordingUpdateResponse.class);
@@ -414,11 +345,7 @@ public class AgoraCloudRecordingOperations extends AgoraOperations {
 	public CloudRecordingUpdateLayoutResponse updateLayout(String channelName, String uid, String resourceId, String sid, RecordingMode mode,
 			RecordingUpdateTranscodingConfig transcodingConfig) throws IOException {
 
-		Map<String, Object> requestBody = new ImmutableMap.Builder<String, Object>()
-				.put("cname", channelName)
-				.put("uid", uid)
-				.put("clientRequest", transcodingConfig)
-				.build();
+		Map<String, Object> requestBody = requestBody(channelName, uid, transcodingConfig);
 
         String reqUrl = AgoraApiAddress.UPDATE_CLOUD_RECORDING_LAYOUT.getUrl(getAgoraProperties().getAppId(), resourceId, sid, mode.getName());
         CloudRecordingUpdateLayoutResponse resp = super.post(AgoraApiAddress.UPDATE_CLOUD_RECORDING_LAYOUT, reqUrl, requestBody, CloudRecordingUpdateLayoutResponse.class);
@@ -471,16 +398,110 @@ public class AgoraCloudRecordingOperations extends AgoraOperations {
      */
 	public CloudRecordingStopResponse stopRecording(String channelName, String uid, String resourceId, String sid, RecordingMode mode, boolean asyncStop) throws IOException {
 
-		Map<String, Object> requestBody = new ImmutableMap.Builder<String, Object>()
-				.put("cname", channelName)
-				.put("uid", uid)
-				.put("clientRequest", ImmutableMap.of("async_stop", asyncStop))
-				.build();
+		Map<String, Object> requestBody = stopRequestBody(channelName, uid, asyncStop);
 
 		String reqUrl = AgoraApiAddress.STOP_CLOUD_RECORDING.getUrl(getAgoraProperties().getAppId(), resourceId, sid, mode.getName());
         CloudRecordingStopResponse resp = super.post(AgoraApiAddress.STOP_CLOUD_RECORDING, reqUrl, requestBody, CloudRecordingStopResponse.class);
         return resp;
 	}
 
+	/**
+	 * 构造请求体：{"cname": channelName, "uid": uid, "clientRequest": clientRequest}
+	 */
+	protected static Map<String, Object> requestBody(String channelName, String uid, Object clientRequest) {
+		return new ImmutableMap.Builder<String, Object>()
+				.put("cname", channelName)
+				.put("uid", uid)
+				.put("clientRequest", clientRequest)
+				.build();
+	}
+
+	/**
+	 * 构造 acquire 请求体
+	 */
+	protected static Map<String, Object> acquireRequestBody(String channelName, String uid, String region, int expiredHour, int scene) {
+		HashMap<String, Object> hashMap = new HashMap<>();
+		if(StringUtils.hasText(region)){
+			hashMap.put("region", region);
+		}
+		hashMap.put("resourceExpiredHour", expiredHour);
+		hashMap.put("scene", scene);
+		return requestBody(channelName, uid, hashMap);
+	}
+
+	/**
+	 * 构造 start 请求体
+	 */
+	protected static Map<String, Object> startRequestBody(String channelName, String uid, String token,
+			RecordingAppsCollectionConfig appsCollection,
+			RecordingConfig recordingConfig,
+		    RecordingFileConfig recordingFileConfig,
+		    RecordingSnapshotConfig snapshotConfig,
+			RecordingStorageConfig storageConfig,
+			RecordingExtensionServiceConfig extensionServiceConfig) {
+		HashMap<String, Object> hashMap = new HashMap<>();
+		if(StringUtils.hasText(token)){
+			hashMap.put("token", token);
+		}
+
+		// 2、应用设置
+		if(Objects.isNull(appsCollection)) {
+			appsCollection = new RecordingAppsCollectionConfig();
+		}
+		hashMap.put("appsCollection", appsCollection);
+		// 3、媒体流订阅、转码、输出音视频属性的设置
+		if(Objects.isNull(recordingConfig)) {
+			recordingConfig = DEFAULT_RECORDING_CONFIG;
+		}
+		hashMap.put("recordingConfig", recordingConfig);
+		// 4、录制文件的设置
+		if(Objects.isNull(recordingFileConfig)) {
+			recordingFileConfig = DEFAULT_RECORDING_FILE_CONFIG;
+		}
+		hashMap.put("recordingFileConfig", recordingFileConfig);
+		// 5、截图周期、截图文件的设置
+		if(Objects.nonNull(snapshotConfig)) {
+			hashMap.put("snapshotConfig", snapshotConfig);
+		}
+		// 6、第三方云存储的设置
+		hashMap.put("storageConfig", storageConfig);
+		// 7、扩展服务的设置，目前包括阿里云视频点播服务和页面录制的设置
+		if(Objects.nonNull(extensionServiceConfig)) {
+			hashMap.put("extensionServiceConfig", extensionServiceConfig);
+		}
+
+		return requestBody(channelName, uid, hashMap);
+	}
+
+	/**
+	 * 构造 update 请求体
+	 */
+	protected static Map<String, Object> updateRequestBody(String channelName, String uid,
+		    RecordingUpdateStreamSubscribe streamSubscribe,
+			RecordingUpdateWebConfig webRecordingConfig,
+		    RecordingUpdateRtmpPublishConfig rtmpPublishConfig) {
+
+		HashMap<String, Object> hashMap = new HashMap<>();
+		// 1、用于更新订阅名单。仅适用于单流录制模式 individual和合流录制模式 mix
+		if(Objects.nonNull(streamSubscribe)) {
+			hashMap.put("streamSubscribe", streamSubscribe);
+		}
+		// 2、用于更新页面录制参数。仅适用于页面录制模式 web
+		if(Objects.nonNull(webRecordingConfig)) {
+			hashMap.put("webRecordingConfig", webRecordingConfig );
+		}
+		// 3、用于更新页面录制并推流到 CDN 的参数。仅适用于页面录制模式 web
+		if(Objects.nonNull(rtmpPublishConfig)) {
+			hashMap.put("rtmpPublishConfig", rtmpPublishConfig);
+		}
+		return requestBody(channelName, uid, hashMap);
+	}
+
+	/**
+	 * 构造 stop 请求体
+	 */
+	protected static Map<String, Object> stopRequestBody(String channelName, String uid, boolean asyncStop) {
+		return requestBody(channelName, uid, ImmutableMap.of("async_stop", asyncStop));
+	}
 
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * 声网 RESTful 认证信息持有者
+ * 预先计算 Basic Authorization 请求头，仅当 loginKey / loginSecret 发生变化（例如配置刷新后重新绑定）时才重新计算
+ * https://docs.agora.io/cn/Agora%20Platform/faq/restful_authentication
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraCredentialsHolder {
+
+	private final AgoraProperties agoraProperties;
+	private volatile Credentials credentials;
+
+	public AgoraCredentialsHolder(AgoraProperties agoraProperties) {
+		this.agoraProperties = agoraProperties;
+	}
+
+	/**
+	 * 获取 Authorization 请求头的值，格式：Basic base64(loginKey:loginSecret)
+	 * @return 请求头的值
+	 */
+	public String getAuthorizationHeader() {
+		String loginKey = agoraProperties.getLoginKey();
+		String loginSecret = agoraProperties.getLoginSecret();
+		Credentials current = this.credentials;
+		if (Objects.isNull(current) || !current.matches(loginKey, loginSecret)) {
+			current = new Credentials(loginKey, loginSecret);
+			this.credentials = current;
+		}
+		return current.authorizationHeader;
+	}
+
+	/**
+	 * 丢弃已缓存的请求头，下一次请求时按当前配置重新计算
+	 */
+	public void refresh() {
+		this.credentials = null;
+	}
+
+	private static final class Credentials {
+
+		private final String loginKey;
+		private final String loginSecret;
+		private final String authorizationHeader;
+
+		Credentials(String loginKey, String loginSecret) {
+			this.loginKey = loginKey;
+			this.loginSecret = loginSecret;
+			// 1、拼接客户 ID 和客户密钥并使用 base64 编码
+			String plainCredentials = loginKey + ":" + loginSecret;
+			// 2、创建 authorization header
+			this.authorizationHeader = "Basic " + Base64.getEncoder().encodeToString(plainCredentials.getBytes(StandardCharsets.UTF_8));
+		}
+
+		boolean matches(String loginKey, String loginSecret) {
+			return (this.loginKey == loginKey || Objects.equals(this.loginKey, loginKey))
+					&& (this.loginSecret == loginSecret || Objects.equals(this.loginSecret, loginSecret));
+		}
+
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONFactory;
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.reader.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 基于 fastjson2 的 JSON 编解码器：按响应类型缓存 ObjectReader，直接从输入流解析
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraFastjson2Codec implements AgoraJsonCodec {
+
+	private final ConcurrentMap<Class<?>, ObjectReader<?>> readers = new ConcurrentHashMap<>();
+
+	@Override
+	public String writeValueAsString(Object value) throws IOException {
+		try {
+			return JSON.toJSONString(value);
+		} catch (JSONException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public <T> T readValue(InputStream input, Class<T> cls) throws IOException {
+		try (JSONReader reader = JSONReader.of(input, StandardCharsets.UTF_8)) {
+			return cls.cast(this.getReader(cls).readObject(reader));
+		} catch (JSONException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public <T> T readValue(String json, Class<T> cls) throws IOException {
+		try (JSONReader reader = JSONReader.of(json)) {
+			return cls.cast(this.getReader(cls).readObject(reader));
+		} catch (JSONException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	protected ObjectReader<?> getReader(Class<?> cls) {
+		return readers.computeIfAbsent(cls, key -> JSONFactory.getDefaultObjectReaderProvider().getObjectReader(key));
+	}
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 声网 RESTful 请求日志拦截器（网络层）：按 {@link Level} 控制输出内容，敏感请求头脱敏，请求/响应体按长度截断；
+ * 日志级别为 NONE 或 Logger 未开启 INFO 时直接放行，不产生任何字符串拼接
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+@Slf4j
+public class AgoraHttpLoggingInterceptor implements Interceptor {
+
+	public static final String REDACTED = "██";
+
+	private final Level level;
+	private final int maxBodyLength;
+	private final Set<String> redactHeaders;
+
+	public AgoraHttpLoggingInterceptor(AgoraProperties.Logging logging) {
+		this(logging.getLevel(), logging.getMaxBodyLength(), logging.getRedactHeaders());
+	}
+
+	public AgoraHttpLoggingInterceptor(Level level, int maxBodyLength, Set<String> redactHeaders) {
+		this.level = Objects.isNull(level) ? Level.NONE : level;
+		this.maxBodyLength = Math.max(0, maxBodyLength);
+		this.redactHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		if (Objects.nonNull(redactHeaders)) {
+			this.redactHeaders.addAll(redactHeaders);
+		}
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		if (Level.NONE.equals(level) || !log.isInfoEnabled()) {
+			return chain.proceed(request);
+		}
+
+		boolean logHeaders = level.compareTo(Level.HEADERS) >= 0;
+		boolean logBody = level.compareTo(Level.BODY) >= 0;
+
+		StringBuilder builder = new StringBuilder(128);
+		builder.append("Agora --> ").append(request.method()).append(' ').append(request.url());
+		if (logHeaders) {
+			this.appendHeaders(builder, request.headers());
+		}
+		RequestBody requestBody = request.body();
+		if (logBody && Objects.nonNull(requestBody)) {
+			Buffer buffer = new Buffer();
+			requestBody.writeTo(buffer);
+			this.appendBody(builder, buffer, charset(requestBody.contentType()));
+		}
+		log.info(builder.toString());
+
+		long startNs = System.nanoTime();
+		Response response;
+		try {
+			response = chain.proceed(request);
+		} catch (IOException e) {
+			log.info("Agora <-- HTTP FAILED : {}, {} {}", e.getMessage(), request.method(), request.url());
+			throw e;
+		}
+		long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+
+		builder.setLength(0);
+		builder.append("Agora <-- ").append(response.code()).append(' ').append(response.message())
+				.append(' ').append(request.url()).append(" (").append(tookMs).append("ms)");
+		if (logHeaders) {
+			this.appendHeaders(builder, response.headers());
+		}
+		if (logBody && Objects.nonNull(response.body())) {
+			// peekBody 只读取前 maxBodyLength 字节，不影响后续对响应体的消费
+			ResponseBody peek = response.peekBody(maxBodyLength + 1L);
+			Buffer buffer = new Buffer();
+			buffer.write(peek.bytes());
+			this.appendBody(builder, buffer, charset(peek.contentType()));
+		}
+		log.info(builder.toString());
+		return response;
+	}
+
+	private void appendHeaders(StringBuilder builder, Headers headers) {
+		for (int i = 0, count = headers.size(); i < count; i++) {
+			String name = headers.name(i);
+			builder.append("\n").append(name).append(": ").append(redactHeaders.contains(name) ? REDACTED : headers.value(i));
+		}
+	}
+
+	private void appendBody(StringBuilder builder, Buffer buffer, Charset charset) throws IOException {
+		long size = buffer.size();
+		if (size > maxBodyLength) {
+			builder.append("\n").append(buffer.readString(maxBodyLength, charset)).append("...(body truncated)");
+		} else {
+			builder.append("\n").append(buffer.readString(charset));
+		}
+	}
+
+	private static Charset charset(MediaType contentType) {
+		Charset charset = Objects.isNull(contentType) ? null : contentType.charset();
+		return Objects.isNull(charset) ? StandardCharsets.UTF_8 : charset;
+	}
+
+	public Level getLevel() {
+		return level;
+	}
+
+	/**
+	 * 日志输出级别
+	 */
+	public enum Level {
+
+		/**
+		 * 不输出日志（默认）
+		 */
+		NONE,
+		/**
+		 * 输出请求行与响应行：方法、地址、状态码、耗时
+		 */
+		BASIC,
+		/**
+		 * 在 BASIC 的基础上输出请求头与响应头，敏感请求头脱敏
+		 */
+		HEADERS,
+		/**
+		 * 在 HEADERS 的基础上输出请求体与响应体，超出长度部分截断
+		 */
+		BODY
+
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 基于 Jackson 的 JSON 编解码器：按响应类型缓存 ObjectReader，忽略未知字段
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraJacksonCodec implements AgoraJsonCodec {
+
+	private final ObjectMapper objectMapper;
+	private final ObjectWriter objectWriter;
+	private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+	public AgoraJacksonCodec(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+		this.objectWriter = objectMapper.writer();
+	}
+
+	@Override
+	public String writeValueAsString(Object value) throws IOException {
+		return objectWriter.writeValueAsString(value);
+	}
+
+	@Override
+	public <T> T readValue(InputStream input, Class<T> cls) throws IOException {
+		return this.getReader(cls).readValue(input);
+	}
+
+	@Override
+	public <T> T readValue(String json, Class<T> cls) throws IOException {
+		return this.getReader(cls).readValue(json);
+	}
+
+	protected ObjectReader getReader(Class<?> cls) {
+		return readers.computeIfAbsent(cls, key -> objectMapper.readerFor(key).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+	}
+
+	public ObjectMapper getObjectMapper() {
+		return objectMapper;
+	}
+
+}
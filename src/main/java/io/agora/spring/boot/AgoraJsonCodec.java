@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 声网 RESTful 请求/响应的 JSON 编解码器：请求体序列化与响应体反序列化使用同一引擎，
+ * 响应体直接从输入流解析，不再先读取为完整字符串
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public interface AgoraJsonCodec {
+
+	/**
+	 * 序列化请求体
+	 * @param value 请求对象
+	 * @return JSON 字符串
+	 * @throws IOException 序列化异常
+	 */
+	String writeValueAsString(Object value) throws IOException;
+
+	/**
+	 * 从输入流反序列化响应体，输入流由调用方负责关闭
+	 * @param input 响应体输入流（UTF-8）
+	 * @param cls 响应类型
+	 * @param <T> 响应类型
+	 * @return 响应对象
+	 * @throws IOException 反序列化异常
+	 */
+	<T> T readValue(InputStream input, Class<T> cls) throws IOException;
+
+	/**
+	 * 反序列化 JSON 字符串
+	 * @param json JSON 字符串
+	 * @param cls 响应类型
+	 * @param <T> 响应类型
+	 * @return 响应对象
+	 * @throws IOException 反序列化异常
+	 */
+	<T> T readValue(String json, Class<T> cls) throws IOException;
+
+	/**
+	 * 可选的 JSON 引擎
+	 */
+	enum Engine {
+
+		/**
+		 * Jackson 流式解析（默认）
+		 */
+		JACKSON,
+		/**
+		 * fastjson2
+		 */
+		FASTJSON2
+
+	}
+
+}
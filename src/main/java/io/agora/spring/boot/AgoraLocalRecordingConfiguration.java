@@ -4,11 +4,22 @@
  */
 package io.agora.spring.boot;
 
+import io.agora.recording.output.RecordingFrameWriter;
+import io.agora.recording.processor.FrameDispatcher;
+import io.agora.recording.processor.FrameProcessor;
+import io.agora.recording.output.SegmentListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.stream.Collectors;
+
 @Configuration
-@EnableConfigurationProperties({ AgoraRecordingProperties.class})
+@EnableConfigurationProperties({ AgoraProperties.class, AgoraRecordingProperties.class})
 public class AgoraLocalRecordingConfiguration {
 
 	/*
@@ -17,4 +28,48 @@ public class AgoraLocalRecordingConfiguration {
 		return new RecordingSDK(recordingProperties.getLibPath());
 	}*/
 
+	/**
+	 * 本地录制共享的写入器、分发器与事件处理器工厂，需设置 agora.recording.enabled=true 才会注册
+	 */
+	@Configuration
+	@ConditionalOnProperty(prefix = AgoraRecordingProperties.PREFIX, value = "enabled", havingValue = "true")
+	static class AgoraLocalRecordingBeansConfiguration {
+
+		/**
+		 * 所有录制频道共享的异步帧写入器，线程在首次写入时才创建；容器中的 SegmentListener 会收到分段关闭通知
+		 */
+		@Bean(destroyMethod = "shutdown")
+		@ConditionalOnMissingBean
+		public RecordingFrameWriter agoraRecordingFrameWriter(AgoraRecordingProperties recordingProperties,
+				ObjectProvider<SegmentListener> segmentListeners) {
+			RecordingFrameWriter frameWriter = new RecordingFrameWriter(recordingProperties.getWriter(), recordingProperties.getRotation());
+			segmentListeners.orderedStream().forEach(frameWriter::addSegmentListener);
+			return frameWriter;
+		}
+
+		/**
+		 * 将录制帧分发给容器中的 FrameProcessor，只在容器中存在处理器时注册
+		 */
+		@Bean(destroyMethod = "shutdown")
+		@ConditionalOnBean(FrameProcessor.class)
+		@ConditionalOnMissingBean
+		public FrameDispatcher agoraRecordingFrameDispatcher(AgoraRecordingProperties recordingProperties,
+				ObjectProvider<FrameProcessor> frameProcessors) {
+			return new FrameDispatcher(recordingProperties.getProcessor(), frameProcessors.orderedStream().collect(Collectors.toList()));
+		}
+
+		/**
+		 * 创建各频道的 DefaultRecordingEventHandler，并注入上面共享的写入器与分发器
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public AgoraRecordingEventHandlerFactory agoraRecordingEventHandlerFactory(AgoraProperties agoraProperties,
+				AgoraRecordingProperties recordingProperties, RecordingFrameWriter frameWriter,
+				ObjectProvider<FrameDispatcher> frameDispatcher) {
+			return new AgoraRecordingEventHandlerFactory(agoraProperties, recordingProperties, frameWriter,
+					frameDispatcher.getIfAvailable());
+		}
+
+	}
+
 }
@@ -0,0 +1,98 @@
+package io.agora.spring.boot;
+
+import io.agora.recording.output.RecordingFrameWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 声网 RESTful 请求指标：classpath 中存在 Micrometer 且容器中存在 MeterRegistry 时自动注册，
+ * 可通过 agora.metrics.enabled=false 关闭
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = AgoraProperties.PREFIX + ".metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+@AutoConfigureAfter(value = { AgoraAutoConfiguration.class, AgoraLocalRecordingConfiguration.class }, name = {
+		"org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration",
+		"org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration" })
+public class AgoraMetricsAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public AgoraMetricsInterceptor agoraMetricsInterceptor(MeterRegistry meterRegistry, AgoraProperties poolProperties) {
+		return new AgoraMetricsInterceptor(meterRegistry, poolProperties.getMetrics());
+	}
+
+	/**
+	 * 指标拦截器作为应用层拦截器注册，耗时包含重试与认证
+	 */
+	@Bean
+	public AgoraOkHttp3ClientCustomizer agoraMetricsClientCustomizer(AgoraMetricsInterceptor agoraMetricsInterceptor) {
+		return builder -> builder.addInterceptor(agoraMetricsInterceptor);
+	}
+
+	/**
+	 * 响应式客户端的指标过滤器，与 OkHttp 拦截器共用同一组指标
+	 */
+	@Configuration
+	@ConditionalOnClass(WebClient.class)
+	static class AgoraReactiveMetricsConfiguration {
+
+		@Bean
+		public AgoraWebClientCustomizer agoraMetricsWebClientCustomizer(AgoraMetricsInterceptor agoraMetricsInterceptor) {
+			AgoraMetricsExchangeFilter filter = new AgoraMetricsExchangeFilter(agoraMetricsInterceptor);
+			return builder -> builder.filter(filter);
+		}
+
+	}
+
+	/**
+	 * 未引入 Actuator 时不会自动绑定 MeterBinder，此处显式绑定；重复绑定时 Micrometer 返回已注册的 Gauge
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public AgoraOkHttp3MetricsBinder agoraOkHttp3MetricsBinder(BeanFactory beanFactory, MeterRegistry meterRegistry) {
+		AgoraOkHttp3MetricsBinder binder = new AgoraOkHttp3MetricsBinder(beanFactory.getBean(AgoraAutoConfiguration.AGORA_OKHTTP3_CLIENT, OkHttpClient.class));
+		binder.bindTo(meterRegistry);
+		return binder;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnBean(AgoraTokenCache.class)
+	public AgoraTokenCacheMetricsBinder agoraTokenCacheMetricsBinder(AgoraTokenCache agoraTokenCache, MeterRegistry meterRegistry) {
+		AgoraTokenCacheMetricsBinder binder = new AgoraTokenCacheMetricsBinder(agoraTokenCache);
+		binder.bindTo(meterRegistry);
+		return binder;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnBean(AgoraCircuitBreakerInterceptor.class)
+	public AgoraCircuitBreakerMetricsBinder agoraCircuitBreakerMetricsBinder(AgoraCircuitBreakerInterceptor agoraCircuitBreakerInterceptor,
+			MeterRegistry meterRegistry) {
+		AgoraCircuitBreakerMetricsBinder binder = new AgoraCircuitBreakerMetricsBinder(agoraCircuitBreakerInterceptor);
+		binder.bindTo(meterRegistry);
+		return binder;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnBean(RecordingFrameWriter.class)
+	public AgoraRecordingWriterMetricsBinder agoraRecordingWriterMetricsBinder(RecordingFrameWriter agoraRecordingFrameWriter,
+			MeterRegistry meterRegistry) {
+		AgoraRecordingWriterMetricsBinder binder = new AgoraRecordingWriterMetricsBinder(agoraRecordingFrameWriter);
+		binder.bindTo(meterRegistry);
+		return binder;
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 声网 RESTful 请求指标过滤器：WebClient 版本的 {@link AgoraMetricsInterceptor}，与其共用 Timer 与在途请求 Gauge。
+ * 接口地址取自 {@link ReactiveAgoraTemplate#API_ADDRESS_ATTRIBUTE} 请求属性，未携带时记为 UNKNOWN
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraMetricsExchangeFilter implements ExchangeFilterFunction {
+
+	private final AgoraMetricsInterceptor metricsInterceptor;
+
+	public AgoraMetricsExchangeFilter(AgoraMetricsInterceptor metricsInterceptor) {
+		this.metricsInterceptor = metricsInterceptor;
+	}
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		String api = request.attribute(ReactiveAgoraTemplate.API_ADDRESS_ATTRIBUTE)
+				.map(address -> ((AgoraApiAddress) address).name())
+				.orElse(AgoraMetricsInterceptor.UNKNOWN);
+		String method = request.method().name();
+		// 订阅时才开始计时，与 OkHttp 拦截器一致，耗时截止到收到响应头
+		return Mono.defer(() -> {
+			AtomicInteger active = metricsInterceptor.activeRequests(api);
+			active.incrementAndGet();
+			long startNs = System.nanoTime();
+			return next.exchange(request)
+					.doOnSuccess(response -> {
+						if (response != null) {
+							int code = response.rawStatusCode();
+							metricsInterceptor.record(api, method, String.valueOf(code), AgoraMetricsInterceptor.outcome(code), "None", startNs);
+						}
+					})
+					.doOnError(e -> metricsInterceptor.record(api, method, "IO_ERROR", "UNKNOWN", e.getClass().getSimpleName(), startNs))
+					.doFinally(signal -> active.decrementAndGet());
+		});
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 声网 RESTful 请求指标拦截器：按 {@link AgoraApiAddress} 记录耗时（agora.api.requests）与在途请求数（agora.api.requests.active）。
+ * 接口地址取自请求上 {@link AgoraApiAddress} 类型的 tag，未携带时记为 UNKNOWN。
+ * 响应式客户端通过 {@link AgoraMetricsExchangeFilter} 共用同一组指标
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraMetricsInterceptor implements Interceptor {
+
+	public static final String METRIC_REQUESTS = "agora.api.requests";
+	public static final String METRIC_REQUESTS_ACTIVE = "agora.api.requests.active";
+	public static final String UNKNOWN = "UNKNOWN";
+
+	private final MeterRegistry registry;
+	private final AgoraProperties.Metrics metrics;
+	private final Map<String, AtomicInteger> activeRequests = new ConcurrentHashMap<>();
+	private final Map<Tags, Timer> timers = new ConcurrentHashMap<>();
+
+	public AgoraMetricsInterceptor(MeterRegistry registry, AgoraProperties.Metrics metrics) {
+		this.registry = registry;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		AgoraApiAddress address = request.tag(AgoraApiAddress.class);
+		String api = Objects.isNull(address) ? UNKNOWN : address.name();
+
+		AtomicInteger active = this.activeRequests(api);
+		active.incrementAndGet();
+		long startNs = System.nanoTime();
+		try {
+			Response response = chain.proceed(request);
+			this.record(api, request.method(), String.valueOf(response.code()), outcome(response.code()), "None", startNs);
+			return response;
+		} catch (IOException | RuntimeException e) {
+			this.record(api, request.method(), "IO_ERROR", "UNKNOWN", e.getClass().getSimpleName(), startNs);
+			throw e;
+		} finally {
+			active.decrementAndGet();
+		}
+	}
+
+	/**
+	 * 记录一次请求耗时，Timer 按标签组合缓存，避免每次请求重新构建并查找注册表
+	 */
+	void record(String api, String method, String status, String outcome, String exception, long startNs) {
+		Tags tags = Tags.of("api", api, "method", method, "status", status, "outcome", outcome, "exception", exception);
+		timers.computeIfAbsent(tags, this::registerTimer).record(System.nanoTime() - startNs, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @return 指定接口的在途请求计数，首次使用时注册 Gauge
+	 */
+	AtomicInteger activeRequests(String api) {
+		return activeRequests.computeIfAbsent(api, this::registerActiveGauge);
+	}
+
+	private Timer registerTimer(Tags tags) {
+		return Timer.builder(METRIC_REQUESTS)
+				.description("Agora RESTful API requests")
+				.tags(tags)
+				.publishPercentiles(metrics.getPercentiles())
+				.publishPercentileHistogram(metrics.isPercentileHistogram())
+				.register(registry);
+	}
+
+	private AtomicInteger registerActiveGauge(String api) {
+		AtomicInteger active = new AtomicInteger();
+		Gauge.builder(METRIC_REQUESTS_ACTIVE, active, AtomicInteger::get)
+				.description("Agora RESTful API requests in flight")
+				.tag("api", api)
+				.register(registry);
+		return active;
+	}
+
+	static String outcome(int code) {
+		if (code >= 200 && code < 300) {
+			return "SUCCESS";
+		}
+		if (code >= 300 && code < 400) {
+			return "REDIRECTION";
+		}
+		if (code >= 400 && code < 500) {
+			return "CLIENT_ERROR";
+		}
+		if (code >= 500 && code < 600) {
+			return "SERVER_ERROR";
+		}
+		return "UNKNOWN";
+	}
+
+}
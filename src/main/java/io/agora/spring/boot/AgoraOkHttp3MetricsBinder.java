@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+/**
+ * 声网专用 OkHttpClient 的连接池与调度器指标
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraOkHttp3MetricsBinder implements MeterBinder {
+
+	private final OkHttpClient okhttp3Client;
+
+	public AgoraOkHttp3MetricsBinder(OkHttpClient okhttp3Client) {
+		this.okhttp3Client = okhttp3Client;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		ConnectionPool connectionPool = okhttp3Client.connectionPool();
+		Dispatcher dispatcher = okhttp3Client.dispatcher();
+		Gauge.builder("agora.okhttp.pool.connections", connectionPool, ConnectionPool::connectionCount)
+				.description("Total connections in the Agora OkHttp connection pool")
+				.register(registry);
+		Gauge.builder("agora.okhttp.pool.connections.idle", connectionPool, ConnectionPool::idleConnectionCount)
+				.description("Idle connections in the Agora OkHttp connection pool")
+				.register(registry);
+		Gauge.builder("agora.okhttp.dispatcher.running", dispatcher, Dispatcher::runningCallsCount)
+				.description("Calls currently executing on the Agora OkHttp dispatcher")
+				.register(registry);
+		Gauge.builder("agora.okhttp.dispatcher.queued", dispatcher, Dispatcher::queuedCallsCount)
+				.description("Calls waiting for the Agora OkHttp dispatcher")
+				.register(registry);
+	}
+
+}
@@ -15,7 +15,6 @@
  */
 package io.agora.spring.boot;
 
-import com.alibaba.fastjson2.JSONObject;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.agora.spring.boot.resp.AgoraResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -26,12 +25,17 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
-import java.util.Base64;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
@@ -51,44 +55,80 @@ public class AgoraOkHttp3Template implements InitializingBean {
 	protected OkHttpClient okhttp3Client;
 	protected ObjectMapper objectMapper;
 	protected AgoraProperties agoraProperties;
+	protected AgoraAuthorizationInterceptor authorizationInterceptor;
+	protected AgoraJsonCodec jsonCodec;
+	protected AgoraRetryInterceptor retryInterceptor;
+	protected AgoraRateLimitInterceptor rateLimitInterceptor;
 
 	public AgoraOkHttp3Template(OkHttpClient okhttp3Client, ObjectMapper objectMapper, AgoraProperties agoraProperties) {
-		this.okhttp3Client = okhttp3Client;
+		this(okhttp3Client, objectMapper, agoraProperties, new AgoraAuthorizationInterceptor(new AgoraCredentialsHolder(agoraProperties)));
+	}
+
+	public AgoraOkHttp3Template(OkHttpClient okhttp3Client, ObjectMapper objectMapper, AgoraProperties agoraProperties,
+								AgoraAuthorizationInterceptor authorizationInterceptor) {
+		this(okhttp3Client, objectMapper, agoraProperties, authorizationInterceptor, new AgoraJacksonCodec(objectMapper));
+	}
+
+	public AgoraOkHttp3Template(OkHttpClient okhttp3Client, ObjectMapper objectMapper, AgoraProperties agoraProperties,
+								AgoraAuthorizationInterceptor authorizationInterceptor, AgoraJsonCodec jsonCodec) {
+		this(okhttp3Client, objectMapper, agoraProperties, authorizationInterceptor, jsonCodec, new AgoraRetryInterceptor(agoraProperties.getRetry()),
+				new AgoraRateLimitInterceptor(agoraProperties.getRateLimit()));
+	}
+
+	/**
+	 * @param retryInterceptor 重试策略，同步调用由客户端中的拦截器执行，异步调用按同一策略调度重试，应与客户端中注册的实例一致
+	 * @param rateLimitInterceptor 限流器，同步调用由客户端中的拦截器执行，异步调用在入队前取得令牌，应与客户端中注册的实例一致
+	 */
+	public AgoraOkHttp3Template(OkHttpClient okhttp3Client, ObjectMapper objectMapper, AgoraProperties agoraProperties,
+								AgoraAuthorizationInterceptor authorizationInterceptor, AgoraJsonCodec jsonCodec,
+								AgoraRetryInterceptor retryInterceptor, AgoraRateLimitInterceptor rateLimitInterceptor) {
+		// 共享连接池与调度器，仅追加认证拦截器
+		this.okhttp3Client = Objects.isNull(okhttp3Client) ? null : okhttp3Client.newBuilder().addInterceptor(authorizationInterceptor).build();
 		this.objectMapper = objectMapper;
 		this.agoraProperties = agoraProperties;
+		this.authorizationInterceptor = authorizationInterceptor;
+		this.jsonCodec = jsonCodec;
+		this.retryInterceptor = retryInterceptor;
+		this.rateLimitInterceptor = rateLimitInterceptor;
 	}
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
-		// 请求编码，默认：UTF-8
-		// String charset = properties.getProperty(HTTP_CHARSET, "UTF-8");
 		if (okhttp3Client == null) {
 			// 1.创建OkHttpClient对象
-			okhttp3Client = new OkHttpClient().newBuilder().connectTimeout(5000, TimeUnit.MILLISECONDS)
-					// .hostnameVerifier(okhttpHostnameVerifier)
-					// .followRedirects(properties.isFollowRedirects())
-					// .followSslRedirects(properties.isFollowSslRedirects())
-					.pingInterval(1, TimeUnit.MILLISECONDS).readTimeout(3000, TimeUnit.MILLISECONDS)
-					.retryOnConnectionFailure(true)
-					// .sslSocketFactory(trustedSSLSocketFactory, trustManager)
-					.writeTimeout(3, TimeUnit.SECONDS)
-					// Application Interceptors、Network Interceptors :
-					// https://segmentfault.com/a/1190000013164260
-					// .addNetworkInterceptor(loggingInterceptor)
-					// .addInterceptor(headerInterceptor)
+			okhttp3Client = newClientBuilder(agoraProperties.getHttp())
+					.addInterceptor(retryInterceptor)
+					.addInterceptor(new AgoraCircuitBreakerInterceptor(agoraProperties.getCircuitBreaker()))
+					.addInterceptor(rateLimitInterceptor)
+					.addInterceptor(authorizationInterceptor)
 					.build();
 		}
 	}
 
 	/**
-	 * restful请求认证
+	 * 按 agora.http.* 配置创建 OkHttpClient.Builder：独立的连接池与调度器，避免与默认客户端共享 5 个连接 / 单 Host 5 个并发的限制
+	 * @param http HTTP 客户端配置
+	 * @return OkHttpClient.Builder
 	 */
-	private String getAuthorizationHeader() {
-		// 1、拼接客户 ID 和客户密钥并使用 base64 编码
-		String plainCredentials = agoraProperties.getLoginKey() + ":" + agoraProperties.getLoginSecret();
-		String base64Credentials = new String(Base64.getEncoder().encode(plainCredentials.getBytes()));
-		// 2、创建 authorization header
-		return "Basic " + base64Credentials;
+	public static OkHttpClient.Builder newClientBuilder(AgoraProperties.Http http) {
+		Dispatcher dispatcher = new Dispatcher();
+		dispatcher.setMaxRequests(http.getMaxRequests());
+		dispatcher.setMaxRequestsPerHost(http.getMaxRequestsPerHost());
+		OkHttpClient.Builder builder = new OkHttpClient.Builder()
+				.dispatcher(dispatcher)
+				.connectionPool(new ConnectionPool(http.getMaxIdleConnections(), http.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+				.protocols(http.isHttp2Enabled() ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1) : Collections.singletonList(Protocol.HTTP_1_1))
+				.connectTimeout(http.getConnectTimeout())
+				.readTimeout(http.getReadTimeout())
+				.writeTimeout(http.getWriteTimeout())
+				.callTimeout(http.getCallTimeout())
+				.pingInterval(http.getPingInterval())
+				.retryOnConnectionFailure(http.isRetryOnConnectionFailure());
+		// 网络层日志拦截器：可看到认证拦截器追加的请求头（已脱敏），NONE 时不注册
+		if (Objects.nonNull(http.getLogging()) && !AgoraHttpLoggingInterceptor.Level.NONE.equals(http.getLogging().getLevel())) {
+			builder.addNetworkInterceptor(new AgoraHttpLoggingInterceptor(http.getLogging()));
+		}
+		return builder;
 	}
 
 	public <T extends AgoraResponse> T post(String url,  Class<T> rtClass) throws IOException {
@@ -126,10 +166,21 @@ public class AgoraOkHttp3Template implements InitializingBean {
 			Map<String, Object> queryParams,
 			Map<String, Object> bodyContent,
 			Class<T> rtClass) throws IOException {
+		return this.doRequest(null, url, method, headers, queryParams, bodyContent, rtClass);
+	}
+
+	public <T extends AgoraResponse> T doRequest(
+			AgoraApiAddress address,
+			String url,
+			HttpMethod method,
+			Map<String, Object> headers,
+			Map<String, Object> queryParams,
+			Map<String, Object> bodyContent,
+			Class<T> rtClass) throws IOException {
 		long startTime = System.currentTimeMillis();
 		// 1.创建Request对象，设置一个url地址,设置请求方式。
 		HttpUrl httpUrl = this.getHttpUrl(url, queryParams);
-		return this.doRequest(startTime, httpUrl, method, headers, bodyContent, rtClass);
+		return this.doRequest(startTime, address, httpUrl, method, headers, bodyContent, rtClass);
 	}
 
 	public <T extends AgoraResponse> T doRequest(
@@ -139,21 +190,37 @@ public class AgoraOkHttp3Template implements InitializingBean {
 			Map<String, Object> headers,
 			Map<String, Object> bodyContent,
 			Class<T> rtClass) throws IOException {
+		return this.doRequest(startTime, null, httpUrl, method, headers, bodyContent, rtClass);
+	}
+
+	public <T extends AgoraResponse> T doRequest(
+			long startTime,
+			AgoraApiAddress address,
+			HttpUrl httpUrl,
+			HttpMethod method,
+			Map<String, Object> headers,
+			Map<String, Object> bodyContent,
+			Class<T> rtClass) throws IOException {
 		// 2.创建一个call对象,参数就是Request请求对象
-		Response response = this.doRequest(startTime, httpUrl, method, headers, bodyContent);
 		T res = null;
-		try {
-			if (response.isSuccessful()) {
-				String body = response.body().string();
-				res = this.readValue(body, rtClass);
-				res.setCode(response.code());
-			} else {
+		// 3.响应体直接从输入流反序列化，读取完毕后释放连接；网络异常（含重试耗尽）时返回空响应对象
+		try (Response response = this.doRequest(startTime, address, httpUrl, method, headers, bodyContent)) {
+			if (response == null) {
+				return BeanUtils.instantiateClass(rtClass);
+			}
+			try {
+				if (response.isSuccessful()) {
+					res = this.readValue(response.body(), rtClass);
+					res.setCode(response.code());
+				} else {
+					res = BeanUtils.instantiateClass(rtClass);
+					res.setCode(response.code());
+				}
+			} catch (Exception e) {
+				log.error("Agora >> Response Read Error : {}, use time : {}", e.getMessage(), System.currentTimeMillis() - startTime);
 				res = BeanUtils.instantiateClass(rtClass);
 				res.setCode(response.code());
 			}
-		} catch (Exception e) {
-			log.error("Agora >> Async Request Error : {}, use time : {}", e.getMessage(), System.currentTimeMillis() - startTime);
-			res = BeanUtils.instantiateClass(rtClass);
 		}
 		return res;
 	}
@@ -207,13 +274,23 @@ public class AgoraOkHttp3Template implements InitializingBean {
 			HttpMethod method,
 			Map<String, Object> headers,
 			Map<String, Object> bodyContent) throws IOException {
+		return this.doRequest(startTime, null, httpUrl, method, headers, bodyContent);
+	}
+
+	public Response doRequest(
+			long startTime,
+			AgoraApiAddress address,
+			HttpUrl httpUrl,
+			HttpMethod method,
+			Map<String, Object> headers,
+			Map<String, Object> bodyContent) throws IOException {
 		// 1、创建Request.Builder对象
-		Request.Builder builder = this.createRequestBuilder(httpUrl, method, headers, bodyContent);
+		Request.Builder builder = this.createRequestBuilder(address, httpUrl, method, headers, bodyContent);
 		// 2.创建一个call对象, 参数就是Request请求对象
 		try {
 			Response response = okhttp3Client.newCall(builder.build()).execute();
 			if (response.isSuccessful()) {
-				log.info("Agora >> Request Success : code : {}, use time : {} ", response.code(), System.currentTimeMillis() - startTime);
+				log.debug("Agora >> Request Success : code : {}, use time : {} ", response.code(), System.currentTimeMillis() - startTime);
 			} else {
 				log.error("Agora >> Request Failure : code : {}, message : {}, use time : {} ", response.code(), response.message(), System.currentTimeMillis() - startTime);
 			}
@@ -271,14 +348,40 @@ public class AgoraOkHttp3Template implements InitializingBean {
 			Consumer<T> success,
 			BiFunction<Call, IOException, Boolean> failure,
 			Class<T> rtClass) throws IOException {
+		this.doAsyncRequest(null, url, method, headers, queryParams, bodyContent, success, failure, rtClass);
+	}
+
+	public <T extends AgoraResponse> void doAsyncRequest(
+			AgoraApiAddress address,
+			String url,
+			HttpMethod method,
+			Map<String, Object> headers,
+			Map<String, Object> queryParams,
+			Map<String, Object> bodyContent,
+			Consumer<T> success,
+			BiFunction<Call, IOException, Boolean> failure,
+			Class<T> rtClass) throws IOException {
 		long startTime = System.currentTimeMillis();
 		// 1.创建Request对象，设置一个url地址,设置请求方式。
 		HttpUrl httpUrl = this.getHttpUrl(url, queryParams);
-		this.doAsyncRequest(startTime, httpUrl, method, headers, bodyContent, success, failure, rtClass);
+		this.doAsyncRequest(startTime, address, httpUrl, method, headers, bodyContent, success, failure, rtClass);
+	}
+
+	public <T extends AgoraResponse> void doAsyncRequest(
+			long startTime,
+			HttpUrl httpUrl,
+			HttpMethod method,
+			Map<String, Object> headers,
+			Map<String, Object> bodyContent,
+			Consumer<T> success,
+			BiFunction<Call, IOException, Boolean> failure,
+			Class<T> rtClass) throws IOException {
+		this.doAsyncRequest(startTime, null, httpUrl, method, headers, bodyContent, success, failure, rtClass);
 	}
 
 	public <T extends AgoraResponse> void doAsyncRequest(
 			long startTime,
+			AgoraApiAddress address,
 			HttpUrl httpUrl,
 			HttpMethod method,
 			Map<String, Object> headers,
@@ -287,12 +390,11 @@ public class AgoraOkHttp3Template implements InitializingBean {
 			BiFunction<Call, IOException, Boolean> failure,
 			Class<T> rtClass) throws IOException {
 		// 2.创建一个call对象,参数就是Request请求对象
-		this.doAsyncRequest(startTime, httpUrl, method, headers, bodyContent, (call, response) -> {
+		this.doAsyncRequest(startTime, address, httpUrl, method, headers, bodyContent, (call, response) -> {
 			T res;
 			try {
 				if (response.isSuccessful()) {
-					String body = response.body().string();
-					res = this.readValue(body, rtClass);
+					res = this.readValue(response.body(), rtClass);
 					res.setCode(response.code());
 				} else {
 					res = BeanUtils.instantiateClass(rtClass);
@@ -329,10 +431,26 @@ public class AgoraOkHttp3Template implements InitializingBean {
 			Map<String, Object> bodyContent,
 			BiFunction<Call, Response, T> success,
 			BiFunction<Call, IOException, Boolean> failure) throws IOException {
+		this.doAsyncRequest(startTime, null, httpUrl, method, headers, bodyContent, success, failure);
+	}
+
+	public <T extends AgoraResponse> void doAsyncRequest(
+			long startTime,
+			AgoraApiAddress address,
+			HttpUrl httpUrl,
+			HttpMethod method,
+			Map<String, Object> headers,
+			Map<String, Object> bodyContent,
+			BiFunction<Call, Response, T> success,
+			BiFunction<Call, IOException, Boolean> failure) throws IOException {
 		// 1、创建Request.Builder对象
-		Request.Builder builder = this.createRequestBuilder(httpUrl, method, headers, bodyContent);
+		// 回调式异步请求不做重试，令牌在入队前取得，避免拦截器中的退避与限流等待阻塞调度线程
+		Request.Builder builder = this.createRequestBuilder(address, httpUrl, method, headers, bodyContent)
+				.tag(AgoraRetryInterceptor.AsyncRetry.class, AgoraRetryInterceptor.ASYNC)
+				.tag(AgoraRateLimitInterceptor.PermitAcquired.class, AgoraRateLimitInterceptor.ACQUIRED);
 		// 2.创建一个call对象,参数就是Request请求对象
-		okhttp3Client.newCall(builder.build()).enqueue(new Callback() {
+		Call call = okhttp3Client.newCall(builder.build());
+		Callback callback = new Callback() {
 
 			@Override
 			public void onFailure(Call call, IOException e) {
@@ -345,26 +463,197 @@ public class AgoraOkHttp3Template implements InitializingBean {
 			@Override
 			public void onResponse(Call call, Response response) {
 				if (response.isSuccessful()) {
-					log.info("Agora >> Async Request Success : code : {}, use time : {} ", response.code(), System.currentTimeMillis() - startTime);
+					log.debug("Agora >> Async Request Success : code : {}, use time : {} ", response.code(), System.currentTimeMillis() - startTime);
 				} else {
 					log.error("Agora >> Async Request Failure : code : {}, message : {}, use time : {} ", response.code(), response.message(), System.currentTimeMillis() - startTime);
 				}
-				if (Objects.nonNull(success)) {
-					success.apply(call, response);
+				try {
+					if (Objects.nonNull(success)) {
+						success.apply(call, response);
+					}
+				} finally {
+					response.close();
+				}
+			}
+
+		};
+		this.acquirePermit(address).whenComplete((permit, e) -> {
+			if (Objects.isNull(e)) {
+				call.enqueue(callback);
+			} else {
+				callback.onFailure(call, (IOException) e);
+			}
+		});
+	}
+
+	public <T extends AgoraResponse> CompletableFuture<T> doRequestAsync(
+			String url,
+			HttpMethod method,
+			Map<String, Object> bodyContent,
+			Class<T> rtClass) {
+		return this.doRequestAsync(null, url, method, null, null, bodyContent, rtClass);
+	}
+
+	public <T extends AgoraResponse> CompletableFuture<T> doRequestAsync(
+			AgoraApiAddress address,
+			String url,
+			HttpMethod method,
+			Map<String, Object> bodyContent,
+			Class<T> rtClass) {
+		return this.doRequestAsync(address, url, method, null, null, bodyContent, rtClass);
+	}
+
+	public <T extends AgoraResponse> CompletableFuture<T> doRequestAsync(
+			String url,
+			HttpMethod method,
+			Map<String, Object> headers,
+			Map<String, Object> queryParams,
+			Map<String, Object> bodyContent,
+			Class<T> rtClass) {
+		return this.doRequestAsync(null, url, method, headers, queryParams, bodyContent, rtClass);
+	}
+
+	/**
+	 * 基于 OkHttp enqueue 的异步请求：IO 异常与非 2xx 响应均以异常方式结束返回的 CompletableFuture，
+	 * 取消 CompletableFuture 时同时取消底层请求。
+	 * 可重试的接口按 agora.retry.* 的退避策略定时重新入队，每次入队前按 agora.rate-limit.* 取得令牌，等待期间均不占用 OkHttp 调度线程
+	 */
+	public <T extends AgoraResponse> CompletableFuture<T> doRequestAsync(
+			AgoraApiAddress address,
+			String url,
+			HttpMethod method,
+			Map<String, Object> headers,
+			Map<String, Object> queryParams,
+			Map<String, Object> bodyContent,
+			Class<T> rtClass) {
+		long startTime = System.currentTimeMillis();
+		CompletableFuture<T> future = new CompletableFuture<>();
+		Request request;
+		try {
+			// 1.创建Request对象，设置一个url地址,设置请求方式。
+			HttpUrl httpUrl = this.getHttpUrl(url, queryParams);
+			request = this.createRequestBuilder(address, httpUrl, method, headers, bodyContent)
+					.tag(AgoraRetryInterceptor.AsyncRetry.class, AgoraRetryInterceptor.ASYNC)
+					.tag(AgoraRateLimitInterceptor.PermitAcquired.class, AgoraRateLimitInterceptor.ACQUIRED)
+					.build();
+		} catch (Exception e) {
+			future.completeExceptionally(e);
+			return future;
+		}
+		AtomicReference<Call> current = new AtomicReference<>();
+		future.whenComplete((res, ex) -> {
+			Call call = current.get();
+			if (future.isCancelled() && Objects.nonNull(call)) {
+				call.cancel();
+			}
+		});
+		// 2.异步执行请求
+		boolean retryable = retryInterceptor.isRetryable(address);
+		this.enqueue(request, address, 1, retryable ? retryInterceptor.maxAttempts(address) : 1,
+				retryable ? retryInterceptor.deadlineNanos(address) : 0, startTime, current, future, rtClass);
+		return future;
+	}
+
+	private <T extends AgoraResponse> void enqueue(Request request, AgoraApiAddress address, int attempt, int maxAttempts, long deadlineNs,
+			long startTime, AtomicReference<Call> current, CompletableFuture<T> future, Class<T> rtClass) {
+		if (future.isDone()) {
+			return;
+		}
+		// 每次尝试入队前取得一个令牌，等待期间取消 future 即停止等待
+		CompletableFuture<Void> permit = this.acquirePermit(address);
+		future.whenComplete((res, ex) -> permit.cancel(false));
+		permit.whenComplete((v, e) -> {
+			if (Objects.nonNull(e)) {
+				future.completeExceptionally(e);
+			} else {
+				this.doEnqueue(request, address, attempt, maxAttempts, deadlineNs, startTime, current, future, rtClass);
+			}
+		});
+	}
+
+	private <T extends AgoraResponse> void doEnqueue(Request request, AgoraApiAddress address, int attempt, int maxAttempts, long deadlineNs,
+			long startTime, AtomicReference<Call> current, CompletableFuture<T> future, Class<T> rtClass) {
+		Call call = okhttp3Client.newCall(request);
+		current.set(call);
+		if (future.isDone()) {
+			return;
+		}
+		call.enqueue(new Callback() {
+
+			@Override
+			public void onFailure(Call call, IOException e) {
+				if (retryInterceptor.isRetryableFailure(e, call)
+						&& scheduleRetry(request, address, attempt, maxAttempts, deadlineNs, startTime, current, future, rtClass, null, e.getMessage())) {
+					return;
+				}
+				log.error("Agora >> Async Request Failure : {}, use time : {} ", e.getMessage(), System.currentTimeMillis() - startTime);
+				future.completeExceptionally(e);
+			}
+
+			@Override
+			public void onResponse(Call call, Response response) {
+				try (ResponseBody body = response.body()) {
+					if (!response.isSuccessful()) {
+						if (retryInterceptor.isRetryableStatus(response.code())
+								&& scheduleRetry(request, address, attempt, maxAttempts, deadlineNs, startTime, current, future, rtClass, response, null)) {
+							return;
+						}
+						log.error("Agora >> Async Request Failure : code : {}, message : {}, use time : {} ", response.code(), response.message(), System.currentTimeMillis() - startTime);
+						future.completeExceptionally(new AgoraResponseException(response.code(), response.message()));
+						return;
+					}
+					T res = readValue(body, rtClass);
+					res.setCode(response.code());
+					future.complete(res);
+				} catch (Exception e) {
+					log.error("Agora >> Async Request Error : {}, use time : {}", e.getMessage(), System.currentTimeMillis() - startTime);
+					future.completeExceptionally(e);
 				}
 			}
 
 		});
 	}
 
+	private <T extends AgoraResponse> boolean scheduleRetry(Request request, AgoraApiAddress address, int attempt, int maxAttempts, long deadlineNs,
+			long startTime, AtomicReference<Call> current, CompletableFuture<T> future, Class<T> rtClass, Response response, String error) {
+		long delayMs = retryInterceptor.backoff(attempt, response);
+		if (!retryInterceptor.canRetry(attempt, maxAttempts, delayMs, deadlineNs) || future.isDone()) {
+			return false;
+		}
+		if (Objects.nonNull(response)) {
+			log.warn("Agora {} >> Retry {}/{} after {}ms, code : {}", address.getOpt(), attempt, maxAttempts, delayMs, response.code());
+		} else {
+			log.warn("Agora {} >> Retry {}/{} after {}ms, error : {}", address.getOpt(), attempt, maxAttempts, delayMs, error);
+		}
+		AsyncScheduler.INSTANCE.schedule(() -> this.enqueue(request, address, attempt + 1, maxAttempts, deadlineNs, startTime, current, future, rtClass),
+				delayMs, TimeUnit.MILLISECONDS);
+		return true;
+	}
+
+	private CompletableFuture<Void> acquirePermit(AgoraApiAddress address) {
+		return Objects.isNull(rateLimitInterceptor) ? CompletableFuture.completedFuture(null)
+				: rateLimitInterceptor.acquireAsync(address, AsyncScheduler.INSTANCE);
+	}
+
+	/**
+	 * 异步请求的定时器：仅负责按退避时间重新入队与轮询限流令牌，请求本身仍由 OkHttp 调度器执行
+	 */
+	private static class AsyncScheduler {
+
+		static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "agora-async-scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+	}
+
 	public HttpUrl getHttpUrl(String httpUrl, Map<String, Object> params) {
-		log.info("Agora >> Request Url : {}", httpUrl);
 		HttpUrl.Builder urlBuilder = HttpUrl.parse(httpUrl).newBuilder();
 		if (CollectionUtils.isEmpty(params)) {
 			return urlBuilder.build();
 		}
 		if (!CollectionUtils.isEmpty(params)) {
-			log.info("Agora >> Request Params : {}", params);
 			Iterator<Entry<String, Object>> it = params.entrySet().iterator();
 			while (it.hasNext()) {
 				Entry<String, Object> entry = it.next();
@@ -378,24 +667,32 @@ public class AgoraOkHttp3Template implements InitializingBean {
 												  HttpMethod method,
 												  Map<String, Object> headers,
 												  Map<String, Object> bodyContent) throws IOException{
-		log.info("Agora >> Request Query Url : {} , Method : {}", httpUrl.query() , method.getName());
+		return this.createRequestBuilder(null, httpUrl, method, headers, bodyContent);
+	}
+
+	/**
+	 * 创建请求：接口地址以 {@link AgoraApiAddress} 类型的 tag 附加到请求上，供拦截器（指标、重试、限流等）按接口区分处理
+	 */
+	public Request.Builder createRequestBuilder(AgoraApiAddress address,
+												  HttpUrl httpUrl,
+												  HttpMethod method,
+												  Map<String, Object> headers,
+												  Map<String, Object> bodyContent) throws IOException{
 		// 1、创建Request.Builder对象
 		Request.Builder builder = new Request.Builder().url(httpUrl);
-		// 2、添加请求头
-		String authorizationHeader = getAuthorizationHeader();
-		log.info("Agora >> Request Authorization : {}", authorizationHeader);
-		builder = builder.header("Authorization", authorizationHeader)
-				.header("Content-Type", APPLICATION_JSON_VALUE);
+		if (Objects.nonNull(address)) {
+			builder.tag(AgoraApiAddress.class, address);
+		}
+		// 2、添加请求头（Authorization 由 AgoraAuthorizationInterceptor 统一附加）
+		builder = builder.header("Content-Type", APPLICATION_JSON_VALUE);
 		if(Objects.nonNull(headers)) {
-			log.info("Agora >> Request Headers : {}", headers);
 			for (Entry<String, Object> entry : headers.entrySet()) {
 				builder.addHeader(entry.getKey(), String.valueOf(entry.getValue()));
 			}
 		}
 		// 3、添加请求体
 		if(Objects.nonNull(bodyContent)) {
-			String bodyStr = objectMapper.writeValueAsString(bodyContent);
-			log.info("Agora >> Request Body : {}", bodyStr);
+			String bodyStr = jsonCodec.writeValueAsString(bodyContent);
 			builder = method.apply(builder, bodyStr);
 		} else {
 			builder = method.apply(builder);
@@ -405,14 +702,32 @@ public class AgoraOkHttp3Template implements InitializingBean {
 
 	public <T extends AgoraResponse> T readValue(String json, Class<T> cls) {
 		try {
-			return JSONObject.parseObject(json, cls);
-			//return objectMapper.readValue(json, cls);
+			return jsonCodec.readValue(json, cls);
 		} catch (Exception e) {
 			log.error(e.getMessage());
 			return BeanUtils.instantiateClass(cls);
 		}
 	}
 
+	/**
+	 * 直接从响应体输入流反序列化，避免先将完整响应体读取为字符串
+	 * @param body 响应体，由调用方负责关闭
+	 * @param cls 响应类型
+	 * @param <T> 响应类型
+	 * @return 响应对象，响应体为空时返回空对象
+	 * @throws IOException 读取或反序列化异常
+	 */
+	public <T extends AgoraResponse> T readValue(ResponseBody body, Class<T> cls) throws IOException {
+		if (Objects.isNull(body) || body.contentLength() == 0) {
+			return BeanUtils.instantiateClass(cls);
+		}
+		return jsonCodec.readValue(body.byteStream(), cls);
+	}
+
+	public AgoraJsonCodec getJsonCodec() {
+		return jsonCodec;
+	}
+
 	public static enum HttpMethod {
 
 		/**
@@ -21,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -69,37 +70,48 @@ public abstract class AgoraOperations {
 	}
 
 	protected <T extends AgoraResponse> T get(AgoraApiAddress address, String url, Class<T> cls) throws IOException {
-		T res = getAgoraOkHttp3Template().get(url, cls);
+		T res = getAgoraOkHttp3Template().doRequest(address, url, AgoraOkHttp3Template.HttpMethod.GET, null, null, null, cls);
 		if (Objects.nonNull(res)) {
-			log.info("Agora {} >> Success, url : {}, Code : {}, Body : {}", address.getOpt(), url, res.getCode());
+			log.debug("Agora {} >> Success, url : {}, Code : {}", address.getOpt(), url, res.getCode());
 		} else {
-			log.error("Agora {} >> Failure, url : {}, Code : {}", address.getOpt(), url, res.getCode());
+			log.error("Agora {} >> Failure, url : {}", address.getOpt(), url);
 		}
 		return res;
 	}
 
 	protected <T extends AgoraResponse> T post(AgoraApiAddress address, String url, Class<T> cls) throws IOException {
-		T res = getAgoraOkHttp3Template().post(url, cls);
+		T res = getAgoraOkHttp3Template().doRequest(address, url, AgoraOkHttp3Template.HttpMethod.POST, null, null, null, cls);
 		if (Objects.nonNull(res)) {
-			log.info("Agora {} >> Success, url : {}, Code : {}, Body : {}", address.getOpt(), url, res.getCode());
+			log.debug("Agora {} >> Success, url : {}, Code : {}", address.getOpt(), url, res.getCode());
 		} else {
-			log.error("Agora {} >> Failure, url : {}, Code : {}", address.getOpt(), url, res.getCode());
+			log.error("Agora {} >> Failure, url : {}", address.getOpt(), url);
 		}
 		return res;
 	}
 
 	protected <T extends AgoraResponse> T post(AgoraApiAddress address, String url, Map<String, Object> requestBody, Class<T> cls) throws IOException {
-		T res = getAgoraOkHttp3Template().post(url, null, null , requestBody, cls);
+		T res = getAgoraOkHttp3Template().doRequest(address, url, AgoraOkHttp3Template.HttpMethod.POST, null, null, requestBody, cls);
 		if (Objects.nonNull(res)) {
-			log.info("Agora {} >> Success, url : {}, requestBody : {}, Code : {}, Body : {}", address.getOpt(), url, requestBody, res.getCode());
+			log.debug("Agora {} >> Success, url : {}, Code : {}", address.getOpt(), url, res.getCode());
 		} else {
-			log.error("Agora {} >> Failure, url : {}, requestBody : {}, Code : {}", address.getOpt(), url, requestBody, res.getCode());
+			log.error("Agora {} >> Failure, url : {}, requestBody : {}", address.getOpt(), url, requestBody);
 		}
 		return res;
 	}
 
+	protected <T extends AgoraResponse> CompletableFuture<T> postAsync(AgoraApiAddress address, String url, Map<String, Object> requestBody, Class<T> cls) {
+		// 返回请求本身的 future 而非 whenComplete 的依赖阶段，取消时才能传递到底层请求
+		CompletableFuture<T> future = getAgoraOkHttp3Template().doRequestAsync(address, url, AgoraOkHttp3Template.HttpMethod.POST, requestBody, cls);
+		future.whenComplete((res, ex) -> {
+			if (Objects.nonNull(ex)) {
+				log.error("Agora {} >> Failure, url : {}, error : {}", address.getOpt(), url, ex.getMessage());
+			}
+		});
+		return future;
+	}
+
 	protected <T extends AgoraResponse> void asyncPost(AgoraApiAddress address, String url, Map<String, Object> bodyContent, Class<T> cls, Consumer<T> success) throws IOException {
-		getAgoraOkHttp3Template().doAsyncRequest(url, AgoraOkHttp3Template.HttpMethod.POST, null,  null, bodyContent, success, null, cls);
+		getAgoraOkHttp3Template().doAsyncRequest(address, url, AgoraOkHttp3Template.HttpMethod.POST, null,  null, bodyContent, success, null, cls);
 	}
 
 	public AgoraTemplate getAgoraTemplate() {
@@ -1,8 +1,17 @@
 package io.agora.spring.boot;
 
+import io.agora.media.SaltGenerator;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * ons 多线程发送配置参数 corePoolSize 线程池核心池的大小 maximumPoolSize 线程池中允许的最大线程数量
  * keepAliveTime 当线程数大于核心时，此为终止前多余的空闲线程等待新任务的最长时间 unit keepAliveTime 的时间单位
@@ -36,4 +45,193 @@ public class AgoraProperties {
 	/** 声网视频高度 */
 	private Integer viewHeight;
 
+	/** Token 生成配置 */
+	private Token token = new Token();
+
+	/** 声网 RESTful 请求/响应的 JSON 引擎：JACKSON（默认）、FASTJSON2 */
+	private AgoraJsonCodec.Engine jsonEngine = AgoraJsonCodec.Engine.JACKSON;
+
+	/** 声网 RESTful 请求的 HTTP 客户端配置 */
+	private Http http = new Http();
+
+	/** 声网 RESTful 请求的指标配置（需引入 Micrometer） */
+	private Metrics metrics = new Metrics();
+
+	/** 声网 RESTful 请求的重试配置 */
+	private Retry retry = new Retry();
+
+	/** 声网 RESTful 请求的本地限流配置 */
+	private RateLimit rateLimit = new RateLimit();
+
+	/** 声网 RESTful 请求的熔断配置 */
+	private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+	@Data
+	public static class Http {
+
+		/** 连接池最大空闲连接数 */
+		private int maxIdleConnections = 32;
+		/** 空闲连接的保活时间 */
+		private Duration keepAlive = Duration.ofMinutes(5);
+		/** 调度器允许的最大并发请求数 */
+		private int maxRequests = 256;
+		/** 调度器允许的单个 Host 最大并发请求数（所有请求均指向 api.agora.io） */
+		private int maxRequestsPerHost = 128;
+		/** 是否优先使用 HTTP/2（多路复用，单连接承载多个并发请求） */
+		private boolean http2Enabled = true;
+		/** 连接超时时间 */
+		private Duration connectTimeout = Duration.ofSeconds(5);
+		/** 读取超时时间 */
+		private Duration readTimeout = Duration.ofSeconds(10);
+		/** 写入超时时间 */
+		private Duration writeTimeout = Duration.ofSeconds(10);
+		/** 整个调用（含重定向与重试）的超时时间，0 表示不限制 */
+		private Duration callTimeout = Duration.ZERO;
+		/** HTTP/2 连接的 ping 间隔，0 表示不发送 */
+		private Duration pingInterval = Duration.ZERO;
+		/** 连接失败时是否自动重试 */
+		private boolean retryOnConnectionFailure = true;
+		/** 请求日志配置 */
+		private Logging logging = new Logging();
+
+	}
+
+	@Data
+	public static class Logging {
+
+		/** 日志级别：NONE（默认，不输出）、BASIC、HEADERS、BODY */
+		private AgoraHttpLoggingInterceptor.Level level = AgoraHttpLoggingInterceptor.Level.NONE;
+		/** 请求体/响应体最大输出字节数，超出部分截断 */
+		private int maxBodyLength = 2048;
+		/** 需要脱敏的请求头 */
+		private Set<String> redactHeaders = new LinkedHashSet<>(Collections.singletonList(AgoraAuthorizationInterceptor.AUTHORIZATION));
+
+	}
+
+	@Data
+	public static class Metrics {
+
+		/** 是否启用请求指标 */
+		private boolean enabled = true;
+		/** 客户端计算并发布的百分位数 */
+		private double[] percentiles = new double[] { 0.5, 0.95, 0.99 };
+		/** 是否发布百分位直方图（供 Prometheus 等服务端聚合） */
+		private boolean percentileHistogram = false;
+
+	}
+
+	@Data
+	public static class Retry {
+
+		/** 是否启用重试 */
+		private boolean enabled = true;
+		/** 最大尝试次数（含首次请求） */
+		private int maxAttempts = 3;
+		/** 首次重试前的等待时间 */
+		private Duration initialInterval = Duration.ofMillis(200);
+		/** 等待时间的增长倍数 */
+		private double multiplier = 2.0;
+		/** 单次等待时间上限 */
+		private Duration maxInterval = Duration.ofSeconds(2);
+		/** 随机抖动比例，取值 [0,1]，0.5 表示在退避时间的 50%~150% 之间随机 */
+		private double jitter = 0.5;
+		/** 从首次请求开始计算的总截止时间，超出后不再重试 */
+		private Duration deadline = Duration.ofSeconds(10);
+		/** 可重试的响应状态码；网络异常（IOException）始终可重试 */
+		private Set<Integer> retryableStatus = new LinkedHashSet<>(Arrays.asList(429, 500, 502, 503, 504));
+		/** 按接口覆盖的重试配置，例如 agora.retry.apis.START_CLOUD_RECORDING.enabled=true */
+		private Map<AgoraApiAddress, RetryApi> apis = new EnumMap<>(AgoraApiAddress.class);
+
+	}
+
+	@Data
+	public static class RetryApi {
+
+		/** 是否重试，未配置时查询类接口重试、其余接口不重试 */
+		private Boolean enabled;
+		/** 最大尝试次数，未配置时使用全局配置 */
+		private Integer maxAttempts;
+		/** 总截止时间，未配置时使用全局配置 */
+		private Duration deadline;
+
+	}
+
+	@Data
+	public static class RateLimit {
+
+		/** 是否启用本地限流 */
+		private boolean enabled = false;
+		/** 令牌不足时的处理方式：BLOCKING（默认）、FAIL_FAST、QUEUED */
+		private AgoraRateLimitInterceptor.Mode mode = AgoraRateLimitInterceptor.Mode.BLOCKING;
+		/** QUEUED 模式下的最长等待时间 */
+		private Duration maxWait = Duration.ofSeconds(5);
+		/** QUEUED 模式下每个分组的最大排队请求数 */
+		private int maxQueueSize = 1000;
+		/** 按接口分组的限流配置，默认每组 10 QPS */
+		private Map<AgoraApiGroup, RateLimitGroup> groups = defaultRateLimitGroups();
+
+		private static Map<AgoraApiGroup, RateLimitGroup> defaultRateLimitGroups() {
+			Map<AgoraApiGroup, RateLimitGroup> groups = new EnumMap<>(AgoraApiGroup.class);
+			for (AgoraApiGroup group : AgoraApiGroup.values()) {
+				groups.put(group, new RateLimitGroup());
+			}
+			return groups;
+		}
+
+	}
+
+	@Data
+	public static class Token {
+
+		/** Token 盐值生成方式：SECURE_RANDOM（默认，每线程一个 SecureRandom）、SPLITTABLE_RANDOM（非加密随机数，性能更高） */
+		private SaltGenerator.Type salt = SaltGenerator.Type.SECURE_RANDOM;
+		/** Token 缓存配置 */
+		private TokenCache cache = new TokenCache();
+
+	}
+
+	@Data
+	public static class TokenCache {
+
+		/** 是否启用 Token 缓存 */
+		private boolean enabled = false;
+		/** 最大缓存数量 */
+		private long maximumSize = 10000;
+		/** 写入后的过期时间 */
+		private Duration expireAfterWrite = Duration.ofMinutes(30);
+		/** 复用缓存 Token 所需的最短剩余有效期，不足时重新生成 */
+		private Duration minRemainingTime = Duration.ofMinutes(10);
+
+	}
+
+	@Data
+	public static class CircuitBreaker {
+
+		/** 是否启用熔断 */
+		private boolean enabled = false;
+		/** 打开熔断器的失败率阈值（百分比） */
+		private float failureRateThreshold = 50;
+		/** 统计失败率的滑动窗口大小（最近调用次数） */
+		private int slidingWindowSize = 20;
+		/** 计算失败率所需的最少调用次数 */
+		private int minimumNumberOfCalls = 10;
+		/** 熔断器打开后转为半开前的等待时间 */
+		private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+		/** 半开状态下放行的探测请求数 */
+		private int permittedCallsInHalfOpenState = 1;
+		/** 计为失败的响应状态码；网络异常（含超时）始终计为失败 */
+		private Set<Integer> failureStatus = new LinkedHashSet<>(Arrays.asList(500, 502, 503, 504));
+
+	}
+
+	@Data
+	public static class RateLimitGroup {
+
+		/** 每秒允许的请求数，小于等于 0 表示不限流 */
+		private double permitsPerSecond = 10;
+		/** 令牌不足时的处理方式，未配置时使用全局配置 */
+		private AgoraRateLimitInterceptor.Mode mode;
+
+	}
+
 }
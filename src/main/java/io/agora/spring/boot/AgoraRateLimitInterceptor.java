@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import com.google.common.util.concurrent.RateLimiter;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 声网 RESTful 请求本地限流拦截器：按 {@link AgoraApiGroup} 维护令牌桶（Guava RateLimiter），在本地平滑突发流量，
+ * 避免触发声网按 App ID 计算的 QPS 限制（429）。位于重试拦截器之内，每次尝试均消耗一个令牌。
+ * 拦截器内的等待会阻塞当前线程，异步请求在入队前通过 {@link #acquireAsync} 定时轮询取得令牌并携带 {@link #ACQUIRED} tag，
+ * 避免占用 OkHttp 调度线程与单 Host 并发名额
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraRateLimitInterceptor implements Interceptor {
+
+	/**
+	 * 请求已在入队前取得令牌，拦截器直接放行
+	 */
+	public static final PermitAcquired ACQUIRED = new PermitAcquired();
+
+	private final AgoraProperties.RateLimit rateLimit;
+	private final Map<AgoraApiGroup, RateLimiter> limiters = new EnumMap<>(AgoraApiGroup.class);
+	private final Map<AgoraApiGroup, Semaphore> queues = new EnumMap<>(AgoraApiGroup.class);
+
+	public AgoraRateLimitInterceptor(AgoraProperties.RateLimit rateLimit) {
+		this.rateLimit = rateLimit;
+		for (Map.Entry<AgoraApiGroup, AgoraProperties.RateLimitGroup> entry : rateLimit.getGroups().entrySet()) {
+			if (entry.getValue().getPermitsPerSecond() > 0) {
+				limiters.put(entry.getKey(), RateLimiter.create(entry.getValue().getPermitsPerSecond()));
+				queues.put(entry.getKey(), new Semaphore(Math.max(1, rateLimit.getMaxQueueSize())));
+			}
+		}
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		AgoraApiAddress address = request.tag(AgoraApiAddress.class);
+		RateLimiter limiter = this.getLimiter(address);
+		if (Objects.isNull(limiter) || Objects.nonNull(request.tag(PermitAcquired.class))) {
+			return chain.proceed(request);
+		}
+		AgoraApiGroup group = address.getGroup();
+		switch (this.getMode(group)) {
+			case FAIL_FAST:
+				if (!limiter.tryAcquire()) {
+					throw new AgoraRateLimitedException(group, "no permit available");
+				}
+				break;
+			case QUEUED:
+				Semaphore queue = queues.get(group);
+				if (!queue.tryAcquire()) {
+					throw new AgoraRateLimitedException(group, "queue is full (" + rateLimit.getMaxQueueSize() + ")");
+				}
+				try {
+					if (!limiter.tryAcquire(rateLimit.getMaxWait().toMillis(), TimeUnit.MILLISECONDS)) {
+						throw new AgoraRateLimitedException(group, "no permit available within " + rateLimit.getMaxWait().toMillis() + "ms");
+					}
+				} finally {
+					queue.release();
+				}
+				break;
+			default:
+				limiter.acquire();
+				break;
+		}
+		return chain.proceed(request);
+	}
+
+	/**
+	 * 异步请求的非阻塞取令牌：没有令牌时在 scheduler 上按令牌间隔重试，不阻塞调用线程；
+	 * FAIL_FAST 无令牌、QUEUED 排队已满或等待超过 max-wait 时以 {@link AgoraRateLimitedException} 结束，
+	 * 取消返回的 CompletableFuture 即停止等待
+	 * @param address 接口地址
+	 * @param scheduler 轮询使用的定时器
+	 * @return 取得令牌后完成的 CompletableFuture
+	 */
+	public CompletableFuture<Void> acquireAsync(AgoraApiAddress address, ScheduledExecutorService scheduler) {
+		RateLimiter limiter = this.getLimiter(address);
+		if (Objects.isNull(limiter) || limiter.tryAcquire()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		AgoraApiGroup group = address.getGroup();
+		CompletableFuture<Void> permit = new CompletableFuture<>();
+		long deadlineNs = Long.MAX_VALUE;
+		switch (this.getMode(group)) {
+			case FAIL_FAST:
+				permit.completeExceptionally(new AgoraRateLimitedException(group, "no permit available"));
+				return permit;
+			case QUEUED:
+				Semaphore queue = queues.get(group);
+				if (!queue.tryAcquire()) {
+					permit.completeExceptionally(new AgoraRateLimitedException(group, "queue is full (" + rateLimit.getMaxQueueSize() + ")"));
+					return permit;
+				}
+				permit.whenComplete((v, ex) -> queue.release());
+				deadlineNs = System.nanoTime() + rateLimit.getMaxWait().toNanos();
+				break;
+			default:
+				break;
+		}
+		long intervalMs = Math.max(1, (long) Math.ceil(1000 / limiter.getRate()));
+		this.poll(limiter, group, deadlineNs, intervalMs, scheduler, permit);
+		return permit;
+	}
+
+	private void poll(RateLimiter limiter, AgoraApiGroup group, long deadlineNs, long intervalMs,
+			ScheduledExecutorService scheduler, CompletableFuture<Void> permit) {
+		if (permit.isDone()) {
+			return;
+		}
+		long remainingNs = deadlineNs - System.nanoTime();
+		if (limiter.tryAcquire()) {
+			permit.complete(null);
+		} else if (remainingNs <= 0) {
+			permit.completeExceptionally(new AgoraRateLimitedException(group, "no permit available within " + rateLimit.getMaxWait().toMillis() + "ms"));
+		} else {
+			// 最后一次轮询不晚于截止时间
+			long delayNs = Math.min(TimeUnit.MILLISECONDS.toNanos(intervalMs), remainingNs);
+			scheduler.schedule(() -> this.poll(limiter, group, deadlineNs, intervalMs, scheduler, permit), delayNs, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private RateLimiter getLimiter(AgoraApiAddress address) {
+		return !rateLimit.isEnabled() || Objects.isNull(address) ? null : limiters.get(address.getGroup());
+	}
+
+	protected Mode getMode(AgoraApiGroup group) {
+		AgoraProperties.RateLimitGroup groupLimit = rateLimit.getGroups().get(group);
+		return Objects.nonNull(groupLimit) && Objects.nonNull(groupLimit.getMode()) ? groupLimit.getMode() : rateLimit.getMode();
+	}
+
+	public RateLimiter getRateLimiter(AgoraApiGroup group) {
+		return limiters.get(group);
+	}
+
+	/**
+	 * 已取得令牌标记类型，作为请求 tag 使用
+	 */
+	public static final class PermitAcquired {
+
+		private PermitAcquired() {
+		}
+
+	}
+
+	/**
+	 * 令牌不足时的处理方式
+	 */
+	public enum Mode {
+
+		/**
+		 * 阻塞等待令牌（默认）
+		 */
+		BLOCKING,
+		/**
+		 * 无可用令牌时立即抛出 {@link AgoraRateLimitedException}
+		 */
+		FAIL_FAST,
+		/**
+		 * 排队等待令牌：排队数超过 max-queue-size 或等待超过 max-wait 时抛出 {@link AgoraRateLimitedException}
+		 */
+		QUEUED
+
+	}
+
+}
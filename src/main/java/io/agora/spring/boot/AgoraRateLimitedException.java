@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import java.io.IOException;
+
+/**
+ * 本地限流拒绝请求时抛出的异常：请求未发出，调用方可稍后重试
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+@SuppressWarnings("serial")
+public class AgoraRateLimitedException extends IOException {
+
+	/**
+	 * 触发限流的接口分组
+	 */
+	private final AgoraApiGroup group;
+
+	public AgoraRateLimitedException(AgoraApiGroup group, String message) {
+		super("Agora " + group + " request rejected by local rate limiter : " + message);
+		this.group = group;
+	}
+
+	public AgoraApiGroup getGroup() {
+		return group;
+	}
+
+}
@@ -0,0 +1,88 @@
+package io.agora.spring.boot;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应式声网客户端：仅当 classpath 中存在 WebClient 与 Reactor Netty 时生效，
+ * 连接池与超时复用 agora.http.* 配置，响应体按 agora.json-engine 选择的 {@link AgoraJsonCodec} 序列化
+ */
+@Configuration
+@ConditionalOnClass({ WebClient.class, HttpClient.class })
+@AutoConfigureAfter(AgoraAutoConfiguration.class)
+public class AgoraReactiveAutoConfiguration {
+
+	public static final String AGORA_WEB_CLIENT = "agoraWebClient";
+
+	@Bean
+	@ConditionalOnMissingBean
+	public AgoraAuthorizationExchangeFilter agoraAuthorizationExchangeFilter(AgoraCredentialsHolder agoraCredentialsHolder) {
+		return new AgoraAuthorizationExchangeFilter(agoraCredentialsHolder);
+	}
+
+	/**
+	 * 声网专用 WebClient：不参与按类型注入，如需替换，声明同名 Bean 即可
+	 */
+	@Bean(name = AGORA_WEB_CLIENT, autowireCandidate = false)
+	@ConditionalOnMissingBean(name = AGORA_WEB_CLIENT)
+	public WebClient agoraWebClient(AgoraProperties poolProperties,
+									ObjectProvider<AgoraWebClientCustomizer> customizerProvider,
+									AgoraAuthorizationExchangeFilter agoraAuthorizationExchangeFilter) {
+
+		AgoraProperties.Http http = poolProperties.getHttp();
+		ConnectionProvider connectionProvider = ConnectionProvider.builder("agora")
+				.maxConnections(http.getMaxRequests())
+				.maxIdleTime(http.getKeepAlive())
+				.build();
+		// 与 OkHttp 一致：读、写超时为 0 时不限制
+		HttpClient httpClient = HttpClient.create(connectionProvider)
+				.tcpConfiguration(tcpClient -> tcpClient
+						.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.getConnectTimeout().toMillis())
+						.doOnConnected(connection -> {
+							if (isPositive(http.getReadTimeout())) {
+								connection.addHandlerLast(new ReadTimeoutHandler(http.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS));
+							}
+							if (isPositive(http.getWriteTimeout())) {
+								connection.addHandlerLast(new WriteTimeoutHandler(http.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS));
+							}
+						}));
+
+		WebClient.Builder builder = WebClient.builder()
+				.clientConnector(new ReactorClientHttpConnector(httpClient))
+				.filter(agoraAuthorizationExchangeFilter);
+		customizerProvider.orderedStream().forEach(customizer -> customizer.customize(builder));
+		return builder.build();
+	}
+
+	private static boolean isPositive(Duration timeout) {
+		return timeout != null && !timeout.isZero() && !timeout.isNegative();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public ReactiveAgoraTemplate reactiveAgoraTemplate(BeanFactory beanFactory,
+													   ObjectProvider<AgoraUserIdProvider> agoraUserIdProvider,
+													   AgoraProperties poolProperties,
+													   AgoraJsonCodec agoraJsonCodec) {
+		WebClient webClient = beanFactory.getBean(AGORA_WEB_CLIENT, WebClient.class);
+		return new ReactiveAgoraTemplate(agoraUserIdProvider.getIfAvailable(() -> {
+			return new AgoraUserIdProvider() {};
+		}), webClient, poolProperties, agoraJsonCodec);
+	}
+
+}
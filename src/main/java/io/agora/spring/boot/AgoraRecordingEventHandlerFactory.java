@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import io.agora.recording.DefaultRecordingEventHandler;
+import io.agora.recording.RecordingSDK;
+import io.agora.recording.output.RecordingFrameWriter;
+import io.agora.recording.processor.FrameDispatcher;
+
+/**
+ * 本地录制事件处理器工厂：为每个频道创建 {@link DefaultRecordingEventHandler}，并注入容器共享的
+ * {@link RecordingFrameWriter}（含 SegmentListener）与 {@link FrameDispatcher}（含 FrameProcessor）
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraRecordingEventHandlerFactory {
+
+	private final AgoraProperties agoraProperties;
+	private final AgoraRecordingProperties recordingProperties;
+	private final RecordingFrameWriter frameWriter;
+	private final FrameDispatcher frameDispatcher;
+
+	/**
+	 * @param frameWriter 共享的帧写入器
+	 * @param frameDispatcher 共享的帧分发器，为 null 时帧只写入文件
+	 */
+	public AgoraRecordingEventHandlerFactory(AgoraProperties agoraProperties, AgoraRecordingProperties recordingProperties,
+			RecordingFrameWriter frameWriter, FrameDispatcher frameDispatcher) {
+		this.agoraProperties = agoraProperties;
+		this.recordingProperties = recordingProperties;
+		this.frameWriter = frameWriter;
+		this.frameDispatcher = frameDispatcher;
+	}
+
+	/**
+	 * 创建频道的事件处理器并注册到 SDK；共享的写入器与分发器由容器关闭，离开频道时不会关闭
+	 * @param channelId 频道名
+	 * @param anchorUid 主播 UID
+	 * @param recordingUid 录制端 UID
+	 * @param recording 录制 SDK 实例
+	 * @return 事件处理器
+	 */
+	public DefaultRecordingEventHandler create(String channelId, long anchorUid, long recordingUid, RecordingSDK recording) {
+		return new DefaultRecordingEventHandler(channelId, anchorUid, recordingUid, agoraProperties, recordingProperties,
+				recording, frameWriter, frameDispatcher);
+	}
+
+	public RecordingFrameWriter getFrameWriter() {
+		return frameWriter;
+	}
+
+	public FrameDispatcher getFrameDispatcher() {
+		return frameDispatcher;
+	}
+
+}
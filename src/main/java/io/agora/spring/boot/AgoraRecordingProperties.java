@@ -1,8 +1,13 @@
 package io.agora.spring.boot;
 
 import io.agora.recording.common.Common.*;
+import io.agora.recording.output.OutputMode;
+import io.agora.recording.output.OverflowPolicy;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 @ConfigurationProperties(prefix = AgoraRecordingProperties.PREFIX)
 @Data
@@ -293,9 +298,88 @@ public class AgoraRecordingProperties {
    */
   private boolean enableH265Support = false;
 
+  /** Whether to register the local recording beans: the shared frame writer, the frame dispatcher and the handler factory. */
+  private boolean enabled = false;
+
   /**
    * SDK 库存放地址
    */
   private String libPath;
 
+  /** Asynchronous writer used by the local recording handler to persist raw audio and video frames. */
+  private Writer writer = new Writer();
+
+  /** Per-stream segment rotation of locally written recording files. */
+  private Rotation rotation = new Rotation();
+
+  /** Routing of recorded frames to in-process FrameProcessor beans. */
+  private Processor processor = new Processor();
+
+  @Data
+  public static class Writer {
+
+    /** Whether frames are written to local files; disable to only route frames to FrameProcessor beans. */
+    private boolean enabled = true;
+
+    /** Number of writer threads shared by all recorded streams. */
+    private int threads = 2;
+
+    /** Maximum number of frames queued per stream before the overflow policy applies. */
+    private int queueCapacity = 256;
+
+    /** Maximum number of bytes queued per stream before the overflow policy applies; a 720p YUV frame is about 1.4MB. */
+    private DataSize maxQueuedBytes = DataSize.ofMegabytes(8);
+
+    /** Per-stream staging buffer; frames are coalesced into it and written to the file when it fills up. */
+    private DataSize bufferSize = DataSize.ofMegabytes(1);
+
+    /** How often buffered bytes are handed to the file, instead of flushing after every frame. */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /** What to do with a frame when its stream queue is full. */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
+    /** Maximum time the SDK callback thread waits for queue space when the overflow policy is BLOCK. */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+    /** How raw YUV and PCM frames are written; MAPPED preallocates segment files and writes through memory mappings. */
+    private OutputMode rawOutputMode = OutputMode.CHANNEL;
+
+    /** Segment size at which MAPPED output rolls over to the next file, e.g. 1001.yuv, 1001_1.yuv. */
+    private DataSize segmentSize = DataSize.ofGigabytes(1);
+
+    /** How much a MAPPED segment file grows (and is mapped) at a time. */
+    private DataSize mapChunkSize = DataSize.ofMegabytes(64);
+
+  }
+
+  @Data
+  public static class Processor {
+
+    /** Number of dispatch threads; frames of one uid always go to the same thread and keep their order. */
+    private int threads = 2;
+
+    /** Maximum number of frames queued per dispatch thread; further frames are dropped. */
+    private int queueCapacity = 1024;
+
+  }
+
+  @Data
+  public static class Rotation {
+
+    /** Close a stream's segment once it has been open this long; unset disables time-based rotation. */
+    private Duration maxDuration;
+
+    /** Close a stream's segment before it would exceed this size; unset disables size-based rotation. */
+    private DataSize maxSize;
+
+    /**
+     * File name pattern, without extension. Supports {channel}, {uid}, {type} (audio/video),
+     * {timestamp} (segment start in epoch millis) and {sequence}. When rotation is enabled and the pattern
+     * contains neither {timestamp} nor {sequence}, "_{sequence}" is appended.
+     */
+    private String fileNamePattern = "{uid}";
+
+  }
+
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import io.agora.recording.output.RecordingFrameWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 本地录制帧写入指标：队列深度与排队字节数、打开的流数量、写入与丢弃的帧数以及写入字节数
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraRecordingWriterMetricsBinder implements MeterBinder {
+
+	private final RecordingFrameWriter frameWriter;
+
+	public AgoraRecordingWriterMetricsBinder(RecordingFrameWriter frameWriter) {
+		this.frameWriter = frameWriter;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("agora.recording.writer.queue.depth", frameWriter, RecordingFrameWriter::getQueueDepth)
+				.description("Recorded frames waiting to be written")
+				.register(registry);
+		Gauge.builder("agora.recording.writer.queue.bytes", frameWriter, RecordingFrameWriter::getQueuedBytes)
+				.description("Recorded bytes waiting to be written")
+				.baseUnit("bytes")
+				.register(registry);
+		Gauge.builder("agora.recording.writer.streams", frameWriter, RecordingFrameWriter::getOpenStreams)
+				.description("Recorded streams currently open")
+				.register(registry);
+		FunctionCounter.builder("agora.recording.writer.frames", frameWriter, RecordingFrameWriter::getWrittenFrames)
+				.tag("result", "written")
+				.description("Recorded frames by outcome")
+				.register(registry);
+		FunctionCounter.builder("agora.recording.writer.frames", frameWriter, RecordingFrameWriter::getDroppedFrames)
+				.tag("result", "dropped")
+				.description("Recorded frames by outcome")
+				.register(registry);
+		FunctionCounter.builder("agora.recording.writer.bytes", frameWriter, RecordingFrameWriter::getWrittenBytes)
+				.description("Recorded bytes written")
+				.register(registry);
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import java.io.IOException;
+
+/**
+ * 声网 RESTful 接口返回非 2xx 状态码时抛出的异常
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+@SuppressWarnings("serial")
+public class AgoraResponseException extends IOException {
+
+	/**
+	 * HTTP 响应状态码
+	 */
+	private final int code;
+
+	public AgoraResponseException(int code, String message) {
+		super("Agora request failed with code " + code + " : " + message);
+		this.code = code;
+	}
+
+	public int getCode() {
+		return code;
+	}
+
+}
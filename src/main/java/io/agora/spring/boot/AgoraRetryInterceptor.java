@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 声网 RESTful 请求重试拦截器：指数退避 + 随机抖动，受总截止时间约束。
+ * 接口地址取自请求上 {@link AgoraApiAddress} 类型的 tag：幂等的查询类接口默认重试，
+ * 开始/停止录制等非幂等接口需通过 agora.retry.apis.&lt;API&gt;.enabled=true 显式开启；未携带 tag 的请求不重试。
+ * 拦截器内的退避会阻塞当前线程，异步请求携带 {@link #ASYNC} tag 跳过拦截器重试，由调用方按同一策略定时重新入队，
+ * 避免占用 OkHttp 调度线程与单 Host 并发名额
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+@Slf4j
+public class AgoraRetryInterceptor implements Interceptor {
+
+	/**
+	 * 异步请求标记：拦截器只执行一次，重试由 {@link AgoraOkHttp3Template#doRequestAsync} 调度
+	 */
+	public static final AsyncRetry ASYNC = new AsyncRetry();
+
+	private final AgoraProperties.Retry retry;
+
+	public AgoraRetryInterceptor(AgoraProperties.Retry retry) {
+		this.retry = retry;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		AgoraApiAddress address = request.tag(AgoraApiAddress.class);
+		if (!this.isRetryable(address) || Objects.nonNull(request.tag(AsyncRetry.class))) {
+			return chain.proceed(request);
+		}
+
+		int maxAttempts = this.maxAttempts(address);
+		long deadlineNs = this.deadlineNanos(address);
+
+		for (int attempt = 1; ; attempt++) {
+			Response response = null;
+			IOException failure = null;
+			try {
+				response = chain.proceed(request);
+				if (!this.isRetryableStatus(response.code())) {
+					return response;
+				}
+			} catch (IOException e) {
+				if (!this.isRetryableFailure(e, chain.call())) {
+					throw e;
+				}
+				failure = e;
+			}
+
+			long delayMs = this.backoff(attempt, response);
+			if (!this.canRetry(attempt, maxAttempts, delayMs, deadlineNs)) {
+				if (Objects.nonNull(failure)) {
+					throw failure;
+				}
+				return response;
+			}
+			if (Objects.nonNull(response)) {
+				log.warn("Agora {} >> Retry {}/{} after {}ms, code : {}", address.getOpt(), attempt, maxAttempts, delayMs, response.code());
+				response.close();
+			} else {
+				log.warn("Agora {} >> Retry {}/{} after {}ms, error : {}", address.getOpt(), attempt, maxAttempts, delayMs, failure.getMessage());
+			}
+			try {
+				TimeUnit.MILLISECONDS.sleep(delayMs);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				InterruptedIOException interrupted = new InterruptedIOException("Agora retry interrupted");
+				interrupted.initCause(e);
+				throw interrupted;
+			}
+		}
+	}
+
+	protected int maxAttempts(AgoraApiAddress address) {
+		AgoraProperties.RetryApi api = retry.getApis().get(address);
+		return Objects.nonNull(api) && Objects.nonNull(api.getMaxAttempts()) ? api.getMaxAttempts() : retry.getMaxAttempts();
+	}
+
+	/**
+	 * @return 本次请求（含全部重试）的截止时间，System.nanoTime() 基准
+	 */
+	protected long deadlineNanos(AgoraApiAddress address) {
+		AgoraProperties.RetryApi api = retry.getApis().get(address);
+		Duration deadline = Objects.nonNull(api) && Objects.nonNull(api.getDeadline()) ? api.getDeadline() : retry.getDeadline();
+		return System.nanoTime() + deadline.toNanos();
+	}
+
+	protected boolean isRetryableStatus(int code) {
+		return retry.getRetryableStatus().contains(code);
+	}
+
+	/**
+	 * 本地限流、熔断拒绝的请求未发出，已取消的请求也不再重试
+	 */
+	protected boolean isRetryableFailure(IOException e, Call call) {
+		return !(e instanceof AgoraRateLimitedException || e instanceof AgoraCircuitOpenException || Objects.nonNull(call) && call.isCanceled());
+	}
+
+	protected boolean canRetry(int attempt, int maxAttempts, long delayMs, long deadlineNs) {
+		return attempt < maxAttempts && System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs) <= deadlineNs;
+	}
+
+	protected boolean isRetryable(AgoraApiAddress address) {
+		if (!retry.isEnabled() || Objects.isNull(address)) {
+			return false;
+		}
+		AgoraProperties.RetryApi api = retry.getApis().get(address);
+		return Objects.nonNull(api) && Objects.nonNull(api.getEnabled()) ? api.getEnabled() : address.isIdempotent();
+	}
+
+	/**
+	 * 计算第 attempt 次失败后的等待时间：min(maxInterval, initialInterval * multiplier^(attempt-1)) 并叠加 ±jitter 的随机抖动；
+	 * 响应携带 Retry-After（秒）时取两者较大值
+	 */
+	protected long backoff(int attempt, Response response) {
+		double interval = retry.getInitialInterval().toMillis() * Math.pow(retry.getMultiplier(), attempt - 1);
+		interval = Math.min(interval, retry.getMaxInterval().toMillis());
+		double jitter = Math.max(0, Math.min(1, retry.getJitter()));
+		long delayMs = (long) (interval * (1 - jitter + 2 * jitter * ThreadLocalRandom.current().nextDouble()));
+		if (Objects.nonNull(response)) {
+			String retryAfter = response.header("Retry-After");
+			if (Objects.nonNull(retryAfter)) {
+				try {
+					delayMs = Math.max(delayMs, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim())));
+				} catch (NumberFormatException e) {
+					// HTTP-date 格式不做处理，沿用退避时间
+				}
+			}
+		}
+		return delayMs;
+	}
+
+	/**
+	 * 异步请求标记类型，作为请求 tag 使用
+	 */
+	public static final class AsyncRetry {
+
+		private AsyncRetry() {
+		}
+
+	}
+
+}
@@ -1,9 +1,17 @@
 package io.agora.spring.boot;
 
+import io.agora.chat.ChatTokenBuilder2;
 import io.agora.media.RtcTokenBuilder;
+import io.agora.media.RtcTokenBuilder2;
+import io.agora.rtm.RtmTokenBuilder2;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.MediaType;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
 /**
  * https://docs.agora.io/cn/Interactive%20Broadcast/rtc_channel_event?platform=RESTful
  * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
@@ -17,9 +25,17 @@ public class AgoraTemplate {
 	public final static MediaType APPLICATION_JSON = MediaType.parse(APPLICATION_JSON_VALUE);
 	public final static MediaType APPLICATION_JSON_UTF8 = MediaType.parse(APPLICATION_JSON_UTF8_VALUE);
 
+    /**
+     * @deprecated 重试次数改由 agora.retry.max-attempts 配置，见 {@link AgoraRetryInterceptor}
+     */
+    @Deprecated
     public static int TRY_MAX = 5;
 
-	private static RtcTokenBuilder token = new RtcTokenBuilder();
+	private final RtcTokenBuilder token;
+	private final AgoraTokenCache tokenCache;
+	private final RtcTokenBuilder2 token2;
+	private final RtmTokenBuilder2 rtmToken2;
+	private final ChatTokenBuilder2 chatToken2;
 
 	private AgoraUserIdProvider userIdProvider;
 	private AgoraOkHttp3Template agoraOkHttp3Template;
@@ -29,9 +45,27 @@ public class AgoraTemplate {
 	private final AgoraCloudRecordingAsyncOperations cloudRecordingOps = new AgoraCloudRecordingAsyncOperations(this);
 
 	public AgoraTemplate(AgoraUserIdProvider userIdProvider, AgoraOkHttp3Template agoraOkHttp3Template, AgoraProperties agoraProperties) {
+		this(userIdProvider, agoraOkHttp3Template, agoraProperties, new RtcTokenBuilder());
+	}
+
+	public AgoraTemplate(AgoraUserIdProvider userIdProvider, AgoraOkHttp3Template agoraOkHttp3Template, AgoraProperties agoraProperties,
+						 RtcTokenBuilder tokenBuilder) {
+		this(userIdProvider, agoraOkHttp3Template, agoraProperties, tokenBuilder, null);
+	}
+
+	/**
+	 * @param tokenCache Token 缓存，为 null 时每次调用均生成新 Token
+	 */
+	public AgoraTemplate(AgoraUserIdProvider userIdProvider, AgoraOkHttp3Template agoraOkHttp3Template, AgoraProperties agoraProperties,
+						 RtcTokenBuilder tokenBuilder, AgoraTokenCache tokenCache) {
 		this.userIdProvider = userIdProvider;
 		this.agoraOkHttp3Template = agoraOkHttp3Template;
 		this.agoraProperties = agoraProperties;
+		this.token = tokenBuilder;
+		this.tokenCache = tokenCache;
+		this.token2 = new RtcTokenBuilder2(tokenBuilder.getSaltGenerator());
+		this.rtmToken2 = new RtmTokenBuilder2(tokenBuilder.getSaltGenerator());
+		this.chatToken2 = new ChatTokenBuilder2(tokenBuilder.getSaltGenerator());
 	}
 
 	public AgoraChannelManagerAsyncOperations opsForChannel() {
@@ -47,20 +81,102 @@ public class AgoraTemplate {
 	}
 
     public String generateToken(int userId, String channelName, RtcTokenBuilder.Role role) {
-        int timestamp = (int)(System.currentTimeMillis() / 1000 + agoraProperties.getExpirationTimeInSeconds());
-        log.info("{} >> Agora Token Expiration Time : {}s ", channelName, timestamp);
-        String result = token.buildTokenWithUid(agoraProperties.getAppId(), agoraProperties.getAppCertificate(),
-        		channelName, userId, role, timestamp);
-        log.info("{} >> Agora Token : {} << AppId:{}, AppCertificate: {}, Role : {}", channelName, result, agoraProperties.getAppId(), agoraProperties.getAppCertificate(), role);
-        return result;
+        // 与 RtcTokenBuilder.buildTokenWithUid 一致：数字 uid 以字符串账号参与签名，0 对应空账号
+        return this.generateToken(userId == 0 ? "" : String.valueOf(userId), channelName, role);
     }
 
+	/**
+	 * 生成 RTC Token，启用 agora.token.cache 时剩余有效期足够的 Token 直接复用
+	 * @param userId 用户账号
+	 * @param channelName 频道名称
+	 * @param role 用户角色
+	 * @return Token
+	 */
 	public String generateToken(String userId, String channelName, RtcTokenBuilder.Role role) {
+		if (Objects.nonNull(tokenCache)) {
+			return tokenCache.getToken(userId, channelName, role, agoraProperties.getExpirationTimeInSeconds(),
+					timestamp -> this.buildToken(userId, channelName, role, timestamp));
+		}
+		int timestamp = (int)(System.currentTimeMillis() / 1000 + agoraProperties.getExpirationTimeInSeconds());
+		return this.buildToken(userId, channelName, role, timestamp);
+	}
+
+	/**
+	 * 批量生成同一频道、同一角色的 RTC Token（如上课时为全部学员生成），App ID、证书、频道与 Mac 在批次内复用；不经过 Token 缓存
+	 * @param channelName 频道名称
+	 * @param role 用户角色
+	 * @param userIds 用户账号
+	 * @return 用户账号与 Token 的映射，顺序与 userIds 一致
+	 */
+	public Map<String, String> generateTokens(String channelName, RtcTokenBuilder.Role role, Collection<String> userIds) {
+		return this.generateTokens(channelName, role, userIds, null);
+	}
+
+	/**
+	 * 批量生成同一频道、同一角色的 RTC Token，按批拆分到 executor 并行生成并等待全部完成
+	 * @param channelName 频道名称
+	 * @param role 用户角色
+	 * @param userIds 用户账号
+	 * @param executor 执行器，为 null 时在当前线程生成
+	 * @return 用户账号与 Token 的映射，顺序与 userIds 一致
+	 */
+	public Map<String, String> generateTokens(String channelName, RtcTokenBuilder.Role role, Collection<String> userIds, Executor executor) {
 		int timestamp = (int)(System.currentTimeMillis() / 1000 + agoraProperties.getExpirationTimeInSeconds());
-		log.info("{} >> Agora Token Expiration Time : {}s ", channelName, timestamp);
+		Map<String, String> result = token.buildTokensWithUserAccounts(agoraProperties.getAppId(), agoraProperties.getAppCertificate(),
+				channelName, userIds, role, timestamp, executor);
+		log.debug("{} >> Agora Tokens Generated << AppId:{}, Role : {}, Count : {}", channelName, agoraProperties.getAppId(), role, result.size());
+		return result;
+	}
+
+	/**
+	 * 生成 AccessToken2（007）格式的 RTC Token，Token 与权限有效期均为 agora.expiration-time-in-seconds
+	 * @param userId 用户账号
+	 * @param channelName 频道名称
+	 * @param role 用户角色
+	 * @return Token
+	 */
+	public String generateToken2(String userId, String channelName, RtcTokenBuilder2.Role role) {
+		int expire = agoraProperties.getExpirationTimeInSeconds();
+		String result = token2.buildTokenWithUserAccount(agoraProperties.getAppId(), agoraProperties.getAppCertificate(),
+				channelName, userId, role, expire, expire);
+		log.debug("{} >> Agora Token2 Generated << AppId:{}, Role : {}", channelName, agoraProperties.getAppId(), role);
+		return result;
+	}
+
+	/**
+	 * 生成 AccessToken2（007）格式的 RTM Token
+	 * @param userId 用户ID
+	 * @return Token
+	 */
+	public String generateRtmToken2(String userId) {
+		return rtmToken2.buildToken(agoraProperties.getAppId(), agoraProperties.getAppCertificate(), userId,
+				agoraProperties.getExpirationTimeInSeconds());
+	}
+
+	/**
+	 * 生成 AccessToken2（007）格式的 Chat 用户 Token
+	 * @param userId 用户 uuid
+	 * @return Token
+	 */
+	public String generateChatUserToken2(String userId) {
+		return chatToken2.buildUserToken(agoraProperties.getAppId(), agoraProperties.getAppCertificate(), userId,
+				agoraProperties.getExpirationTimeInSeconds());
+	}
+
+	/**
+	 * 生成 AccessToken2（007）格式的 Chat App Token，用于调用 Chat RESTful API
+	 * @return Token
+	 */
+	public String generateChatAppToken2() {
+		return chatToken2.buildAppToken(agoraProperties.getAppId(), agoraProperties.getAppCertificate(),
+				agoraProperties.getExpirationTimeInSeconds());
+	}
+
+	protected String buildToken(String userId, String channelName, RtcTokenBuilder.Role role, int timestamp) {
+		log.debug("{} >> Agora Token Expiration Time : {}s ", channelName, timestamp);
 		String result = token.buildTokenWithUserAccount(agoraProperties.getAppId(), agoraProperties.getAppCertificate(),
 				channelName, userId, role, timestamp);
-		log.info("{} >> Agora Token : {} << AppId:{}, AppCertificate: {}, Role : {}", channelName, result, agoraProperties.getAppId(), agoraProperties.getAppCertificate(), role);
+		log.debug("{} >> Agora Token Generated << AppId:{}, Role : {}", channelName, agoraProperties.getAppId(), role);
 		return result;
 	}
 
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.agora.media.RtcTokenBuilder;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * 声网 Token 缓存：按 (用户账号, 频道, 角色) 缓存已生成的 Token，剩余有效期不低于 min-remaining-time 时直接复用，
+ * 否则重新生成；同一 key 的并发生成只执行一次。容量与写入后过期时间由 agora.token.cache.* 配置
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraTokenCache {
+
+	private final Cache<TokenKey, CachedToken> cache;
+	private final long minRemainingSeconds;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public AgoraTokenCache(AgoraProperties.TokenCache config) {
+		this.cache = CacheBuilder.newBuilder()
+				.maximumSize(config.getMaximumSize())
+				.expireAfterWrite(config.getExpireAfterWrite().toMillis(), TimeUnit.MILLISECONDS)
+				.recordStats()
+				.build();
+		this.minRemainingSeconds = config.getMinRemainingTime().getSeconds();
+	}
+
+	/**
+	 * 获取 Token：命中且剩余有效期足够时返回缓存值，否则调用 minter 生成
+	 * @param account 用户账号（数字 uid 使用其字符串形式，0 对应空字符串）
+	 * @param channelName 频道名称
+	 * @param role 用户角色
+	 * @param expirationTimeInSeconds 新 Token 的有效期（秒）
+	 * @param minter 根据过期时间戳（秒）生成 Token
+	 * @return Token
+	 */
+	public String getToken(String account, String channelName, RtcTokenBuilder.Role role, int expirationTimeInSeconds,
+						   IntFunction<String> minter) {
+		TokenKey key = new TokenKey(account, channelName, role);
+		CachedToken cached = cache.getIfPresent(key);
+		if (Objects.nonNull(cached) && this.isUsable(cached)) {
+			hits.increment();
+			return cached.token;
+		}
+		misses.increment();
+		return cache.asMap().compute(key, (k, current) -> {
+			// 等待期间其他线程可能已生成新 Token
+			if (Objects.nonNull(current) && current != cached && this.isUsable(current)) {
+				return current;
+			}
+			int expireTimestamp = (int) (currentSeconds() + expirationTimeInSeconds);
+			return new CachedToken(minter.apply(expireTimestamp), expireTimestamp);
+		}).token;
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	protected boolean isUsable(CachedToken cached) {
+		return cached.expireTimestamp - currentSeconds() >= minRemainingSeconds;
+	}
+
+	protected long currentSeconds() {
+		return System.currentTimeMillis() / 1000;
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return cache.stats().evictionCount();
+	}
+
+	public long size() {
+		return cache.size();
+	}
+
+	private static final class TokenKey {
+
+		private final String account;
+		private final String channelName;
+		private final RtcTokenBuilder.Role role;
+
+		TokenKey(String account, String channelName, RtcTokenBuilder.Role role) {
+			this.account = account;
+			this.channelName = channelName;
+			this.role = role;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof TokenKey)) {
+				return false;
+			}
+			TokenKey other = (TokenKey) o;
+			return account.equals(other.account) && channelName.equals(other.channelName) && role == other.role;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(account, channelName, role);
+		}
+
+	}
+
+	protected static final class CachedToken {
+
+		private final String token;
+		private final int expireTimestamp;
+
+		CachedToken(String token, int expireTimestamp) {
+			this.token = token;
+			this.expireTimestamp = expireTimestamp;
+		}
+
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 声网 Token 缓存指标：命中/未命中次数、淘汰次数与缓存大小
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+public class AgoraTokenCacheMetricsBinder implements MeterBinder {
+
+	private final AgoraTokenCache tokenCache;
+
+	public AgoraTokenCacheMetricsBinder(AgoraTokenCache tokenCache) {
+		this.tokenCache = tokenCache;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("agora.token.cache.requests", tokenCache, AgoraTokenCache::getHitCount)
+				.tag("result", "hit")
+				.description("Agora token requests served from the cache")
+				.register(registry);
+		FunctionCounter.builder("agora.token.cache.requests", tokenCache, AgoraTokenCache::getMissCount)
+				.tag("result", "miss")
+				.description("Agora token requests that minted a new token")
+				.register(registry);
+		FunctionCounter.builder("agora.token.cache.evictions", tokenCache, AgoraTokenCache::getEvictionCount)
+				.description("Agora tokens evicted from the cache")
+				.register(registry);
+		Gauge.builder("agora.token.cache.size", tokenCache, AgoraTokenCache::size)
+				.description("Agora tokens currently cached")
+				.register(registry);
+	}
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 声网专用 WebClient 的定制接口，注册为 Spring Bean 后按 @Order 顺序在客户端创建前回调
+ *
+ * @author ： <a href="https://github.com/hiwepy">wandl</a>
+ */
+@FunctionalInterface
+public interface AgoraWebClientCustomizer {
+
+	/**
+	 * 定制 WebClient.Builder
+	 * @param builder 已按 agora.http.* 配置连接器并注册认证过滤器的构建器
+	 */
+	void customize(WebClient.Builder builder);
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import io.agora.spring.boot.resp.ChannelUserListResponse;
+import io.agora.spring.boot.resp.ChannelUserStateResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * 1、频道管理（响应式）
+ * https://docs.agora.io/cn/Video/channel_management_overview?platform=RESTful
+ */
+public class ReactiveAgoraChannelManagerOperations extends ReactiveAgoraOperations {
+
+	public ReactiveAgoraChannelManagerOperations(ReactiveAgoraTemplate agoraTemplate) {
+		super(agoraTemplate);
+	}
+
+	/**
+	 * 1、查询在线频道信息 - 查询用户状态
+	 * 该方法可查询指定频道中某个用户的状态。请求成功后，返回的参数包括用户是否在频道中、加入频道的时间和用户角色等。
+	 * API：https://docs.agora.io/cn/Video/rtc_channel_management_restfulapi?platform=RESTful#%E6%9F%A5%E8%AF%A2%E5%9C%A8%E7%BA%BF%E9%A2%91%E9%81%93%E4%BF%A1%E6%81%AF
+	 * @param uid 用户 UID
+	 * @param channelName 频道名称
+	 * @return 操作结果
+	 */
+	public Mono<ChannelUserStateResponse> getChannelUserState(String uid, String channelName) {
+		String reqUrl = AgoraApiAddress.CHANNEL_USER_STATE.getUrl(getAgoraProperties().getAppId(), uid, channelName);
+		return super.get(AgoraApiAddress.CHANNEL_USER_STATE, reqUrl, ChannelUserStateResponse.class);
+	}
+
+	/**
+	 * 1、查询在线频道信息 - 批量查询用户状态
+	 * 按 concurrency 限制同时在途的请求数，下游消费速度决定上游 uid 的拉取速度
+	 * @param uids 用户 UID 序列
+	 * @param channelName 频道名称
+	 * @param concurrency 最大并发请求数
+	 * @return 操作结果，顺序与请求完成顺序一致
+	 */
+	public Flux<ChannelUserStateResponse> getChannelUserStates(Publisher<String> uids, String channelName, int concurrency) {
+		return Flux.from(uids).flatMap(uid -> this.getChannelUserState(uid, channelName), concurrency);
+	}
+
+	/**
+	 * 2、查询在线频道信息 - 查询指定频道内的用户列表
+	 * API：https://docs.agora.io/cn/Video/rtc_channel_management_restfulapi?platform=RESTful#%E6%9F%A5%E8%AF%A2%E7%94%A8%E6%88%B7%E5%88%97%E8%A1%A8
+	 * @param channelName 频道名称
+	 * @return 操作结果
+	 */
+	public Mono<ChannelUserListResponse> getChannelUserList(String channelName) {
+		String reqUrl = AgoraApiAddress.CHANNEL_USER_LIST.getUrl(getAgoraProperties().getAppId(), channelName);
+		return super.get(AgoraApiAddress.CHANNEL_USER_LIST, reqUrl, ChannelUserListResponse.class);
+	}
+
+	/**
+	 * 3、查询在线频道信息 - 查询项目的频道列表
+	 * API：https://docs.agora.io/cn/Video/rtc_channel_management_restfulapi?platform=RESTful#%E6%9F%A5%E8%AF%A2%E9%A1%B9%E7%9B%AE%E7%9A%84%E9%A2%91%E9%81%93%E5%88%97%E8%A1%A8
+	 * @param pageNo 你想要查询的页面，默认值为 0，即第一页。
+	 * @param pageSize 每个页面显示的频道数量，取值范围为 [1,500]，默认值为 100。
+	 * @return 操作结果
+	 */
+	public Mono<ChannelUserListResponse> getChannelList(Integer pageNo, Integer pageSize) {
+		UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(AgoraApiAddress.CHANNEL_LIST.getUrl(getAgoraProperties().getAppId()));
+		if (Objects.nonNull(pageNo)) {
+			builder.queryParam("page_no", pageNo);
+		}
+		if (Objects.nonNull(pageSize)) {
+			builder.queryParam("page_size", pageSize);
+		}
+		return super.get(AgoraApiAddress.CHANNEL_LIST, builder.toUriString(), ChannelUserListResponse.class);
+	}
+
+}
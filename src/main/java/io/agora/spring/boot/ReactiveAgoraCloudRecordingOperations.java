@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import com.google.common.collect.Maps;
+import io.agora.spring.boot.req.*;
+import io.agora.spring.boot.resp.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * 2、云端录制（响应式），请求体与 {@link AgoraCloudRecordingOperations} 保持一致
+ * https://docs.agora.io/cn/cloud-recording/cloud_recording_api_rest?platform=RESTful
+ */
+public class ReactiveAgoraCloudRecordingOperations extends ReactiveAgoraOperations {
+
+	public ReactiveAgoraCloudRecordingOperations(ReactiveAgoraTemplate agoraTemplate) {
+		super(agoraTemplate);
+	}
+
+	/**
+	 * 1、获取云端录制资源
+	 * API：https://docs.agora.io/cn/cloud-recording/cloud_recording_api_rest?platform=RESTful#acquire：获取云端录制资源的-api
+	 * @param userId 用户ID，用于生成频道名称
+	 * @param uid 字符串内容为云端录制服务使用的 UID，用于标识该录制服务
+	 * @return 操作结果
+	 */
+	public Mono<AcquireResourceResponse> acquireId(String userId, String uid) {
+		return this.acquireId(userId, uid, null, 24, 0);
+	}
+
+	/**
+	 * 1、获取云端录制资源
+	 * API：https://docs.agora.io/cn/cloud-recording/cloud_recording_api_rest?platform=RESTful#acquire：获取云端录制资源的-api
+	 * @param userId 用户ID，用于生成频道名称
+	 * @param uid 字符串内容为云端录制服务使用的 UID，用于标识该录制服务
+	 * @param region 云端录制服务所在区域
+	 * @param expiredHour 云端录制 RESTful API 的调用时效，单位为小时
+	 * @param scene 云端录制资源使用场景
+	 * @return 操作结果
+	 */
+	public Mono<AcquireResourceResponse> acquireId(String userId, String uid, String region, int expiredHour, int scene) {
+		String cnameString = getChannelByUserId(userId);
+		Map<String, Object> requestBody = AgoraCloudRecordingOperations.acquireRequestBody(cnameString, uid, region, expiredHour, scene);
+		String reqUrl = AgoraApiAddress.ACQUIRE_RESOURCE_ID.getUrl(getAgoraProperties().getAppId());
+		return super.post(AgoraApiAddress.ACQUIRE_RESOURCE_ID, reqUrl, requestBody, AcquireResourceResponse.class)
+				.doOnNext(resp -> resp.setCname(cnameString));
+	}
+
+	/**
+	 * 2、开始云端录制
+	 * API：https://docs.agora.io/cn/cloud-recording/cloud_recording_api_rest?platform=RESTful#start：开始云端录制的-api
+	 * @param channelName  待录制的频道名
+	 * @param uid  云端录制服务使用的 UID，需要和你在 acquire 请求中输入的 UID 相同
+	 * @param token 用于鉴权的动态密钥
+	 * @param resourceId  通过 acquire 请求获取的 resource ID
+	 * @param storageConfig  第三方云存储的设置
+	 * @return 操作结果
+	 */
+	public Mono<CloudRecordingStartResponse> startRecording(String channelName, String uid, String token, String resourceId,
+			RecordingStorageConfig storageConfig) {
+		return this.startRecording(channelName, uid, token, resourceId, RecordingMode.MIX, null, null, null, null, storageConfig, null);
+	}
+
+	/**
+	 * 2、开始云端录制
+	 * API：https://docs.agora.io/cn/cloud-recording/cloud_recording_api_rest?platform=RESTful#start：开始云端录制的-api
+	 * @param channelName  待录制的频道名
+	 * @param uid  云端录制服务使用的 UID，需要和你在 acquire 请求中输入的 UID 相同
+	 * @param token 用于鉴权的动态密钥
+	 * @param resourceId  通过 acquire 请求获取的 resource ID
+	 * @param mode 录制模式：individual、mix、web
+	 * @param recordingConfig  媒体流订阅、转码、输出音视频属性的设置
+	 * @param recordingFileConfig  录制文件的设置
+	 * @param storageConfig  第三方云存储的设置
+	 * @return 操作结果
+	 */
+	public Mono<CloudRecordingStartResponse> startRecording(String channelName, String uid, String token, String resourceId, RecordingMode mode,
+			RecordingConfig recordingConfig,
+			RecordingFileConfig recordingFileConfig,
+			RecordingStorageConfig storageConfig) {
+		return this.startRecording(channelName, uid, token, resourceId, mode, null, recordingConfig, recordingFileConfig, null, storageConfig, null);
+	}
+
+	/**
+	 * 2、开始云端录制
+	 * API：https://docs.agora.io/cn/cloud-recording/cloud_recording_api_rest?platform=RESTful#start：开始云端录制的-api
+	 * @param channelName  待录制的频道名
+	 * @param uid  云端录制服务使用的 UID，需要和你在 acquire 请求中输入的 UID 相同
+	 * @param token 用于鉴权的动态密钥
+	 * @param resourceId  通过 acquire 请求获取的 resource ID
+	 * @param mode 录制模式：individual、mix、web
+	 * @param appsCollection  应用设置
+	 * @param recordingConfig  媒体流订阅、转码、输出音视频属性的设置
+	 * @param recordingFileConfig  录制文件的设置
+	 * @param snapshotConfig 截图周期、截图文件的设置
+	 * @param storageConfig  第三方云存储的设置
+	 * @param extensionServiceConfig 扩展服务的设置
+	 * @return 操作结果
+	 */
+	public Mono<CloudRecordingStartResponse> startRecording(String channelName, String uid, String token, String resourceId, RecordingMode mode,
+			RecordingAppsCollectionConfig appsCollection,
+			RecordingConfig recordingConfig,
+			RecordingFileConfig recordingFileConfig,
+			RecordingSnapshotConfig snapshotConfig,
+			RecordingStorageConfig storageConfig,
+			RecordingExtensionServiceConfig extensionServiceConfig) {
+		Map<String, Object> requestBody = AgoraCloudRecordingOperations.startRequestBody(channelName, uid, token, appsCollection, recordingConfig,
+				recordingFileConfig, snapshotConfig, storageConfig, extensionServiceConfig);
+		String reqUrl = AgoraApiAddress.START_CLOUD_RECORDING.getUrl(getAgoraProperties().getAppId(), resourceId, mode.getName());
+		return super.post(AgoraApiAddress.START_CLOUD_RECORDING, reqUrl, requestBody, CloudRecordingStartResponse.class);
+	}
+
+	/**
+	 * 3、更新云端录制
+	 * API：https://docs.agora.io/cn/cloud-recording/cloud_recording_api_rest?platform=RESTful#update：更新云端录制的-api
+	 * @param channelName  待录制的频道名
+	 * @param uid  云端录制服务使用的 UID，需要和你在 acquire 请求中输入的 UID 相同
+	 * @param resourceId  通过 acquire 请求获取的 resource ID
+	 * @param sid 录制 ID
+	 * @param mode 录制模式：individual、mix、web
+	 * @param streamSubscribe  用于更新订阅名单。仅适用于单流录制模式 individual和合流录制模式 mix
+	 * @param webRecordingConfig 用于更新页面录制参数。仅适用于页面录制模式 web
+	 * @param rtmpPublishConfig  用于更新页面录制并推流到 CDN 的参数。仅适用于页面录制模式 web
+	 * @return 操作结果
+	 */
+	public Mono<CloudRecordingUpdateResponse> updateRecording(String channelName, String uid, String resourceId, String sid, RecordingMode mode,
+			RecordingUpdateStreamSubscribe streamSubscribe,
+			RecordingUpdateWebConfig webRecordingConfig,
+			RecordingUpdateRtmpPublishConfig rtmpPublishConfig) {
+		Map<String, Object> requestBody = AgoraCloudRecordingOperations.updateRequestBody(channelName, uid, streamSubscribe, webRecordingConfig, rtmpPublishConfig);
+		String reqUrl = AgoraApiAddress.UPDATE_CLOUD_RECORDING.getUrl(getAgoraProperties().getAppId(), resourceId, sid, mode.getName());
+		return super.post(AgoraApiAddress.UPDATE_CLOUD_RECORDING, reqUrl, requestBody, CloudRecordingUpdateResponse.class);
+	}
+
+	/**
+	 * 4、更新合流布局
+	 * API：https://docs.agora.io/cn/cloud-recording/cloud_recording_api_rest?platform=RESTful#updatelayout：更新合流布局的-api
+	 * @param channelName  待录制的频道名
+	 * @param uid  云端录制服务使用的 UID，需要和你在 acquire 请求中输入的 UID 相同
+	 * @param resourceId  通过 acquire 请求获取的 resource ID
+	 * @param sid 录制 ID
+	 * @param mode 录制模式：individual、mix、web
+	 * @param transcodingConfig  用于更新合流布局的参数
+	 * @return 操作结果
+	 */
+	public Mono<CloudRecordingUpdateLayoutResponse> updateLayout(String channelName, String uid, String resourceId, String sid, RecordingMode mode,
+			RecordingUpdateTranscodingConfig transcodingConfig) {
+		Map<String, Object> requestBody = AgoraCloudRecordingOperations.requestBody(channelName, uid, transcodingConfig);
+		String reqUrl = AgoraApiAddress.UPDATE_CLOUD_RECORDING_LAYOUT.getUrl(getAgoraProperties().getAppId(), resourceId, sid, mode.getName());
+		return super.post(AgoraApiAddress.UPDATE_CLOUD_RECORDING_LAYOUT, reqUrl, requestBody, CloudRecordingUpdateLayoutResponse.class);
+	}
+
+	/**
+	 * 5、查询云端录制状态
+	 * API：https://docs.agora.io/cn/cloud-recording/cloud_recording_api_rest?platform=RESTful#query：查询云端录制状态的-api
+	 * @param channelName  待录制的频道名
+	 * @param uid  云端录制服务使用的 UID，需要和你在 acquire 请求中输入的 UID 相同
+	 * @param resourceId  通过 acquire 请求获取的 resource ID
+	 * @param sid 录制 ID
+	 * @param mode 录制模式：individual、mix、web
+	 * @return 操作结果
+	 */
+	public Mono<CloudRecordingQueryResponse> queryRecording(String channelName, String uid, String resourceId, String sid, RecordingMode mode) {
+		String reqUrl = AgoraApiAddress.QUERY_CLOUD_RECORDING.getUrl(getAgoraProperties().getAppId(), resourceId, sid, mode.getName());
+		return super.post(AgoraApiAddress.QUERY_CLOUD_RECORDING, reqUrl, Maps.newHashMap(), CloudRecordingQueryResponse.class);
+	}
+
+	/**
+	 * 6、停止云端录制
+	 * API：https://docs.agora.io/cn/cloud-recording/cloud_recording_api_rest?platform=RESTful#stop：停止云端录制的-api
+	 * @param channelName  待录制的频道名
+	 * @param uid  云端录制服务使用的 UID，需要和你在 acquire 请求中输入的 UID 相同
+	 * @param resourceId  通过 acquire 请求获取的 resource ID
+	 * @param sid 录制 ID
+	 * @param mode 录制模式：individual、mix、web
+	 * @param asyncStop 设置 stop 方法是否为异步调用
+	 * @return 操作结果
+	 */
+	public Mono<CloudRecordingStopResponse> stopRecording(String channelName, String uid, String resourceId, String sid, RecordingMode mode, boolean asyncStop) {
+		Map<String, Object> requestBody = AgoraCloudRecordingOperations.stopRequestBody(channelName, uid, asyncStop);
+		String reqUrl = AgoraApiAddress.STOP_CLOUD_RECORDING.getUrl(getAgoraProperties().getAppId(), resourceId, sid, mode.getName());
+		return super.post(AgoraApiAddress.STOP_CLOUD_RECORDING, reqUrl, requestBody, CloudRecordingStopResponse.class);
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import io.agora.spring.boot.resp.AgoraResponse;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * 声网 RESTful 接口的响应式操作基类
+ */
+@Slf4j
+public abstract class ReactiveAgoraOperations {
+
+	protected ReactiveAgoraTemplate agoraTemplate;
+
+	public ReactiveAgoraOperations(ReactiveAgoraTemplate agoraTemplate) {
+		this.agoraTemplate = agoraTemplate;
+	}
+
+	/**
+	 * 根据用户id获取Agora频道名称
+	 *
+	 * @param userId 用户ID
+	 * @return 用户ID生成的Agora频道名称
+	 */
+	protected String getChannelByUserId(String userId) {
+		return agoraTemplate.getChannelByUserId(userId);
+	}
+
+	protected AgoraProperties getAgoraProperties() {
+		return agoraTemplate.getAgoraProperties();
+	}
+
+	protected <T extends AgoraResponse> Mono<T> get(AgoraApiAddress address, String url, Class<T> cls) {
+		return agoraTemplate.get(address, url, cls)
+				.doOnNext(res -> log.debug("Agora {} >> Success, url : {}, Code : {}", address.getOpt(), url, res.getCode()))
+				.doOnError(ex -> log.error("Agora {} >> Failure, url : {}, error : {}", address.getOpt(), url, ex.getMessage()));
+	}
+
+	protected <T extends AgoraResponse> Mono<T> post(AgoraApiAddress address, String url, Map<String, Object> requestBody, Class<T> cls) {
+		return agoraTemplate.post(address, url, requestBody, cls)
+				.doOnNext(res -> log.debug("Agora {} >> Success, url : {}, Code : {}", address.getOpt(), url, res.getCode()))
+				.doOnError(ex -> log.error("Agora {} >> Failure, url : {}, error : {}", address.getOpt(), url, ex.getMessage()));
+	}
+
+	public ReactiveAgoraTemplate getAgoraTemplate() {
+		return agoraTemplate;
+	}
+
+}
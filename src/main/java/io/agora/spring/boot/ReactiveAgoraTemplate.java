@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.agora.spring.boot;
+
+import io.agora.spring.boot.resp.AgoraResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 基于 WebClient 的非阻塞声网 RESTful 客户端，适用于 WebFlux 应用
+ * https://docs.agora.io/cn/Interactive%20Broadcast/rtc_channel_event?platform=RESTful
+ * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@Slf4j
+public class ReactiveAgoraTemplate {
+
+	/**
+	 * 请求属性：本次请求对应的 {@link AgoraApiAddress}，供指标等过滤器使用
+	 */
+	public static final String API_ADDRESS_ATTRIBUTE = AgoraApiAddress.class.getName();
+
+	private final AgoraUserIdProvider userIdProvider;
+	private final WebClient webClient;
+	private final AgoraProperties agoraProperties;
+	private final AgoraJsonCodec jsonCodec;
+
+	private final ReactiveAgoraChannelManagerOperations channelOps = new ReactiveAgoraChannelManagerOperations(this);
+	private final ReactiveAgoraCloudRecordingOperations cloudRecordingOps = new ReactiveAgoraCloudRecordingOperations(this);
+
+	public ReactiveAgoraTemplate(AgoraUserIdProvider userIdProvider, WebClient webClient, AgoraProperties agoraProperties) {
+		this(userIdProvider, webClient, agoraProperties, new AgoraJacksonCodec(AgoraAutoConfiguration.defaultObjectMapper()));
+	}
+
+	/**
+	 * @param jsonCodec 请求体与响应体的 JSON 编解码，与同步模板使用同一个 agora.json-engine
+	 */
+	public ReactiveAgoraTemplate(AgoraUserIdProvider userIdProvider, WebClient webClient, AgoraProperties agoraProperties,
+			AgoraJsonCodec jsonCodec) {
+		this.userIdProvider = userIdProvider;
+		this.webClient = webClient;
+		this.agoraProperties = agoraProperties;
+		this.jsonCodec = jsonCodec;
+	}
+
+	public ReactiveAgoraChannelManagerOperations opsForChannel() {
+		return channelOps;
+	}
+
+	public ReactiveAgoraCloudRecordingOperations opsForCloudRecording() {
+		return cloudRecordingOps;
+	}
+
+	/**
+	 * 执行请求：非 2xx 响应以 AgoraResponseException 结束，响应体丢弃并释放连接
+	 * @param method 请求方式
+	 * @param url 请求地址
+	 * @param bodyContent 请求体，GET 请求传 null
+	 * @param rtClass 响应类型
+	 * @param <T> 响应类型
+	 * @return 响应结果
+	 */
+	public <T extends AgoraResponse> Mono<T> doRequest(HttpMethod method, String url, Map<String, Object> bodyContent, Class<T> rtClass) {
+		return this.doRequest(null, method, url, bodyContent, rtClass);
+	}
+
+	/**
+	 * 执行请求，并以 {@link #API_ADDRESS_ATTRIBUTE} 属性标记接口地址
+	 * @param address 接口地址，可为 null
+	 */
+	public <T extends AgoraResponse> Mono<T> doRequest(AgoraApiAddress address, HttpMethod method, String url, Map<String, Object> bodyContent,
+			Class<T> rtClass) {
+		WebClient.RequestBodySpec spec = webClient.method(method).uri(url).accept(MediaType.APPLICATION_JSON);
+		if (Objects.nonNull(address)) {
+			spec = spec.attribute(API_ADDRESS_ATTRIBUTE, address);
+		}
+		WebClient.RequestHeadersSpec<?> headersSpec;
+		try {
+			headersSpec = Objects.isNull(bodyContent) ? spec
+					: spec.contentType(MediaType.APPLICATION_JSON).body(BodyInserters.fromValue(jsonCodec.writeValueAsString(bodyContent)));
+		} catch (IOException e) {
+			return Mono.error(e);
+		}
+		Mono<T> mono = headersSpec.exchange().flatMap(response -> {
+			int statusCode = response.rawStatusCode();
+			if (statusCode < 200 || statusCode >= 300) {
+				// 非标准状态码无法解析为 HttpStatus，statusCode() 会直接抛出 IllegalArgumentException
+				HttpStatus status = HttpStatus.resolve(statusCode);
+				String reason = Objects.nonNull(status) ? status.getReasonPhrase() : "Unknown Status";
+				return response.releaseBody().then(Mono.error(new AgoraResponseException(statusCode, reason)));
+			}
+			// 响应体聚合后交给 AgoraJsonCodec 从输入流反序列化，读取完毕后释放缓冲区
+			return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()))
+					.flatMap(buffer -> this.readValue(buffer, rtClass))
+					.doOnNext(res -> res.setCode(statusCode));
+		});
+		Duration callTimeout = agoraProperties.getHttp().getCallTimeout();
+		if (Objects.nonNull(callTimeout) && !callTimeout.isZero()) {
+			mono = mono.timeout(callTimeout);
+		}
+		return mono;
+	}
+
+	private <T> Mono<T> readValue(DataBuffer buffer, Class<T> rtClass) {
+		try (InputStream input = buffer.asInputStream(true)) {
+			return Mono.justOrEmpty(jsonCodec.readValue(input, rtClass));
+		} catch (IOException e) {
+			return Mono.error(e);
+		}
+	}
+
+	public <T extends AgoraResponse> Mono<T> get(String url, Class<T> rtClass) {
+		return this.doRequest(HttpMethod.GET, url, null, rtClass);
+	}
+
+	public <T extends AgoraResponse> Mono<T> post(String url, Map<String, Object> bodyContent, Class<T> rtClass) {
+		return this.doRequest(HttpMethod.POST, url, bodyContent, rtClass);
+	}
+
+	public <T extends AgoraResponse> Mono<T> get(AgoraApiAddress address, String url, Class<T> rtClass) {
+		return this.doRequest(address, HttpMethod.GET, url, null, rtClass);
+	}
+
+	public <T extends AgoraResponse> Mono<T> post(AgoraApiAddress address, String url, Map<String, Object> bodyContent, Class<T> rtClass) {
+		return this.doRequest(address, HttpMethod.POST, url, bodyContent, rtClass);
+	}
+
+	/**
+	 * 根据Agora频道名称获取用户id
+	 *
+	 * @param channel Agora频道名称
+	 * @return 从Agora频道名称解析出来的用户ID
+	 */
+	public String getUserIdByChannel(String channel) {
+		return userIdProvider.getUserIdByChannel(agoraProperties.getAppId(), channel);
+	}
+
+	/**
+	 * 根据用户id获取Agora频道名称
+	 *
+	 * @param userId 用户ID
+	 * @return 用户ID生成的Agora频道名称
+	 */
+	public String getChannelByUserId(String userId) {
+		return userIdProvider.getChannelByUserId(agoraProperties.getAppId(), userId);
+	}
+
+	public AgoraProperties getAgoraProperties() {
+		return agoraProperties;
+	}
+
+	public WebClient getWebClient() {
+		return webClient;
+	}
+
+}
@@ -0,0 +1,129 @@
+package io.agora.recording;
+
+import io.agora.recording.common.Common;
+import io.agora.recording.output.FrameStream;
+import io.agora.recording.output.RecordingFrameWriter;
+import io.agora.recording.processor.FrameDispatcher;
+import io.agora.recording.processor.FrameProcessor;
+import io.agora.recording.processor.MediaType;
+import io.agora.recording.processor.RecordingFrame;
+import io.agora.spring.boot.AgoraProperties;
+import io.agora.spring.boot.AgoraRecordingProperties;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Timer;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultRecordingEventHandler_Test {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Common.AudioFrame pcm(Common common) {
+        Common.AudioFrame frame = common.new AudioFrame();
+        frame.type = Common.AUDIO_FRAME_TYPE.AUDIO_FRAME_RAW_PCM;
+        frame.pcm = common.new AudioPcmFrame(0, 48000, 480);
+        frame.pcm.pcmBuf = new byte[16];
+        frame.pcm.pcmBufSize = 16;
+        return frame;
+    }
+
+    @Test
+    public void testIdleDispatchClosesStreamWithoutFileWriter() {
+        List<String> closed = new CopyOnWriteArrayList<>();
+        FrameProcessor processor = new FrameProcessor() {
+            @Override
+            public void process(RecordingFrame frame) {
+            }
+
+            @Override
+            public void onStreamClosed(String channelId, long uid, MediaType mediaType) {
+                closed.add(channelId + "/" + uid + "/" + mediaType);
+            }
+
+            @Override
+            public void onChannelClosed(String channelId) {
+                closed.add(channelId);
+            }
+        };
+        AgoraRecordingProperties recordingProperties = new AgoraRecordingProperties();
+        recordingProperties.getWriter().setEnabled(false);
+        FrameDispatcher dispatcher = new FrameDispatcher(recordingProperties.getProcessor(), Collections.singletonList(processor));
+        DefaultRecordingEventHandler handler = new DefaultRecordingEventHandler("test", 1, 2, new AgoraProperties(),
+                recordingProperties, new RecordingSDK(), null, dispatcher);
+
+        handler.audioFrameReceived(1001, pcm(new Common()));
+        assertNull(handler.audioChannels.get(1001));
+        assertNotNull(handler.audioDispatches.get(1001));
+        // 视频流仍在分发，只有空闲的音频流结束
+        handler.videoDispatches.computeIfAbsent(1001, key -> {
+            DispatchInfo info = new DispatchInfo();
+            info.uid = key;
+            info.last_dispatch_time = System.currentTimeMillis();
+            return info;
+        });
+        handler.audioDispatches.get(1001).last_dispatch_time = 0;
+
+        handler.cleanTimer = new Timer(true);
+        try {
+            handler.clean();
+        } finally {
+            handler.cleanTimer.cancel();
+        }
+        assertNull(handler.audioDispatches.get(1001));
+        assertNotNull(handler.videoDispatches.get(1001));
+
+        handler.leaveChannel();
+        dispatcher.shutdown();
+        assertEquals(Arrays.asList("test/1001/AUDIO", "test"), closed);
+    }
+
+    @Test
+    public void testStreamClosedByWriteFailureIsReopened() throws Exception {
+        AgoraRecordingProperties recordingProperties = new AgoraRecordingProperties();
+        RecordingFrameWriter writer = new RecordingFrameWriter(recordingProperties.getWriter(), recordingProperties.getRotation());
+        DefaultRecordingEventHandler handler = new DefaultRecordingEventHandler("test", 1, 2, new AgoraProperties(),
+                recordingProperties, new RecordingSDK(), writer);
+        // 目录尚不存在，第一路流打开文件失败后被写入线程关闭
+        File dir = new File(folder.getRoot(), "missing");
+        handler.recordingPathCallBack(dir.getPath() + File.separator);
+        Common common = new Common();
+        try {
+            handler.audioFrameReceived(1001, pcm(common));
+            FrameStream failed = handler.audioChannels.get(1001).channel;
+            failed.getTermination().get(5, TimeUnit.SECONDS);
+            assertTrue(failed.isClosed());
+
+            assertTrue(dir.mkdirs());
+            handler.audioFrameReceived(1001, pcm(common));
+            FrameStream reopened = handler.audioChannels.get(1001).channel;
+            assertNotSame(failed, reopened);
+            assertFalse(reopened.isClosed());
+
+            handler.leaveChannel();
+            reopened.getTermination().get(5, TimeUnit.SECONDS);
+            long written = 0;
+            for (File file : dir.listFiles()) {
+                written += file.length();
+            }
+            assertEquals(16, written);
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+}
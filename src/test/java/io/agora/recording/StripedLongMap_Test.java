@@ -0,0 +1,110 @@
+package io.agora.recording;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class StripedLongMap_Test {
+
+    /**
+     * 与 StripedLongMap 相同的分段算法，用于构造落在同一分段的键
+     */
+    private static List<Long> keysInOneStripe(int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            int hash = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+            if (hash >>> 28 == 0) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        StripedLongMap<String> map = new StripedLongMap<>();
+        assertEquals("1001", map.computeIfAbsent(1001, Long::toString));
+        String value = map.get(1001);
+        assertSame(value, map.computeIfAbsent(1001, key -> "other"));
+        assertEquals(1, map.size());
+
+        assertNull(map.computeIfAbsent(1002, key -> null));
+        assertNull(map.get(1002));
+        assertEquals(1, map.size());
+        assertEquals("1002", map.computeIfAbsent(1002, Long::toString));
+        assertEquals(2, map.size());
+
+        assertEquals("1001", map.remove(1001));
+        assertNull(map.remove(1001));
+        assertNull(map.get(1001));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testGrowBeyondInitialStripeCapacity() {
+        List<Long> keys = keysInOneStripe(20);
+        StripedLongMap<Long> map = new StripedLongMap<>();
+        for (long key : keys) {
+            map.computeIfAbsent(key, k -> k * 10);
+        }
+        assertEquals(keys.size(), map.size());
+        for (long key : keys) {
+            assertEquals(Long.valueOf(key * 10), map.get(key));
+        }
+        map.computeIfAbsent(Long.MIN_VALUE, k -> 0L);
+        map.computeIfAbsent(-1, k -> -10L);
+        assertEquals(Long.valueOf(-10), map.get(-1));
+        assertEquals(keys.size() + 2, map.size());
+    }
+
+    @Test
+    public void testRemoveIfBackFill() {
+        // 同一分段内的删除以末尾元素回填，连续命中与末尾命中都不能漏删或误删
+        List<Long> keys = keysInOneStripe(10);
+        StripedLongMap<Long> map = new StripedLongMap<>();
+        for (long key : keys) {
+            map.computeIfAbsent(key, k -> k);
+        }
+        List<Long> removed = new ArrayList<>();
+        for (int i : new int[] { 0, 1, 2, 5, 8, 9 }) {
+            removed.add(keys.get(i));
+        }
+        map.removeIf(removed::contains);
+        assertEquals(keys.size() - removed.size(), map.size());
+        for (long key : keys) {
+            if (removed.contains(key)) {
+                assertNull(map.get(key));
+            } else {
+                assertEquals(Long.valueOf(key), map.get(key));
+            }
+        }
+
+        map.removeIf(value -> true);
+        assertEquals(0, map.size());
+        map.computeIfAbsent(keys.get(0), k -> k);
+        assertEquals(keys.get(0), map.get(keys.get(0)));
+    }
+
+    @Test
+    public void testRemoveIfAcrossStripes() {
+        StripedLongMap<Long> map = new StripedLongMap<>();
+        for (long key = 0; key < 1000; key++) {
+            map.computeIfAbsent(key, k -> k);
+        }
+        map.removeIf(value -> value % 2 == 0);
+        assertEquals(500, map.size());
+        for (long key = 0; key < 1000; key++) {
+            if (key % 2 == 0) {
+                assertNull(map.get(key));
+            } else {
+                assertEquals(Long.valueOf(key), map.get(key));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package io.agora.spring.boot;
+
+import io.agora.media.AccessToken2;
+import org.junit.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AccessToken2_Test {
+    private String appId = "970CA35de60c44645bbae8a215061b33";
+    private String appCertificate = "5CFd2fd1755d40ecb72977518be15d3b";
+    private String channelName = "7d72365eb983485397e3e3f9d460bdda";
+    private String uid = "2882341273";
+    private int expire = 900;
+    private int issueTs = 1111111;
+    private int salt = 1;
+
+    private AccessToken2 token() {
+        AccessToken2 token = new AccessToken2(appId, appCertificate, expire);
+        token.issueTs = issueTs;
+        token.salt = salt;
+        return token;
+    }
+
+    @Test
+    public void testMatchesReferenceEncoding() throws Exception {
+        AccessToken2 token = token();
+        AccessToken2.ServiceRtc serviceRtc = new AccessToken2.ServiceRtc(channelName, uid);
+        serviceRtc.addPrivilegeRtc(AccessToken2.PrivilegeRtc.PRIVILEGE_JOIN_CHANNEL, expire);
+        token.addService(serviceRtc);
+        AccessToken2.ServiceRtm serviceRtm = new AccessToken2.ServiceRtm(uid);
+        serviceRtm.addPrivilegeRtm(AccessToken2.PrivilegeRtm.PRIVILEGE_LOGIN, expire);
+        token.addService(serviceRtm);
+
+        // straightforward encoding of the same token: services in type order, privileges in key order
+        ByteBuffer info = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+        putBytes(info, appId.getBytes());
+        info.putInt(issueTs).putInt(expire).putInt(salt).putShort((short) 2);
+        info.putShort(AccessToken2.SERVICE_TYPE_RTC).putShort((short) 1).putShort((short) 1).putInt(expire);
+        putBytes(info, channelName.getBytes());
+        putBytes(info, uid.getBytes());
+        info.putShort(AccessToken2.SERVICE_TYPE_RTM).putShort((short) 1).putShort((short) 1).putInt(expire);
+        putBytes(info, uid.getBytes());
+        byte[] infoBytes = new byte[info.position()];
+        info.flip();
+        info.get(infoBytes);
+
+        byte[] signing = hmac(le(issueTs), appCertificate.getBytes());
+        signing = hmac(le(salt), signing);
+        ByteBuffer content = ByteBuffer.allocate(2 + 32 + infoBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+        putBytes(content, hmac(signing, infoBytes));
+        content.put(infoBytes);
+
+        assertEquals("007" + Base64.getEncoder().encodeToString(deflate(content.array())), token.build());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        AccessToken2 token = token();
+        AccessToken2.ServiceChat serviceChat = new AccessToken2.ServiceChat("user-uuid");
+        serviceChat.addPrivilegeChat(AccessToken2.PrivilegeChat.PRIVILEGE_CHAT_USER, 600);
+        token.addService(serviceChat);
+        AccessToken2.ServiceRtc serviceRtc = new AccessToken2.ServiceRtc("频道", "");
+        serviceRtc.addPrivilegeRtc(AccessToken2.PrivilegeRtc.PRIVILEGE_PUBLISH_VIDEO_STREAM, 300);
+        serviceRtc.addPrivilegeRtc(AccessToken2.PrivilegeRtc.PRIVILEGE_JOIN_CHANNEL, 600);
+        token.addService(serviceRtc);
+        String built = token.build();
+
+        AccessToken2 parsed = AccessToken2.parse(built);
+        assertEquals(appId, parsed.appId);
+        assertEquals(issueTs, parsed.issueTs);
+        assertEquals(expire, parsed.expire);
+        assertEquals(salt, parsed.salt);
+        assertEquals(AccessToken2.SERVICE_TYPE_RTC, parsed.getServices()[0].getServiceType());
+        AccessToken2.ServiceRtc parsedRtc = (AccessToken2.ServiceRtc) parsed.getService(AccessToken2.SERVICE_TYPE_RTC);
+        assertEquals("频道", parsedRtc.getChannelName());
+        assertEquals(600, parsedRtc.getPrivilegeExpire(AccessToken2.PrivilegeRtc.PRIVILEGE_JOIN_CHANNEL.intValue));
+        assertEquals(300, parsedRtc.getPrivilegeExpire(AccessToken2.PrivilegeRtc.PRIVILEGE_PUBLISH_VIDEO_STREAM.intValue));
+        assertEquals("user-uuid", ((AccessToken2.ServiceChat) parsed.getService(AccessToken2.SERVICE_TYPE_CHAT)).getUserId());
+
+        parsed.appCert = appCertificate;
+        assertEquals(built, parsed.build());
+    }
+
+    @Test
+    public void testMalformed() {
+        assertFalse(new AccessToken2().fromString("006abc"));
+        assertFalse(new AccessToken2().fromString("007eJxTYLhzZP08"));
+        assertTrue(new AccessToken2().fromString("007" + Base64.getEncoder().encodeToString(deflate(new byte[18]))));
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static byte[] le(int v) {
+        return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(v).array();
+    }
+
+    private static byte[] hmac(byte[] key, byte[] message) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac.doFinal(message);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[64];
+        while (!deflater.finished()) {
+            out.write(buf, 0, deflater.deflate(buf));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+}
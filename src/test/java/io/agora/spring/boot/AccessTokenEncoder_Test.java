@@ -0,0 +1,90 @@
+package io.agora.spring.boot;
+
+import io.agora.media.AccessToken;
+import io.agora.media.AccessTokenEncoder;
+import io.agora.media.RtcTokenBuilder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AccessTokenEncoder_Test {
+    private String appId = "970CA35de60c44645bbae8a215061b33";
+    private String appCertificate = "5CFd2fd1755d40ecb72977518be15d3b";
+    private String channelName = "7d72365eb983485397e3e3f9d460bdda";
+    private String uid = "2882341273";
+    private int ts = 1111111;
+    private int salt = 1;
+    private int expireTimestamp = 1446455471;
+
+    private AccessToken token(String channelName, String uid) {
+        AccessToken token = new AccessToken(appId, appCertificate, channelName, uid);
+        token.message.ts = ts;
+        token.message.salt = salt;
+        return token;
+    }
+
+    @Test
+    public void testKnownToken() throws Exception {
+        String expected = "006970CA35de60c44645bbae8a215061b33IACV0fZUBw+72cVoL9eyGGh3Q6Poi8bgjwVLnyKSJyOXR7dIfRBXoFHlEAABAAAAR/QQAAEAAQCvKDdW";
+        AccessToken token = token(channelName, uid);
+        token.addPrivilege(AccessToken.Privileges.kJoinChannel, expireTimestamp);
+        assertEquals(expected, AccessTokenEncoder.encode(token));
+    }
+
+    @Test
+    public void testIdenticalToBuilder() throws Exception {
+        String[][] cases = {{channelName, uid}, {"", ""}, {"频道", "账号"}, {channelName, ""}};
+        for (String[] c : cases) {
+            AccessToken token = token(c[0], c[1]);
+            for (AccessToken.Privileges privilege : AccessToken.Privileges.values()) {
+                token.addPrivilege(privilege, expireTimestamp + privilege.intValue);
+                assertEquals(token.build(), AccessTokenEncoder.encode(token));
+            }
+        }
+    }
+
+    @Test
+    public void testBatchIdenticalToBuilder() throws Exception {
+        AccessTokenEncoder.Batch batch = AccessTokenEncoder.batch(appId, appCertificate, channelName);
+        for (String account : new String[]{uid, "", "1", "学生"}) {
+            AccessToken token = token(channelName, account);
+            token.addPrivilege(AccessToken.Privileges.kJoinChannel, expireTimestamp);
+            token.addPrivilege(AccessToken.Privileges.kPublishAudioStream, expireTimestamp);
+            assertEquals(token.build(), batch.encode(account, salt, ts, token.message.messages));
+        }
+    }
+
+    @Test
+    public void testBatchWithExecutor() throws Exception {
+        List<String> accounts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            accounts.add(String.valueOf(10000 + i));
+        }
+        RtcTokenBuilder builder = new RtcTokenBuilder(() -> salt);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Map<String, String> tokens = builder.buildTokensWithUserAccounts(appId, appCertificate, channelName, accounts,
+                    RtcTokenBuilder.Role.Role_Publisher, expireTimestamp, executor);
+            assertEquals(accounts, new ArrayList<>(tokens.keySet()));
+            for (String account : accounts) {
+                AccessToken token = new AccessToken(appId, appCertificate, channelName, account);
+                assertTrue(token.fromString(tokens.get(account)));
+                assertEquals(4, token.message.messages.size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testInvalidAppId() throws Exception {
+        assertEquals("", AccessTokenEncoder.encode(new AccessToken("", appCertificate, channelName, uid)));
+    }
+}
@@ -0,0 +1,102 @@
+package io.agora.spring.boot;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class AgoraCircuitBreaker_Test {
+
+    private AgoraCircuitBreaker circuitBreaker() {
+        AgoraProperties.CircuitBreaker config = new AgoraProperties.CircuitBreaker();
+        config.setSlidingWindowSize(4);
+        config.setMinimumNumberOfCalls(4);
+        config.setWaitDurationInOpenState(Duration.ofMillis(20));
+        return new AgoraCircuitBreaker(AgoraApiGroup.CLOUD_RECORDING, config);
+    }
+
+    private void success(AgoraCircuitBreaker circuitBreaker) throws AgoraCircuitOpenException {
+        circuitBreaker.onSuccess(circuitBreaker.acquirePermission());
+    }
+
+    private void failure(AgoraCircuitBreaker circuitBreaker) throws AgoraCircuitOpenException {
+        circuitBreaker.onFailure(circuitBreaker.acquirePermission());
+    }
+
+    @Test
+    public void testOpenOnFailureRate() throws Exception {
+        AgoraCircuitBreaker circuitBreaker = circuitBreaker();
+        success(circuitBreaker);
+        failure(circuitBreaker);
+        success(circuitBreaker);
+        assertEquals(AgoraCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        failure(circuitBreaker);
+        assertEquals(AgoraCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        try {
+            circuitBreaker.acquirePermission();
+            fail();
+        } catch (AgoraCircuitOpenException e) {
+            assertEquals(AgoraApiGroup.CLOUD_RECORDING, e.getGroup());
+        }
+        assertEquals(1, circuitBreaker.getNotPermittedCalls());
+        // 拒绝次数以计数器导出，reset 后仍须单调递增
+        circuitBreaker.reset();
+        assertEquals(AgoraCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(1, circuitBreaker.getNotPermittedCalls());
+    }
+
+    @Test
+    public void testHalfOpenProbe() throws Exception {
+        AgoraCircuitBreaker circuitBreaker = circuitBreaker();
+        for (int i = 0; i < 4; i++) {
+            failure(circuitBreaker);
+        }
+        TimeUnit.MILLISECONDS.sleep(30);
+        long probe = circuitBreaker.acquirePermission();
+        try {
+            circuitBreaker.acquirePermission();
+            fail();
+        } catch (AgoraCircuitOpenException e) {
+            // 仅放行一个探测请求
+        }
+        circuitBreaker.onFailure(probe);
+        assertEquals(AgoraCircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        TimeUnit.MILLISECONDS.sleep(30);
+        success(circuitBreaker);
+        assertEquals(AgoraCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getBufferedCalls());
+    }
+
+    @Test
+    public void testLateClosedCallIsNotAProbe() throws Exception {
+        AgoraCircuitBreaker circuitBreaker = circuitBreaker();
+        long slow = circuitBreaker.acquirePermission();
+        for (int i = 0; i < 4; i++) {
+            failure(circuitBreaker);
+        }
+        TimeUnit.MILLISECONDS.sleep(30);
+        long probe = circuitBreaker.acquirePermission();
+        assertEquals(AgoraCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        // CLOSED 期间放行的慢请求结果不影响半开探测
+        circuitBreaker.onSuccess(slow);
+        assertEquals(AgoraCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onFailure(slow);
+        assertEquals(AgoraCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.releasePermission(slow);
+        try {
+            circuitBreaker.acquirePermission();
+            fail();
+        } catch (AgoraCircuitOpenException e) {
+            assertEquals(1, circuitBreaker.getNotPermittedCalls());
+        }
+
+        circuitBreaker.onSuccess(probe);
+        assertEquals(AgoraCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+}
@@ -0,0 +1,28 @@
+package io.agora.spring.boot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.agora.spring.boot.resp.ChannelUserListResponse;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+public class AgoraJsonCodec_Test {
+
+    private String json = "{\"success\":true,\"unknown\":1,\"data\":{\"channel_exist\":true,\"mode\":2,"
+            + "\"broadcasters\":[\"2206705\",\"2206706\"],\"audience\":[\"2206707\"],\"audience_total\":1}}";
+
+    @Test
+    public void testReadValueFromStream() throws Exception {
+        AgoraJsonCodec jackson = new AgoraJacksonCodec(new ObjectMapper());
+        AgoraJsonCodec fastjson2 = new AgoraFastjson2Codec();
+
+        ChannelUserListResponse expected = jackson.readValue(json, ChannelUserListResponse.class);
+        assertEquals(2, expected.getData().getBroadcasters().size());
+        assertEquals(expected, jackson.readValue(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), ChannelUserListResponse.class));
+        assertEquals(expected, fastjson2.readValue(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), ChannelUserListResponse.class));
+    }
+
+}
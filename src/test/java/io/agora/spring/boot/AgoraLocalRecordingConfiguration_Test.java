@@ -0,0 +1,78 @@
+package io.agora.spring.boot;
+
+import io.agora.recording.DefaultRecordingEventHandler;
+import io.agora.recording.RecordingSDK;
+import io.agora.recording.output.RecordingFrameWriter;
+import io.agora.recording.processor.FrameDispatcher;
+import io.agora.recording.processor.FrameProcessor;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AgoraLocalRecordingConfiguration_Test {
+
+    @Configuration
+    static class ProcessorConfiguration {
+
+        @Bean
+        public FrameProcessor frameProcessor() {
+            return frame -> { };
+        }
+
+    }
+
+    private static AnnotationConfigApplicationContext context(boolean enabled, Class<?>... configurations) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+                Collections.singletonMap("agora.recording.enabled", String.valueOf(enabled))));
+        if (configurations.length > 0) {
+            context.register(configurations);
+        }
+        context.register(AgoraLocalRecordingConfiguration.class);
+        context.refresh();
+        return context;
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (AnnotationConfigApplicationContext context = context(false)) {
+            assertEquals(1, context.getBeanNamesForType(AgoraRecordingProperties.class).length);
+            assertEquals(0, context.getBeanNamesForType(RecordingFrameWriter.class).length);
+            assertEquals(0, context.getBeanNamesForType(FrameDispatcher.class).length);
+            assertEquals(0, context.getBeanNamesForType(AgoraRecordingEventHandlerFactory.class).length);
+        }
+    }
+
+    @Test
+    public void testNoDispatcherWithoutProcessors() {
+        try (AnnotationConfigApplicationContext context = context(true)) {
+            AgoraRecordingEventHandlerFactory factory = context.getBean(AgoraRecordingEventHandlerFactory.class);
+            assertSame(context.getBean(RecordingFrameWriter.class), factory.getFrameWriter());
+            assertEquals(0, context.getBeanNamesForType(FrameDispatcher.class).length);
+            assertNull(factory.getFrameDispatcher());
+        }
+    }
+
+    @Test
+    public void testFactoryInjectsSharedBeans() {
+        try (AnnotationConfigApplicationContext context = context(true, ProcessorConfiguration.class)) {
+            AgoraRecordingEventHandlerFactory factory = context.getBean(AgoraRecordingEventHandlerFactory.class);
+            FrameDispatcher dispatcher = context.getBean(FrameDispatcher.class);
+            assertSame(dispatcher, factory.getFrameDispatcher());
+            assertTrue(dispatcher.hasProcessors());
+
+            DefaultRecordingEventHandler handler = factory.create("test", 1001, 1002, new RecordingSDK());
+            assertSame(context.getBean(RecordingFrameWriter.class), handler.getFrameWriter());
+        }
+    }
+
+}
@@ -0,0 +1,279 @@
+package io.agora.spring.boot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.agora.spring.boot.resp.ChannelUserListResponse;
+import okhttp3.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AgoraRateLimitInterceptor_Test {
+
+    private AgoraProperties.RateLimit rateLimit(AgoraRateLimitInterceptor.Mode mode, double permitsPerSecond) {
+        AgoraProperties.RateLimit rateLimit = new AgoraProperties.RateLimit();
+        rateLimit.setEnabled(true);
+        rateLimit.setMode(mode);
+        rateLimit.getGroups().get(AgoraApiGroup.CHANNEL).setPermitsPerSecond(permitsPerSecond);
+        return rateLimit;
+    }
+
+    private Request request() {
+        return new Request.Builder().url("https://api.agora.io/").tag(AgoraApiAddress.class, AgoraApiAddress.CHANNEL_USER_LIST).build();
+    }
+
+    @Test
+    public void testFailFastRejects() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AgoraRateLimitInterceptor interceptor = new AgoraRateLimitInterceptor(rateLimit(AgoraRateLimitInterceptor.Mode.FAIL_FAST, 1));
+        assertEquals(200, new StubChain(request(), calls, interceptor).proceed(request()).code());
+        try {
+            new StubChain(request(), calls, interceptor).proceed(request());
+            fail();
+        } catch (AgoraRateLimitedException e) {
+            assertEquals(AgoraApiGroup.CHANNEL, e.getGroup());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testGroupModeOverridesGlobalMode() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AgoraProperties.RateLimit rateLimit = rateLimit(AgoraRateLimitInterceptor.Mode.BLOCKING, 1);
+        rateLimit.getGroups().get(AgoraApiGroup.CHANNEL).setMode(AgoraRateLimitInterceptor.Mode.FAIL_FAST);
+        AgoraRateLimitInterceptor interceptor = new AgoraRateLimitInterceptor(rateLimit);
+        new StubChain(request(), calls, interceptor).proceed(request());
+        try {
+            new StubChain(request(), calls, interceptor).proceed(request());
+            fail();
+        } catch (AgoraRateLimitedException e) {
+            assertEquals(1, calls.get());
+        }
+    }
+
+    @Test
+    public void testQueuedMaxWait() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AgoraProperties.RateLimit rateLimit = rateLimit(AgoraRateLimitInterceptor.Mode.QUEUED, 1);
+        rateLimit.setMaxWait(Duration.ofMillis(50));
+        AgoraRateLimitInterceptor interceptor = new AgoraRateLimitInterceptor(rateLimit);
+        new StubChain(request(), calls, interceptor).proceed(request());
+        long start = System.nanoTime();
+        try {
+            new StubChain(request(), calls, interceptor).proceed(request());
+            fail();
+        } catch (AgoraRateLimitedException e) {
+            assertTrue(e.getMessage().contains("50ms"));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testQueuedQueueSize() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AgoraProperties.RateLimit rateLimit = rateLimit(AgoraRateLimitInterceptor.Mode.QUEUED, 4);
+        rateLimit.setMaxQueueSize(1);
+        AgoraRateLimitInterceptor interceptor = new AgoraRateLimitInterceptor(rateLimit);
+        new StubChain(request(), calls, interceptor).proceed(request());
+        // 第二个请求等待约 250ms 的令牌，期间占用唯一的排队名额
+        CompletableFuture<Integer> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return new StubChain(request(), calls, interceptor).proceed(request()).code();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        TimeUnit.MILLISECONDS.sleep(80);
+        try {
+            new StubChain(request(), calls, interceptor).proceed(request());
+            fail();
+        } catch (AgoraRateLimitedException e) {
+            assertTrue(e.getMessage().contains("queue is full"));
+        }
+        assertEquals(200, (int) queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testBlockingWaitsForPermit() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AgoraRateLimitInterceptor interceptor = new AgoraRateLimitInterceptor(rateLimit(AgoraRateLimitInterceptor.Mode.BLOCKING, 5));
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, new StubChain(request(), calls, interceptor).proceed(request()).code());
+        }
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testRateLimitedIsNotRetried() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AgoraProperties.Retry retry = new AgoraProperties.Retry();
+        retry.setInitialInterval(Duration.ofMillis(1));
+        AgoraRetryInterceptor retryInterceptor = new AgoraRetryInterceptor(retry);
+        AgoraRateLimitInterceptor interceptor = new AgoraRateLimitInterceptor(rateLimit(AgoraRateLimitInterceptor.Mode.FAIL_FAST, 1));
+        new StubChain(request(), calls, retryInterceptor, interceptor).proceed(request());
+        try {
+            new StubChain(request(), calls, retryInterceptor, interceptor).proceed(request());
+            fail();
+        } catch (AgoraRateLimitedException e) {
+            assertEquals(1, calls.get());
+        }
+    }
+
+    @Test
+    public void testAcquiredRequestsBypassLimiter() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AgoraRateLimitInterceptor interceptor = new AgoraRateLimitInterceptor(rateLimit(AgoraRateLimitInterceptor.Mode.FAIL_FAST, 1));
+        Request acquired = request().newBuilder()
+                .tag(AgoraRateLimitInterceptor.PermitAcquired.class, AgoraRateLimitInterceptor.ACQUIRED).build();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, new StubChain(acquired, calls, interceptor).proceed(acquired).code());
+        }
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testAsyncBlockingDoesNotBlockCaller() throws Exception {
+        AgoraProperties properties = new AgoraProperties();
+        properties.setRateLimit(rateLimit(AgoraRateLimitInterceptor.Mode.BLOCKING, 5));
+        AgoraOkHttp3Template template = template(properties, new AgoraRateLimitInterceptor(properties.getRateLimit()));
+        // 首个请求预热并用掉当前令牌，之后每 200ms 一个令牌
+        template.doRequestAsync(AgoraApiAddress.CHANNEL_USER_LIST, "https://api.agora.io/",
+                AgoraOkHttp3Template.HttpMethod.GET, null, ChannelUserListResponse.class).get(5, TimeUnit.SECONDS);
+        long start = System.nanoTime();
+        List<CompletableFuture<ChannelUserListResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(template.doRequestAsync(AgoraApiAddress.CHANNEL_USER_LIST, "https://api.agora.io/",
+                    AgoraOkHttp3Template.HttpMethod.GET, null, ChannelUserListResponse.class));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(200));
+        for (CompletableFuture<ChannelUserListResponse> future : futures) {
+            assertEquals(200, future.get(5, TimeUnit.SECONDS).getCode());
+        }
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+    }
+
+    @Test
+    public void testAsyncQueuedMaxWait() throws Exception {
+        AgoraProperties properties = new AgoraProperties();
+        AgoraProperties.RateLimit rateLimit = rateLimit(AgoraRateLimitInterceptor.Mode.QUEUED, 0.1);
+        rateLimit.setMaxWait(Duration.ofMillis(50));
+        properties.setRateLimit(rateLimit);
+        AgoraRateLimitInterceptor interceptor = new AgoraRateLimitInterceptor(rateLimit);
+        AgoraOkHttp3Template template = template(properties, interceptor);
+        // 用掉已积累的令牌，下一个令牌在约 10 秒后
+        while (interceptor.getRateLimiter(AgoraApiGroup.CHANNEL).tryAcquire()) {
+        }
+        try {
+            template.doRequestAsync(AgoraApiAddress.CHANNEL_USER_LIST, "https://api.agora.io/",
+                    AgoraOkHttp3Template.HttpMethod.GET, null, ChannelUserListResponse.class).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof AgoraRateLimitedException);
+        }
+    }
+
+    /**
+     * 客户端中注册与模板相同的限流拦截器，末端返回 200
+     */
+    private AgoraOkHttp3Template template(AgoraProperties properties, AgoraRateLimitInterceptor interceptor) {
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(interceptor).addInterceptor(chain ->
+                new Response.Builder().request(chain.request()).protocol(Protocol.HTTP_1_1)
+                        .code(200).message("stub").body(ResponseBody.create(null, "{}")).build()).build();
+        return new AgoraOkHttp3Template(client, new ObjectMapper(), properties,
+                new AgoraAuthorizationInterceptor(new AgoraCredentialsHolder(properties)), new AgoraJacksonCodec(new ObjectMapper()),
+                new AgoraRetryInterceptor(properties.getRetry()), interceptor);
+    }
+
+    /**
+     * 依次执行给定拦截器，末端返回 200
+     */
+    static class StubChain implements Interceptor.Chain {
+
+        private final Request request;
+        private final AtomicInteger calls;
+        private final List<Interceptor> interceptors;
+        private final int index;
+
+        StubChain(Request request, AtomicInteger calls, Interceptor... interceptors) {
+            this(request, calls, Arrays.asList(interceptors), 0);
+        }
+
+        private StubChain(Request request, AtomicInteger calls, List<Interceptor> interceptors, int index) {
+            this.request = request;
+            this.calls = calls;
+            this.interceptors = interceptors;
+            this.index = index;
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response proceed(Request request) throws IOException {
+            if (index < interceptors.size()) {
+                return interceptors.get(index).intercept(new StubChain(request, calls, interceptors, index + 1));
+            }
+            calls.incrementAndGet();
+            return new Response.Builder().request(request).protocol(Protocol.HTTP_1_1)
+                    .code(200).message("stub").body(ResponseBody.create(null, "{}")).build();
+        }
+
+        @Override
+        public Connection connection() {
+            return null;
+        }
+
+        @Override
+        public Call call() {
+            return null;
+        }
+
+        @Override
+        public int connectTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withConnectTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public int readTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withReadTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public int writeTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withWriteTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+    }
+
+}
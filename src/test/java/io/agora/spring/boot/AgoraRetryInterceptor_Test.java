@@ -0,0 +1,199 @@
+package io.agora.spring.boot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.agora.spring.boot.resp.ChannelUserStateResponse;
+import okhttp3.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class AgoraRetryInterceptor_Test {
+
+    private AgoraProperties.Retry retry() {
+        AgoraProperties.Retry retry = new AgoraProperties.Retry();
+        retry.setInitialInterval(Duration.ofMillis(1));
+        retry.setMaxInterval(Duration.ofMillis(5));
+        return retry;
+    }
+
+    private Request request(AgoraApiAddress address) {
+        return new Request.Builder().url("https://api.agora.io/").tag(AgoraApiAddress.class, address).build();
+    }
+
+    @Test
+    public void testRetryIdempotentUntilSuccess() throws Exception {
+        StubChain chain = new StubChain(request(AgoraApiAddress.CHANNEL_USER_LIST), 503, 503, 200);
+        Response response = new AgoraRetryInterceptor(retry()).intercept(chain);
+        assertEquals(200, response.code());
+        assertEquals(3, chain.calls.get());
+    }
+
+    @Test
+    public void testStopAfterMaxAttempts() throws Exception {
+        StubChain chain = new StubChain(request(AgoraApiAddress.QUERY_CLOUD_RECORDING), 500, 500, 500, 200);
+        Response response = new AgoraRetryInterceptor(retry()).intercept(chain);
+        assertEquals(500, response.code());
+        assertEquals(3, chain.calls.get());
+    }
+
+    @Test
+    public void testStartRecordingIsOptIn() throws Exception {
+        StubChain chain = new StubChain(request(AgoraApiAddress.START_CLOUD_RECORDING), 503, 200);
+        assertEquals(503, new AgoraRetryInterceptor(retry()).intercept(chain).code());
+        assertEquals(1, chain.calls.get());
+
+        AgoraProperties.Retry retry = retry();
+        AgoraProperties.RetryApi api = new AgoraProperties.RetryApi();
+        api.setEnabled(true);
+        retry.getApis().put(AgoraApiAddress.START_CLOUD_RECORDING, api);
+        chain = new StubChain(request(AgoraApiAddress.START_CLOUD_RECORDING), 503, 200);
+        assertEquals(200, new AgoraRetryInterceptor(retry).intercept(chain).code());
+        assertEquals(2, chain.calls.get());
+    }
+
+    @Test
+    public void testAsyncTagSkipsInterceptorRetry() throws Exception {
+        Request request = request(AgoraApiAddress.CHANNEL_USER_LIST).newBuilder()
+                .tag(AgoraRetryInterceptor.AsyncRetry.class, AgoraRetryInterceptor.ASYNC).build();
+        StubChain chain = new StubChain(request, 503, 200);
+        assertEquals(503, new AgoraRetryInterceptor(retry()).intercept(chain).code());
+        assertEquals(1, chain.calls.get());
+    }
+
+    @Test
+    public void testAsyncRetryIsScheduled() throws Exception {
+        Iterator<Integer> codes = Arrays.asList(503, 503, 200).iterator();
+        AtomicInteger calls = new AtomicInteger();
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            calls.incrementAndGet();
+            return new Response.Builder().request(chain.request()).protocol(Protocol.HTTP_1_1)
+                    .code(codes.next()).message("stub").body(ResponseBody.create(null, "{}")).build();
+        }).build();
+        AgoraProperties properties = new AgoraProperties();
+        properties.setRetry(retry());
+        AgoraOkHttp3Template template = new AgoraOkHttp3Template(client, new ObjectMapper(), properties);
+
+        ChannelUserStateResponse response = template.doRequestAsync(AgoraApiAddress.CHANNEL_USER_STATE, "https://api.agora.io/",
+                AgoraOkHttp3Template.HttpMethod.GET, null, ChannelUserStateResponse.class).get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.getCode());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testAsyncRetryUsesInjectedInterceptor() throws Exception {
+        Iterator<Integer> codes = Arrays.asList(503, 200).iterator();
+        AtomicInteger calls = new AtomicInteger();
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            calls.incrementAndGet();
+            return new Response.Builder().request(chain.request()).protocol(Protocol.HTTP_1_1)
+                    .code(codes.next()).message("stub").body(ResponseBody.create(null, "{}")).build();
+        }).build();
+        AgoraProperties properties = new AgoraProperties();
+        properties.setRetry(retry());
+        AgoraRetryInterceptor noRetry = new AgoraRetryInterceptor(retry()) {
+            @Override
+            protected int maxAttempts(AgoraApiAddress address) {
+                return 1;
+            }
+        };
+        AgoraOkHttp3Template template = new AgoraOkHttp3Template(client, new ObjectMapper(), properties,
+                new AgoraAuthorizationInterceptor(new AgoraCredentialsHolder(properties)), new AgoraJacksonCodec(new ObjectMapper()), noRetry,
+                new AgoraRateLimitInterceptor(properties.getRateLimit()));
+
+        try {
+            template.doRequestAsync(AgoraApiAddress.CHANNEL_USER_STATE, "https://api.agora.io/",
+                    AgoraOkHttp3Template.HttpMethod.GET, null, ChannelUserStateResponse.class).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals(503, ((AgoraResponseException) e.getCause()).getCode());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testTransportFailureReturnsEmptyResponse() throws Exception {
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            throw new IOException("unreachable");
+        }).build();
+        AgoraOkHttp3Template template = new AgoraOkHttp3Template(client, new ObjectMapper(), new AgoraProperties());
+
+        ChannelUserStateResponse response = template.get("https://api.agora.io/", ChannelUserStateResponse.class);
+        assertEquals(0, response.getCode());
+        assertNull(template.doRequest("https://api.agora.io/", AgoraOkHttp3Template.HttpMethod.GET));
+    }
+
+    static class StubChain implements Interceptor.Chain {
+
+        private final Request request;
+        private final Iterator<Integer> codes;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubChain(Request request, Integer... codes) {
+            this.request = request;
+            this.codes = Arrays.asList(codes).iterator();
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response proceed(Request request) throws IOException {
+            calls.incrementAndGet();
+            return new Response.Builder().request(request).protocol(Protocol.HTTP_1_1)
+                    .code(codes.next()).message("stub").body(ResponseBody.create(null, "{}")).build();
+        }
+
+        @Override
+        public Connection connection() {
+            return null;
+        }
+
+        @Override
+        public Call call() {
+            return null;
+        }
+
+        @Override
+        public int connectTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withConnectTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public int readTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withReadTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public int writeTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withWriteTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+    }
+
+}
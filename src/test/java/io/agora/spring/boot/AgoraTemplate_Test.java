@@ -11,9 +11,15 @@ import okhttp3.OkHttpClient;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.InterruptedIOException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
 
 public class AgoraTemplate_Test {
 
@@ -79,4 +85,33 @@ public class AgoraTemplate_Test {
 
 	}
 
+	@Test
+	public void testCancelAcquireIdAsyncCancelsCall() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch canceled = new CountDownLatch(1);
+		OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+			started.countDown();
+			try {
+				long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+				while (!chain.call().isCanceled() && System.nanoTime() < deadline) {
+					Thread.sleep(10);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (chain.call().isCanceled()) {
+				canceled.countDown();
+			}
+			throw new InterruptedIOException();
+		}).build();
+		AgoraOkHttp3Template agoraOkHttp3Template = new AgoraOkHttp3Template(client, objectMapper, properties);
+		AgoraTemplate asyncTemplate = new AgoraTemplate(new AgoraUserIdProvider() {}, agoraOkHttp3Template, properties);
+
+		CompletableFuture<AcquireResourceResponse> future = asyncTemplate.opsForCloudRecording().acquireIdAsync("10000", "121212");
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		future.cancel(true);
+		// 取消返回的依赖阶段时，底层 Call 同样被取消
+		assertTrue(canceled.await(5, TimeUnit.SECONDS));
+	}
+
 }
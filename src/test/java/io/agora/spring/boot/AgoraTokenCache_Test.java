@@ -0,0 +1,52 @@
+package io.agora.spring.boot;
+
+import io.agora.media.RtcTokenBuilder;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class AgoraTokenCache_Test {
+
+    private long now = 1_000_000;
+
+    private AgoraTokenCache tokenCache() {
+        AgoraProperties.TokenCache config = new AgoraProperties.TokenCache();
+        config.setMinRemainingTime(Duration.ofSeconds(600));
+        return new AgoraTokenCache(config) {
+            @Override
+            protected long currentSeconds() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void testReuseUntilMinRemainingTime() {
+        AgoraTokenCache tokenCache = tokenCache();
+        AtomicInteger minted = new AtomicInteger();
+        String first = tokenCache.getToken("1001", "room", RtcTokenBuilder.Role.Role_Publisher, 3600,
+                ts -> "token-" + ts + "-" + minted.incrementAndGet());
+        now += 3000;
+        assertEquals(first, tokenCache.getToken("1001", "room", RtcTokenBuilder.Role.Role_Publisher, 3600,
+                ts -> "token-" + ts + "-" + minted.incrementAndGet()));
+        assertEquals(1, minted.get());
+
+        now += 1;
+        String second = tokenCache.getToken("1001", "room", RtcTokenBuilder.Role.Role_Publisher, 3600,
+                ts -> "token-" + ts + "-" + minted.incrementAndGet());
+        assertEquals("token-" + (now + 3600) + "-2", second);
+        assertEquals(1, tokenCache.getHitCount());
+        assertEquals(2, tokenCache.getMissCount());
+    }
+
+    @Test
+    public void testRoleIsPartOfKey() {
+        AgoraTokenCache tokenCache = tokenCache();
+        tokenCache.getToken("1001", "room", RtcTokenBuilder.Role.Role_Publisher, 3600, ts -> "publisher");
+        assertEquals("subscriber", tokenCache.getToken("1001", "room", RtcTokenBuilder.Role.Role_Subscriber, 3600, ts -> "subscriber"));
+        assertEquals(2, tokenCache.size());
+    }
+}
@@ -0,0 +1,51 @@
+package io.agora.spring.boot;
+
+import io.agora.media.ByteBuf;
+import org.junit.Test;
+
+import java.nio.BufferUnderflowException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ByteBuf_Test {
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        byte[] payload = new byte[5000];
+        Arrays.fill(payload, (byte) 7);
+        for (boolean direct : new boolean[]{false, true}) {
+            ByteBuf buf = new ByteBuf(16, direct).put(1).put(payload).put("频道");
+            assertEquals(4 + 2 + payload.length + 2 + 6, buf.size());
+            ByteBuf reader = new ByteBuf(buf.asBytes());
+            assertEquals(1, reader.readInt());
+            assertArrayEquals(payload, reader.readBytes());
+            assertEquals("频道", reader.readString());
+        }
+    }
+
+    @Test
+    public void testUnsignedLengthPrefix() {
+        byte[] payload = new byte[40000];
+        payload[39999] = 1;
+        assertArrayEquals(payload, new ByteBuf(new ByteBuf().put(payload).asBytes()).readBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFieldTooLong() {
+        new ByteBuf().put(new byte[0x10000]);
+    }
+
+    @Test(expected = BufferUnderflowException.class)
+    public void testTruncatedField() {
+        new ByteBuf(new byte[]{10, 0, 1, 2}).readBytes();
+    }
+
+    @Test
+    public void testClearReusesBuffer() {
+        ByteBuf buf = new ByteBuf(4).put(1).put(2L);
+        buf.clear().put((short) 3);
+        assertArrayEquals(new byte[]{3, 0}, buf.asBytes());
+    }
+}
@@ -0,0 +1,130 @@
+package io.agora.spring.boot;
+
+import io.agora.recording.processor.FrameDispatcher;
+import io.agora.recording.processor.FrameFilters;
+import io.agora.recording.processor.FrameFormat;
+import io.agora.recording.processor.FrameProcessor;
+import io.agora.recording.processor.MediaType;
+import io.agora.recording.processor.RecordingFrame;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FrameDispatcher_Test {
+
+    private static RecordingFrame frame(long uid, FrameFormat format, long frameMs) {
+        return RecordingFrame.builder().channelId("test").uid(uid).format(format).data(new byte[0]).frameMs(frameMs).build();
+    }
+
+    @Test
+    public void testNoProcessors() {
+        FrameDispatcher dispatcher = new FrameDispatcher(new AgoraRecordingProperties.Processor(), Collections.emptyList());
+        assertFalse(dispatcher.hasProcessors());
+        assertFalse(dispatcher.dispatch(frame(1, FrameFormat.PCM, 0)));
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void testFilterSampleAndFanOut() throws Exception {
+        List<Long> sampled = new CopyOnWriteArrayList<>();
+        List<Long> audio = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        FrameProcessor snapshots = ((FrameProcessor) frame -> sampled.add(frame.getFrameMs()))
+                .filter(FrameFilters.uid(1001))
+                .filter(FrameFilters.format(FrameFormat.YUV))
+                .sampleEvery(10);
+        FrameProcessor audioTap = ((FrameProcessor) frame -> audio.add(frame.getUid()))
+                .filter(FrameFilters.audio());
+        FrameProcessor last = frame -> {
+            if (frame.getUid() == 1001 && frame.getFrameMs() == 99) {
+                done.countDown();
+            }
+        };
+        FrameDispatcher dispatcher = new FrameDispatcher(new AgoraRecordingProperties.Processor(),
+                Collections.singletonList(FrameProcessor.fanOut(snapshots, audioTap, last)));
+        assertTrue(dispatcher.hasProcessors());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(dispatcher.dispatch(frame(1001, FrameFormat.YUV, i)));
+            assertTrue(dispatcher.dispatch(frame(1002, FrameFormat.YUV, i)));
+        }
+        dispatcher.dispatch(frame(1002, FrameFormat.PCM, 0));
+        dispatcher.dispatch(frame(1001, FrameFormat.PCM, 0));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < 100; i += 10) {
+            expected.add(i);
+        }
+        assertEquals(expected, sampled);
+        assertEquals(2, audio.size());
+        assertEquals(202, dispatcher.getDispatchedFrames());
+        assertEquals(0, dispatcher.getDroppedFrames());
+    }
+
+    @Test
+    public void testClosedStreamsAndChannelsResetSampling() throws Exception {
+        List<String> sampled = new CopyOnWriteArrayList<>();
+        List<String> closed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        FrameProcessor tap = new FrameProcessor() {
+            @Override
+            public void process(RecordingFrame frame) {
+                sampled.add(frame.getUid() + "/" + frame.getFrameMs());
+            }
+
+            @Override
+            public void onStreamClosed(String channelId, long uid, MediaType mediaType) {
+                closed.add(channelId + "/" + uid + "/" + mediaType);
+            }
+
+            @Override
+            public void onChannelClosed(String channelId) {
+                closed.add(channelId);
+                done.countDown();
+            }
+        };
+        AgoraRecordingProperties.Processor properties = new AgoraRecordingProperties.Processor();
+        properties.setThreads(2);
+        FrameDispatcher dispatcher = new FrameDispatcher(properties,
+                Collections.singletonList(tap.filter(FrameFilters.video()).sampleEvery(3)));
+        dispatcher.dispatch(frame(1001, FrameFormat.YUV, 0));
+        dispatcher.dispatch(frame(1001, FrameFormat.YUV, 1));
+        // 音频流结束不影响视频计数
+        dispatcher.streamClosed("test", 1001, MediaType.AUDIO);
+        dispatcher.dispatch(frame(1001, FrameFormat.YUV, 2));
+        dispatcher.streamClosed("test", 1001, MediaType.VIDEO);
+        dispatcher.dispatch(frame(1001, FrameFormat.YUV, 3));
+        dispatcher.dispatch(frame(1002, FrameFormat.YUV, 0));
+        dispatcher.dispatch(frame(1002, FrameFormat.YUV, 1));
+        dispatcher.channelClosed("test");
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(frame(1002, FrameFormat.YUV, 2));
+        dispatcher.shutdown();
+
+        assertEquals(Arrays.asList("1001/0", "1001/3"), filterUid(sampled, "1001/"));
+        assertEquals(Arrays.asList("1002/0", "1002/2"), filterUid(sampled, "1002/"));
+        assertEquals(Arrays.asList("test/1001/AUDIO", "test/1001/VIDEO", "test"), closed);
+    }
+
+    private static List<String> filterUid(List<String> values, String prefix) {
+        List<String> result = new ArrayList<>();
+        for (String value : values) {
+            if (value.startsWith(prefix)) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,37 @@
+package io.agora.spring.boot;
+
+import io.agora.media.HmacSigner;
+import org.junit.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class HmacSigner_Test {
+    private final byte[] message = "970CA35de60c44645bbae8a215061b337d922c9b".getBytes();
+
+    private static byte[] reference(String algorithm, byte[] key, byte[] message) throws Exception {
+        Mac mac = Mac.getInstance(algorithm);
+        mac.init(new SecretKeySpec(key, algorithm));
+        return mac.doFinal(message);
+    }
+
+    @Test
+    public void testMatchesFreshMac() throws Exception {
+        byte[] key1 = "5CFd2fd1755d40ecb72977518be15d3b".getBytes();
+        byte[] key2 = "d8d1e8ff6cbd4e0f9f8e54f7e0a6a7c2".getBytes();
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(reference(HmacSigner.HMAC_SHA256, key1, message), HmacSigner.sign(HmacSigner.HMAC_SHA256, key1, message));
+            assertArrayEquals(reference(HmacSigner.HMAC_SHA256, key2, message), HmacSigner.sign(HmacSigner.HMAC_SHA256, key2, message));
+            assertArrayEquals(reference(HmacSigner.HMAC_SHA1, key1, message), HmacSigner.sign(HmacSigner.HMAC_SHA1, key1, message));
+        }
+    }
+
+    @Test
+    public void testResetAfterPartialUpdate() throws Exception {
+        byte[] key = "5CFd2fd1755d40ecb72977518be15d3b".getBytes();
+        HmacSigner.getMac(HmacSigner.HMAC_SHA256, key).update(message);
+        assertArrayEquals(reference(HmacSigner.HMAC_SHA256, key, message), HmacSigner.sign(HmacSigner.HMAC_SHA256, key, message));
+    }
+}
@@ -0,0 +1,90 @@
+package io.agora.spring.boot;
+
+import io.agora.recording.output.MappedFrameOutput;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class MappedFrameOutput_Test {
+
+    @Test
+    public void testRollsAtFrameBoundaries() throws Exception {
+        Path dir = Files.createTempDirectory("agora-mapped");
+        IntFunction<Path> segments = MappedFrameOutput.sequenced(dir.resolve("1001.yuv"));
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        // 100-byte segments mapped 32 bytes at a time: three 30-byte frames fit, the fourth rolls over
+        try (MappedFrameOutput output = new MappedFrameOutput(segments, false, 100, 32)) {
+            for (int i = 0; i < 5; i++) {
+                byte[] frame = new byte[30];
+                Arrays.fill(frame, (byte) i);
+                output.write(frame, 0, frame.length);
+                (i < 3 ? first : second).write(frame, 0, frame.length);
+            }
+            assertEquals(150, output.size());
+        }
+        assertEquals(dir.resolve("1001_1.yuv"), segments.apply(1));
+        assertArrayEquals(first.toByteArray(), Files.readAllBytes(segments.apply(0)));
+        assertArrayEquals(second.toByteArray(), Files.readAllBytes(segments.apply(1)));
+        assertFalse(Files.exists(segments.apply(2)));
+    }
+
+    @Test
+    public void testAppendAndOversizedFrame() throws Exception {
+        Path file = Files.createTempFile("agora-mapped", ".pcm");
+        Files.write(file, new byte[]{1, 2, 3});
+        byte[] frame = new byte[250];
+        frame[249] = 9;
+        try (MappedFrameOutput output = new MappedFrameOutput(MappedFrameOutput.sequenced(file), true, 100, 16)) {
+            output.write(frame, 0, 50);
+        }
+        assertEquals(53, Files.size(file));
+        try (MappedFrameOutput output = new MappedFrameOutput(seq -> file, false, 100, 16)) {
+            output.write(frame, 0, frame.length);
+        }
+        assertArrayEquals(frame, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testAppendResumesAfterLastSegment() throws Exception {
+        Path dir = Files.createTempDirectory("agora-mapped");
+        IntFunction<Path> segments = MappedFrameOutput.sequenced(dir.resolve("1001.yuv"));
+        byte[] frame = new byte[30];
+        try (MappedFrameOutput output = new MappedFrameOutput(segments, false, 100, 32)) {
+            for (int i = 0; i < 5; i++) {
+                output.write(frame, 0, frame.length);
+            }
+        }
+        assertEquals(90, Files.size(segments.apply(0)));
+        assertEquals(60, Files.size(segments.apply(1)));
+
+        // the reopened stream continues in 1001_1.yuv and counts its existing 60 bytes toward the segment size
+        try (MappedFrameOutput output = new MappedFrameOutput(segments, true, 100, 32)) {
+            for (int i = 0; i < 2; i++) {
+                output.write(frame, 0, frame.length);
+            }
+        }
+        assertEquals(90, Files.size(segments.apply(0)));
+        assertEquals(90, Files.size(segments.apply(1)));
+        assertEquals(30, Files.size(segments.apply(2)));
+
+        // rolling never truncates a segment that already exists
+        try (MappedFrameOutput output = new MappedFrameOutput(segments, false, 100, 32)) {
+            for (int i = 0; i < 4; i++) {
+                output.write(frame, 0, frame.length);
+            }
+        }
+        assertEquals(90, Files.size(segments.apply(0)));
+        assertEquals(90, Files.size(segments.apply(1)));
+        assertEquals(30, Files.size(segments.apply(2)));
+        assertEquals(30, Files.size(segments.apply(3)));
+    }
+}
@@ -0,0 +1,40 @@
+package io.agora.spring.boot;
+
+import io.agora.media.ByteBuf;
+import io.agora.media.PrivilegeMap;
+import org.junit.Test;
+
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PrivilegeMap_Test {
+
+    @Test
+    public void testSameWireOrderAsTreeMap() {
+        short[] keys = {1000, 3, 1, 4, 2, 3};
+        PrivilegeMap privileges = new PrivilegeMap(2);
+        TreeMap<Short, Integer> reference = new TreeMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            privileges.put(keys[i], 100 + i);
+            reference.put(keys[i], 100 + i);
+        }
+        assertEquals(reference.size(), privileges.size());
+        assertEquals(reference.toString(), privileges.toString());
+        assertArrayEquals(new ByteBuf().putIntMap(reference).asBytes(), new ByteBuf().putPrivilegeMap(privileges).asBytes());
+        assertEquals(privileges, new ByteBuf(new ByteBuf().putPrivilegeMap(privileges).asBytes()).readPrivilegeMap());
+    }
+
+    @Test
+    public void testRemove() {
+        PrivilegeMap privileges = new PrivilegeMap();
+        privileges.put((short) 1, 10);
+        privileges.put((short) 2, 20);
+        privileges.remove((short) 1);
+        assertFalse(privileges.containsKey((short) 1));
+        assertEquals(20, privileges.get((short) 2));
+        assertEquals(0, privileges.get((short) 1));
+    }
+}
@@ -0,0 +1,133 @@
+package io.agora.spring.boot;
+
+import io.agora.spring.boot.resp.ChannelUserStateResponse;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ReactiveAgoraTemplate_Test {
+
+    private ServerSocket server;
+    private volatile String responseBody;
+
+    @Before
+    public void start() throws Exception {
+        server = new ServerSocket(0);
+        Thread thread = new Thread(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                    String line;
+                    while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                    }
+                    // 没有设置响应体时不返回任何数据，模拟无响应的服务端
+                    if (responseBody != null) {
+                        byte[] body = responseBody.getBytes(StandardCharsets.UTF_8);
+                        OutputStream output = socket.getOutputStream();
+                        output.write(("HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Type: application/json\r\nContent-Length: " + body.length + "\r\n\r\n")
+                                .getBytes(StandardCharsets.US_ASCII));
+                        output.write(body);
+                        output.flush();
+                        socket.close();
+                    }
+                } catch (Exception e) {
+                    return;
+                }
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @After
+    public void stop() throws Exception {
+        server.close();
+    }
+
+    private ReactiveAgoraTemplate template(AgoraProperties properties, AgoraJsonCodec jsonCodec, AgoraWebClientCustomizer... customizers) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        for (int i = 0; i < customizers.length; i++) {
+            beanFactory.registerSingleton("customizer" + i, customizers[i]);
+        }
+        AgoraReactiveAutoConfiguration configuration = new AgoraReactiveAutoConfiguration();
+        WebClient webClient = configuration.agoraWebClient(properties, beanFactory.getBeanProvider(AgoraWebClientCustomizer.class),
+                new AgoraAuthorizationExchangeFilter(new AgoraCredentialsHolder(properties)));
+        return new ReactiveAgoraTemplate(new AgoraUserIdProvider() {}, webClient, properties, jsonCodec);
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getLocalPort() + "/";
+    }
+
+    @Test
+    public void testReadTimeout() {
+        AgoraProperties properties = new AgoraProperties();
+        properties.getHttp().setReadTimeout(Duration.ofMillis(200));
+        ReactiveAgoraTemplate template = template(properties, new AgoraFastjson2Codec());
+        long start = System.nanoTime();
+        try {
+            template.doRequest(HttpMethod.GET, url(), null, ChannelUserStateResponse.class).block(Duration.ofSeconds(5));
+            fail();
+        } catch (RuntimeException e) {
+            assertTrue(String.valueOf(e), e instanceof ReadTimeoutException || e.getCause() instanceof ReadTimeoutException);
+        }
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(3).toNanos());
+    }
+
+    @Test
+    public void testResponseUsesJsonCodec() {
+        responseBody = "{\"success\":true,\"data\":{\"in_channel\":true,\"role\":2}}";
+        ReactiveAgoraTemplate template = template(new AgoraProperties(), new AgoraFastjson2Codec());
+        ChannelUserStateResponse response = template.doRequest(HttpMethod.GET, url(), null, ChannelUserStateResponse.class)
+                .block(Duration.ofSeconds(5));
+        assertEquals(200, response.getCode());
+        assertTrue(response.getData().getInChannel());
+        assertEquals(2, (int) response.getData().getRole());
+    }
+
+    @Test
+    public void testMetricsFilterRecordsTimerPerApi() {
+        responseBody = "{\"success\":true}";
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AgoraProperties properties = new AgoraProperties();
+        AgoraMetricsInterceptor interceptor = new AgoraMetricsInterceptor(registry, properties.getMetrics());
+        AgoraMetricsExchangeFilter filter = new AgoraMetricsExchangeFilter(interceptor);
+        ReactiveAgoraTemplate template = template(properties, new AgoraJacksonCodec(AgoraAutoConfiguration.defaultObjectMapper()),
+                builder -> builder.filter(filter));
+
+        for (int i = 0; i < 2; i++) {
+            template.get(AgoraApiAddress.CHANNEL_USER_STATE, url(), ChannelUserStateResponse.class).block(Duration.ofSeconds(5));
+        }
+        template.get(url(), ChannelUserStateResponse.class).block(Duration.ofSeconds(5));
+
+        Timer timer = registry.find(AgoraMetricsInterceptor.METRIC_REQUESTS)
+                .tags("api", AgoraApiAddress.CHANNEL_USER_STATE.name(), "method", "GET", "status", "200", "outcome", "SUCCESS")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertEquals(1, registry.find(AgoraMetricsInterceptor.METRIC_REQUESTS).tag("api", AgoraMetricsInterceptor.UNKNOWN).timer().count());
+        assertEquals(0, registry.find(AgoraMetricsInterceptor.METRIC_REQUESTS_ACTIVE)
+                .tag("api", AgoraApiAddress.CHANNEL_USER_STATE.name()).gauge().value(), 0);
+    }
+
+}
@@ -0,0 +1,341 @@
+package io.agora.spring.boot;
+
+import io.agora.recording.output.FrameOutput;
+import io.agora.recording.output.FrameStream;
+import io.agora.recording.output.OutputMode;
+import io.agora.recording.output.OverflowPolicy;
+import io.agora.recording.output.RecordingFrameWriter;
+import io.agora.recording.output.RecordingSegment;
+import io.agora.recording.output.StreamTarget;
+import org.junit.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RecordingFrameWriter_Test {
+
+    @Test
+    public void testFramesWrittenInOrder() throws Exception {
+        Path file = Files.createTempFile("agora-recording", ".pcm");
+        AgoraRecordingProperties.Writer properties = new AgoraRecordingProperties.Writer();
+        properties.setBufferSize(DataSize.ofBytes(64));
+        RecordingFrameWriter writer = new RecordingFrameWriter(properties);
+        FrameStream stream = writer.openStream(file, false);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        byte[] frame = new byte[100];
+        for (int i = 0; i < 200; i++) {
+            int size = 1 + i % 100;
+            for (int j = 0; j < size; j++) {
+                frame[j] = (byte) (i + j);
+            }
+            assertTrue(stream.offer(frame, size));
+            expected.write(frame, 0, size);
+        }
+        writer.shutdown();
+        assertArrayEquals(expected.toByteArray(), Files.readAllBytes(file));
+        assertEquals(200, writer.getWrittenFrames());
+        assertEquals(0, writer.getDroppedFrames());
+        assertEquals(0, writer.getOpenStreams());
+        Files.delete(file);
+    }
+
+    @Test
+    public void testDropNewestWhenQueueFull() throws Exception {
+        AgoraRecordingProperties.Writer properties = new AgoraRecordingProperties.Writer();
+        properties.setQueueCapacity(2);
+        properties.setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+        RecordingFrameWriter writer = new RecordingFrameWriter(properties);
+        CountDownLatch opened = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FrameStream stream = writer.openStream("slow", () -> {
+            opened.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return new CountingOutput();
+        });
+        byte[] frame = new byte[8];
+        assertTrue(stream.offer(frame, frame.length));
+        opened.await();
+        // the writer thread holds one frame while the disk is stalled, the queue takes two more
+        assertTrue(stream.offer(frame, frame.length));
+        assertTrue(stream.offer(frame, frame.length));
+        assertFalse(stream.offer(frame, frame.length));
+        assertEquals(2, writer.getQueueDepth());
+        release.countDown();
+        writer.shutdown();
+        assertEquals(3, writer.getWrittenFrames());
+        assertEquals(1, writer.getDroppedFrames());
+        assertFalse(stream.offer(frame, frame.length));
+    }
+
+    @Test
+    public void testDropNewestWhenQueuedBytesExceeded() throws Exception {
+        AgoraRecordingProperties.Writer properties = new AgoraRecordingProperties.Writer();
+        properties.setMaxQueuedBytes(DataSize.ofBytes(100));
+        properties.setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+        RecordingFrameWriter writer = new RecordingFrameWriter(properties);
+        CountDownLatch opened = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FrameStream stream = writer.openStream("slow", () -> {
+            opened.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return new CountingOutput();
+        });
+        byte[] frame = new byte[40];
+        assertTrue(stream.offer(frame, frame.length));
+        opened.await();
+        // the frame count limit is far away, the byte limit admits two more 40-byte frames
+        assertTrue(stream.offer(frame, frame.length));
+        assertTrue(stream.offer(frame, frame.length));
+        assertFalse(stream.offer(frame, frame.length));
+        assertEquals(80, writer.getQueuedBytes());
+        release.countDown();
+        writer.shutdown();
+        assertEquals(3, writer.getWrittenFrames());
+        assertEquals(1, writer.getDroppedFrames());
+        assertEquals(0, writer.getQueuedBytes());
+    }
+
+    @Test
+    public void testReopenedStreamWaitsForPreviousStream() throws Exception {
+        AgoraRecordingProperties.Writer properties = new AgoraRecordingProperties.Writer();
+        properties.setThreads(4);
+        RecordingFrameWriter writer = new RecordingFrameWriter(properties);
+        List<String> events = new CopyOnWriteArrayList<>();
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        FrameStream previous = writer.openStream("1001.h264", () -> new RecordingOutput("previous", events, file, 2));
+        for (int i = 0; i < 20; i++) {
+            previous.offer(new byte[]{1}, 1);
+        }
+        previous.close();
+        // the replacement is opened while the previous stream is still draining, as KEEPMEDIATIME and idle cleanup do
+        FrameStream next = writer.openStream("1001.h264", () -> new RecordingOutput("next", events, file, 0));
+        for (int i = 0; i < 20; i++) {
+            next.offer(new byte[]{2}, 1);
+        }
+        next.close();
+        next.getTermination().get(5, TimeUnit.SECONDS);
+        writer.shutdown();
+
+        assertEquals(Arrays.asList("open previous", "close previous", "open next", "close next"), events);
+        byte[] expected = new byte[40];
+        Arrays.fill(expected, 0, 20, (byte) 1);
+        Arrays.fill(expected, 20, 40, (byte) 2);
+        assertArrayEquals(expected, file.toByteArray());
+    }
+
+    @Test
+    public void testWriteFile() throws Exception {
+        Path file = Files.createTempFile("agora-snapshot", ".jpg");
+        Files.write(file, new byte[64]);
+        RecordingFrameWriter writer = new RecordingFrameWriter(new AgoraRecordingProperties.Writer());
+        byte[] jpg = {(byte) 0xFF, (byte) 0xD8, 1, 2, 3, (byte) 0xFF, (byte) 0xD9, 0};
+        assertTrue(writer.writeFile(file, jpg, 7));
+        writer.shutdown();
+        assertArrayEquals(Arrays.copyOf(jpg, 7), Files.readAllBytes(file));
+        Files.delete(file);
+    }
+
+    @Test
+    public void testSizeRotationPerStream() throws Exception {
+        Path dir = Files.createTempDirectory("agora-rotation");
+        AgoraRecordingProperties.Rotation rotation = new AgoraRecordingProperties.Rotation();
+        rotation.setMaxSize(DataSize.ofBytes(100));
+        rotation.setFileNamePattern("{channel}_{uid}_{type}");
+        RecordingFrameWriter writer = new RecordingFrameWriter(new AgoraRecordingProperties.Writer(), rotation);
+        List<RecordingSegment> segments = new CopyOnWriteArrayList<>();
+        writer.addSegmentListener(segments::add);
+        String prefix = dir.toString() + File.separator;
+        FrameStream audio = writer.openStream(new StreamTarget(prefix, "room", 1001, StreamTarget.AUDIO, ".aac", false), true);
+        FrameStream video = writer.openStream(new StreamTarget(prefix, "room", 1001, StreamTarget.VIDEO, ".h264", false), true);
+        byte[] frame = new byte[40];
+        for (int i = 0; i < 5; i++) {
+            audio.offer(frame, frame.length);
+        }
+        video.offer(frame, frame.length);
+        writer.shutdown();
+
+        assertEquals(4, segments.size());
+        assertEquals(80, Files.size(dir.resolve("room_1001_audio_0.aac")));
+        assertEquals(80, Files.size(dir.resolve("room_1001_audio_1.aac")));
+        assertEquals(40, Files.size(dir.resolve("room_1001_audio_2.aac")));
+        assertEquals(40, Files.size(dir.resolve("room_1001_video_0.h264")));
+        for (RecordingSegment segment : segments) {
+            assertEquals(Files.size(segment.getPath()), segment.getSize());
+        }
+    }
+
+    @Test
+    public void testMappedReopenWithAppendResumesSegments() throws Exception {
+        Path dir = Files.createTempDirectory("agora-reopen");
+        AgoraRecordingProperties.Writer properties = new AgoraRecordingProperties.Writer();
+        properties.setRawOutputMode(OutputMode.MAPPED);
+        properties.setSegmentSize(DataSize.ofBytes(100));
+        properties.setMapChunkSize(DataSize.ofBytes(32));
+        StreamTarget target = new StreamTarget(dir.toString() + File.separator, "room", 1001, StreamTarget.VIDEO, ".yuv", true);
+        byte[] frame = new byte[30];
+
+        RecordingFrameWriter writer = new RecordingFrameWriter(properties);
+        FrameStream stream = writer.openStream(target, true);
+        for (int i = 0; i < 5; i++) {
+            stream.offer(frame, frame.length);
+        }
+        writer.shutdown();
+        assertEquals(90, Files.size(dir.resolve("1001.yuv")));
+        assertEquals(60, Files.size(dir.resolve("1001_1.yuv")));
+
+        // 流在空闲清理或重连后以追加方式重新打开：从 1001_1.yuv 继续，已有长度计入分段大小，不覆盖已有分段
+        writer = new RecordingFrameWriter(properties);
+        stream = writer.openStream(target, true);
+        for (int i = 0; i < 2; i++) {
+            stream.offer(frame, frame.length);
+        }
+        writer.shutdown();
+        assertEquals(90, Files.size(dir.resolve("1001.yuv")));
+        assertEquals(90, Files.size(dir.resolve("1001_1.yuv")));
+        assertEquals(30, Files.size(dir.resolve("1001_2.yuv")));
+    }
+
+    @Test
+    public void testMappedRewriteDeletesStaleSegments() throws Exception {
+        Path dir = Files.createTempDirectory("agora-rewrite");
+        AgoraRecordingProperties.Writer properties = new AgoraRecordingProperties.Writer();
+        properties.setRawOutputMode(OutputMode.MAPPED);
+        properties.setSegmentSize(DataSize.ofBytes(100));
+        properties.setMapChunkSize(DataSize.ofBytes(32));
+        StreamTarget target = new StreamTarget(dir.toString() + File.separator, "room", 1001, StreamTarget.VIDEO, ".yuv", true);
+        byte[] frame = new byte[30];
+
+        RecordingFrameWriter writer = new RecordingFrameWriter(properties);
+        FrameStream stream = writer.openStream(target, true);
+        for (int i = 0; i < 7; i++) {
+            stream.offer(frame, frame.length);
+        }
+        writer.shutdown();
+        assertTrue(Files.exists(dir.resolve("1001_2.yuv")));
+
+        // keepMediaTime 到期后不追加重新打开：从第一个分段重写，上一轮的后续分段不再残留
+        writer = new RecordingFrameWriter(properties);
+        stream = writer.openStream(target, false);
+        for (int i = 0; i < 4; i++) {
+            stream.offer(frame, frame.length);
+        }
+        writer.shutdown();
+        assertEquals(90, Files.size(dir.resolve("1001.yuv")));
+        assertEquals(30, Files.size(dir.resolve("1001_1.yuv")));
+        assertFalse(Files.exists(dir.resolve("1001_2.yuv")));
+    }
+
+    @Test
+    public void testRotationNeverOverwritesExistingSegments() throws Exception {
+        Path dir = Files.createTempDirectory("agora-reopen");
+        AgoraRecordingProperties.Rotation rotation = new AgoraRecordingProperties.Rotation();
+        rotation.setMaxSize(DataSize.ofBytes(100));
+        StreamTarget target = new StreamTarget(dir.toString() + File.separator, "room", 1001, StreamTarget.AUDIO, ".aac", false);
+        byte[] frame = new byte[40];
+        for (int session = 0; session < 2; session++) {
+            RecordingFrameWriter writer = new RecordingFrameWriter(new AgoraRecordingProperties.Writer(), rotation);
+            FrameStream stream = writer.openStream(target, true);
+            for (int i = 0; i < 3; i++) {
+                stream.offer(frame, frame.length);
+            }
+            writer.shutdown();
+        }
+        assertEquals(80, Files.size(dir.resolve("1001_0.aac")));
+        assertEquals(40, Files.size(dir.resolve("1001_1.aac")));
+        assertEquals(80, Files.size(dir.resolve("1001_2.aac")));
+        assertEquals(40, Files.size(dir.resolve("1001_3.aac")));
+    }
+
+    /**
+     * Appends to a shared buffer and records open and close events, optionally slowing down every write.
+     */
+    static class RecordingOutput implements FrameOutput {
+
+        private final String name;
+        private final List<String> events;
+        private final ByteArrayOutputStream file;
+        private final long writeDelayMillis;
+        private long size;
+
+        RecordingOutput(String name, List<String> events, ByteArrayOutputStream file, long writeDelayMillis) {
+            this.name = name;
+            this.events = events;
+            this.file = file;
+            this.writeDelayMillis = writeDelayMillis;
+            events.add("open " + name);
+        }
+
+        @Override
+        public void write(byte[] src, int offset, int length) throws IOException {
+            try {
+                TimeUnit.MILLISECONDS.sleep(writeDelayMillis);
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            synchronized (file) {
+                file.write(src, offset, length);
+            }
+            size += length;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public void close() {
+            events.add("close " + name);
+        }
+    }
+
+    static class CountingOutput implements FrameOutput {
+
+        long size;
+
+        @Override
+        public void write(byte[] src, int offset, int length) {
+            size += length;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
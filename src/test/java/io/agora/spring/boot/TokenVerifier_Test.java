@@ -0,0 +1,101 @@
+package io.agora.spring.boot;
+
+import io.agora.media.AccessToken;
+import io.agora.media.AccessToken2;
+import io.agora.media.AccessTokenEncoder;
+import io.agora.media.RtcTokenBuilder2;
+import io.agora.media.TokenVerifier;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TokenVerifier_Test {
+    private String appId = "970CA35de60c44645bbae8a215061b33";
+    private String appCertificate = "5CFd2fd1755d40ecb72977518be15d3b";
+    private String channelName = "7d72365eb983485397e3e3f9d460bdda";
+    private String uid = "2882341273";
+    private int expireTimestamp = (int) (System.currentTimeMillis() / 1000) + 3600;
+
+    private TokenVerifier verifier = new TokenVerifier(appId, appCertificate);
+
+    private String token006(int ts) throws Exception {
+        AccessToken token = new AccessToken(appId, appCertificate, channelName, uid);
+        token.message.ts = ts;
+        token.addPrivilege(AccessToken.Privileges.kJoinChannel, expireTimestamp);
+        token.addPrivilege(AccessToken.Privileges.kPublishAudioStream, expireTimestamp);
+        return AccessTokenEncoder.encode(token);
+    }
+
+    @Test
+    public void testVerify006() throws Exception {
+        String token = token006(expireTimestamp);
+        TokenVerifier.Result result = verifier.verify(token, channelName, uid);
+        assertTrue(result.toString(), result.isValid());
+        assertEquals(expireTimestamp, result.getExpireTimestamp());
+        assertEquals(2, result.getPrivilegeCount());
+        assertEquals(expireTimestamp, result.getPrivilegeExpireTimestamp(AccessToken.Privileges.kPublishAudioStream.intValue));
+
+        assertEquals(TokenVerifier.Status.CHANNEL_REQUIRED, verifier.verify(token).getStatus());
+        assertEquals(TokenVerifier.Status.CHANNEL_MISMATCH, verifier.verify(token, channelName, "1").getStatus());
+        assertEquals(TokenVerifier.Status.INVALID_SIGNATURE,
+                new TokenVerifier(appId, "0000000000000000000000000000000a").verify(token, channelName, uid).getStatus());
+        assertEquals(TokenVerifier.Status.APP_ID_MISMATCH,
+                new TokenVerifier("0000000000000000000000000000000a", appCertificate).verify(token, channelName, uid).getStatus());
+        assertEquals(TokenVerifier.Status.EXPIRED, verifier.verify(token006(1446455471), channelName, uid).getStatus());
+    }
+
+    @Test
+    public void testVerify007() {
+        String token = new RtcTokenBuilder2().buildTokenWithUserAccount(appId, appCertificate, channelName, uid,
+                RtcTokenBuilder2.Role.ROLE_SUBSCRIBER, 600, 300);
+        TokenVerifier.Result result = verifier.verify(token);
+        assertTrue(result.toString(), result.isValid());
+        assertEquals(AccessToken2.SERVICE_TYPE_RTC, result.getServiceType());
+        assertEquals(channelName, result.getChannelName());
+        assertEquals(uid, result.getUid());
+        assertEquals(result.getIssueTs() + 600, result.getExpireTimestamp());
+        assertEquals(1, result.getPrivilegeCount());
+        assertEquals(result.getIssueTs() + 300,
+                result.getPrivilegeExpireTimestamp(AccessToken2.PrivilegeRtc.PRIVILEGE_JOIN_CHANNEL.intValue));
+
+        assertTrue(verifier.verify(token, channelName, uid).isValid());
+        assertEquals(TokenVerifier.Status.CHANNEL_MISMATCH, verifier.verify(token, "other", uid).getStatus());
+        assertEquals(TokenVerifier.Status.INVALID_SIGNATURE,
+                new TokenVerifier(appId, "0000000000000000000000000000000a").verify(token).getStatus());
+    }
+
+    @Test
+    public void testMalformed() {
+        assertEquals(TokenVerifier.Status.MALFORMED, verifier.verify(null).getStatus());
+        assertEquals(TokenVerifier.Status.UNSUPPORTED_VERSION, verifier.verify("005abcdef").getStatus());
+        assertEquals(TokenVerifier.Status.MALFORMED, verifier.verify("007eJxTYLhzZP08").getStatus());
+        assertEquals(TokenVerifier.Status.MALFORMED, verifier.verify("006" + appId + "IACV0fZUBw+72cVo", channelName, uid).getStatus());
+    }
+
+    @Test
+    public void testNonAsciiIsMalformed() throws Exception {
+        String token = token006(expireTimestamp);
+        int last = token.length() - 1;
+        // the low byte of the replacement equals the original Base64 char
+        String tampered = token.substring(0, last) + (char) (0x0100 | token.charAt(last));
+        assertEquals(TokenVerifier.Status.MALFORMED, verifier.verify(tampered, channelName, uid).getStatus());
+    }
+
+    @Test
+    public void testInflatedSizeIsCapped() {
+        // 约 1KB 的压缩数据解压后为 1MB
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(new byte[1024 * 1024]);
+        deflater.finish();
+        byte[] compressed = new byte[8 * 1024];
+        int length = deflater.deflate(compressed);
+        assertTrue(deflater.finished());
+        String bomb = "007" + Base64.getEncoder().encodeToString(Arrays.copyOf(compressed, length));
+        assertEquals(TokenVerifier.Status.MALFORMED, verifier.verify(bomb, channelName, uid).getStatus());
+    }
+}